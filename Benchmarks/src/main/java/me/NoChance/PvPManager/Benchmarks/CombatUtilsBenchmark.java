@@ -0,0 +1,98 @@
+package me.NoChance.PvPManager.Benchmarks;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent.DamageCause;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import me.NoChance.PvPManager.Settings.Settings;
+import me.NoChance.PvPManager.Utils.CombatUtils;
+
+/**
+ * The {@link CombatUtils} checks that run on every hit or command, with the default config loaded.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CombatUtilsBenchmark {
+
+	private EntityDamageByEntityEvent melee;
+	private EntityDamageByEntityEvent arrow;
+	private String[] allowedCommand;
+	private String[] blockedCommand;
+	private Set<String> commandsAllowed;
+	private String serverVersion;
+
+	@Setup
+	public void setup() throws Exception {
+		StandIns.enable();
+		final World world = StandIns.world("world");
+		final Player attacker = StandIns.player("Attacker", world);
+		final Player defender = StandIns.player("Defender", world);
+		melee = new EntityDamageByEntityEvent(attacker, defender, DamageCause.ENTITY_ATTACK, 5);
+		arrow = new EntityDamageByEntityEvent(StandIns.arrow(attacker), defender, DamageCause.PROJECTILE, 5);
+		// Split the same way as the command listener
+		allowedCommand = "tell Defender gg".split(" ", 3);
+		blockedCommand = "warp spawn now".split(" ", 3);
+		commandsAllowed = Settings.getCommandsAllowed();
+		serverVersion = Settings.getMinecraftVersion();
+	}
+
+	@TearDown
+	public void tearDown() {
+		StandIns.disable();
+	}
+
+	@Benchmark
+	public boolean isPvPMelee() {
+		return CombatUtils.isPvP(melee);
+	}
+
+	@Benchmark
+	public boolean isPvPProjectile() {
+		return CombatUtils.isPvP(arrow);
+	}
+
+	@Benchmark
+	public boolean containsAllowedCommand() {
+		return CombatUtils.recursiveContainsCommand(allowedCommand, commandsAllowed);
+	}
+
+	@Benchmark
+	public boolean containsBlockedCommand() {
+		return CombatUtils.recursiveContainsCommand(blockedCommand, commandsAllowed);
+	}
+
+	@Benchmark
+	public boolean isVersionAtLeastSame() {
+		return CombatUtils.isVersionAtLeast(serverVersion, serverVersion);
+	}
+
+	@Benchmark
+	public boolean isVersionAtLeastNewer() {
+		return CombatUtils.isVersionAtLeast(serverVersion, "1.9");
+	}
+
+	@Benchmark
+	public boolean isVersionAtLeastOlder() {
+		return CombatUtils.isVersionAtLeast("1.8.8", serverVersion);
+	}
+
+}
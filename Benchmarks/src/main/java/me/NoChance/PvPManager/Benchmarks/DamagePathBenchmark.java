@@ -0,0 +1,95 @@
+package me.NoChance.PvPManager.Benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import me.NoChance.PvPManager.PvPManager;
+import me.NoChance.PvPManager.Listeners.EntityListener;
+import me.NoChance.PvPManager.Managers.PlayerHandler;
+import me.NoChance.PvPManager.Player.CancelResult;
+import me.NoChance.PvPManager.Settings.Settings;
+
+/**
+ * Cost of deciding and applying a single player hit, with the plugin enabled on a stand-in server.
+ * Run with the GC profiler, which {@link BenchmarkRunner} adds by default, to see the allocations per hit.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DamagePathBenchmark {
+
+	private PlayerHandler ph;
+	private EntityListener listener;
+	private Player attacker;
+	private Player defender;
+
+	@Setup
+	public void setup() throws Exception {
+		final PvPManager plugin = StandIns.enable();
+		// Its cost is in the server, which the stand-ins don't model
+		Settings.setPvpBlood(false);
+		ph = plugin.getPlayerHandler();
+		listener = new EntityListener(ph);
+		final World world = StandIns.world("world");
+		attacker = StandIns.join("Attacker", world);
+		defender = StandIns.join("Defender", world);
+		// Tag both players once, so hits measure the usual case of refreshing the tag
+		listener.onDamageActions(attacker, defender);
+	}
+
+	@TearDown
+	public void tearDown() {
+		StandIns.disable();
+	}
+
+	@Benchmark
+	public CancelResult tryCancel(final Decision decision) {
+		return ph.tryCancel(attacker, defender);
+	}
+
+	@Benchmark
+	public void onDamageActions() {
+		listener.onDamageActions(attacker, defender);
+	}
+
+	/**
+	 * Which check in tryCancel decides the attack
+	 */
+	@State(Scope.Thread)
+	public static class Decision {
+
+		@Param({ "FAIL", "PVPDISABLED", "NEWBIE" })
+		private CancelResult scenario;
+
+		@Setup
+		public void setup(final DamagePathBenchmark hit) {
+			if (scenario == CancelResult.PVPDISABLED) {
+				hit.ph.get(hit.defender).setPvP(false);
+			} else if (scenario == CancelResult.NEWBIE) {
+				hit.ph.get(hit.defender).setNewbie(true);
+			}
+			final CancelResult result = hit.ph.tryCancel(hit.attacker, hit.defender);
+			if (result != scenario)
+				throw new IllegalStateException("Expected the attack to be decided as " + scenario + " but it was " + result);
+		}
+
+	}
+
+}
@@ -0,0 +1,96 @@
+package me.NoChance.PvPManager.Benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import me.NoChance.PvPManager.Utils.MessageTemplate;
+
+/**
+ * Compares chained {@link String#replace(CharSequence, CharSequence)} with {@link MessageTemplate} rendering
+ * for the messages sent on every tag, toggle cooldown and kill reward.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageTemplateBenchmark {
+
+	private static final String TAGGED = "§6[§8PvPManager§6] §7You tagged§f %p§7! Do not log out or you will be punished!";
+	private static final String COOLDOWN = "§6[§8PvPManager§6] §cYou can't toggle PvP yet! Wait %t minutes %m seconds.";
+	private static final String REWARD = "§2You got %m coins for killing player %p!";
+	private static final String OUT_OF_COMBAT = "§6[§8PvPManager§6] §7You are no longer in combat!";
+
+	private MessageTemplate taggedTemplate;
+	private MessageTemplate cooldownTemplate;
+	private MessageTemplate rewardTemplate;
+	private MessageTemplate outOfCombatTemplate;
+	private String name;
+	private String minutes;
+	private String seconds;
+	private String money;
+
+	@Setup
+	public void setup() {
+		taggedTemplate = MessageTemplate.compile(TAGGED, "%p");
+		cooldownTemplate = MessageTemplate.compile(COOLDOWN, "%t", "%m");
+		rewardTemplate = MessageTemplate.compile(REWARD, "%m", "%p");
+		outOfCombatTemplate = MessageTemplate.compile(OUT_OF_COMBAT, "%p");
+		name = "ChanceSD";
+		minutes = "1";
+		seconds = "42";
+		money = "12.5";
+	}
+
+	@Benchmark
+	public String taggedReplace() {
+		return TAGGED.replace("%p", name);
+	}
+
+	@Benchmark
+	public String taggedTemplate() {
+		return taggedTemplate.render(name);
+	}
+
+	@Benchmark
+	public String cooldownReplace() {
+		return COOLDOWN.replace("%m", seconds).replace("%t", minutes);
+	}
+
+	@Benchmark
+	public String cooldownTemplate() {
+		return cooldownTemplate.render(minutes, seconds);
+	}
+
+	@Benchmark
+	public String rewardReplace() {
+		return REWARD.replace("%m", money).replace("%p", name);
+	}
+
+	@Benchmark
+	public String rewardTemplate() {
+		return rewardTemplate.render(money, name);
+	}
+
+	@Benchmark
+	public String noPlaceholderReplace() {
+		return OUT_OF_COMBAT.replace("%p", name);
+	}
+
+	@Benchmark
+	public String noPlaceholderTemplate() {
+		return outOfCombatTemplate.render(name);
+	}
+
+}
@@ -0,0 +1,292 @@
+package me.NoChance.PvPManager.Benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Timer;
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent.DamageCause;
+import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.player.PlayerCommandPreprocessEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+
+import me.NoChance.PvPManager.PvPManager;
+import me.NoChance.PvPManager.PvPlayer;
+import me.NoChance.PvPManager.Dependencies.Hook;
+import me.NoChance.PvPManager.Diagnostics.LatencyHistogram;
+import me.NoChance.PvPManager.Listeners.EntityListener;
+import me.NoChance.PvPManager.Listeners.PlayerListener;
+import me.NoChance.PvPManager.Listeners.PlayerMoveListener;
+import me.NoChance.PvPManager.Managers.PlayerHandler;
+import me.NoChance.PvPManager.Settings.Settings;
+import me.NoChance.PvPManager.Tasks.TagTask;
+import me.NoChance.PvPManager.Utils.Clock;
+
+/**
+ * Plays scenarios against the real listeners, tasks and storage on a stand-in server, one simulated tick at a time,
+ * and reports how long the server thread spent in each tick and how much it allocated.
+ * Usage: {@code java -cp benchmarks.jar me.NoChance.PvPManager.Benchmarks.Simulation [scenario...]}
+ */
+public final class Simulation implements AutoCloseable {
+
+	// The tag task runs on its own thread every 500ms
+	private static final int TAG_TASK_TICKS = 10;
+	// A player can land a full damage hit about twice a second
+	private static final int HIT_TICKS = 10;
+	private static final com.sun.management.ThreadMXBean THREADS = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	private final TickScheduler scheduler = new TickScheduler();
+	private final PlayerHandler ph;
+	private final EntityListener entityListener;
+	private final PlayerListener playerListener;
+	private final PlayerMoveListener moveListener;
+	private final TagTask tagTask;
+	private final World world = StandIns.world("world");
+	private final LatencyHistogram tickTimes = new LatencyHistogram();
+	private long allocated;
+	private int joined;
+
+	public Simulation() throws Exception {
+		StandIns.setScheduler(scheduler.getScheduler());
+		Clock.set(scheduler::millis);
+		final PvPManager plugin = StandIns.enable();
+		ph = plugin.getPlayerHandler();
+		entityListener = new EntityListener(ph);
+		playerListener = new PlayerListener(ph);
+		// Same as the server, which only listens to moves when there are regions to push players out of
+		moveListener = plugin.getDependencyManager().isDependencyEnabled(Hook.WORLDGUARD) ? new PlayerMoveListener(ph) : null;
+		tagTask = StandIns.get(ph, "tagTask", TagTask.class);
+		// Driven by the simulated clock instead
+		StandIns.get(tagTask, "timer", Timer.class).cancel();
+	}
+
+	/**
+	 * Runs the given amount of ticks with nothing happening but scheduled tasks
+	 */
+	public void idle(final int ticks) {
+		for (int i = 0; i < ticks; i++) {
+			tick(() -> {
+			});
+		}
+	}
+
+	/**
+	 * Runs a single tick, measuring the tasks due in it and the given work
+	 */
+	public void tick(final Runnable work) {
+		final long threadId = Thread.currentThread().getId();
+		final long allocatedBefore = THREADS.getThreadAllocatedBytes(threadId);
+		final long start = System.nanoTime();
+		scheduler.tick();
+		work.run();
+		tickTimes.record(System.nanoTime() - start);
+		allocated += THREADS.getThreadAllocatedBytes(threadId) - allocatedBefore;
+		if (scheduler.getTick() % TAG_TASK_TICKS == 0) {
+			tagTask.run();
+		}
+	}
+
+	/**
+	 * Connects new players in a single tick, then waits for their data to load
+	 */
+	public List<Player> join(final int players) throws InterruptedException {
+		final List<Player> joining = new ArrayList<>(players);
+		for (int i = 0; i < players; i++) {
+			joining.add(StandIns.player("Player" + joined++, world));
+		}
+		tick(() -> {
+			for (final Player player : joining) {
+				StandIns.connect(player);
+				fire(new PlayerJoinEvent(player, null));
+			}
+		});
+		while (PvPlayer.getPendingLoads() > 0) {
+			Thread.sleep(1);
+		}
+		return joining;
+	}
+
+	/**
+	 * Disconnects players in a single tick
+	 */
+	public void quit(final List<Player> players) {
+		tick(() -> {
+			for (final Player player : players) {
+				fire(new PlayerQuitEvent(player, null));
+				StandIns.disconnect(player);
+			}
+		});
+	}
+
+	/**
+	 * Pairs up the given players and has each pair exchange hits for the given amount of ticks, with the hits spread across ticks
+	 */
+	public void fight(final List<Player> players, final int ticks) {
+		for (int i = 0; i < ticks; i++) {
+			final long tick = scheduler.getTick() + 1;
+			tick(() -> {
+				for (int pair = 0; pair + 1 < players.size(); pair += 2) {
+					final long turn = tick + pair / 2;
+					if (turn % HIT_TICKS != 0) {
+						continue;
+					}
+					final boolean first = turn / HIT_TICKS % 2 == 0;
+					hit(players.get(first ? pair : pair + 1), players.get(first ? pair + 1 : pair));
+				}
+			});
+		}
+	}
+
+	public void hit(final Player attacker, final Player defender) {
+		fire(new EntityDamageByEntityEvent(attacker, defender, DamageCause.ENTITY_ATTACK, 1));
+	}
+
+	/**
+	 * Calls the handlers PvPManager has for the event in the order the server would, skipping those that ignore cancelled events
+	 *
+	 * @return false if PvPManager doesn't listen to the event
+	 */
+	public boolean fire(final Event event) {
+		if (event instanceof EntityDamageByEntityEvent) {
+			final EntityDamageByEntityEvent damage = (EntityDamageByEntityEvent) event;
+			if (!damage.isCancelled()) {
+				entityListener.onPlayerDamage(damage);
+			}
+			entityListener.onPlayerDamageOverride(damage);
+			if (!damage.isCancelled()) {
+				entityListener.onPlayerDamageMonitor(damage);
+			}
+		} else if (event instanceof PlayerTeleportEvent) {
+			playerListener.onPlayerTeleport((PlayerTeleportEvent) event);
+		} else if (event instanceof PlayerMoveEvent) {
+			if (moveListener == null)
+				return false;
+			moveListener.onPlayerMove((PlayerMoveEvent) event);
+		} else if (event instanceof PlayerJoinEvent) {
+			playerListener.onPlayerJoin((PlayerJoinEvent) event);
+		} else if (event instanceof PlayerQuitEvent) {
+			playerListener.onPlayerLogout((PlayerQuitEvent) event);
+		} else if (event instanceof PlayerDeathEvent) {
+			playerListener.onPlayerDeath((PlayerDeathEvent) event);
+		} else if (event instanceof PlayerCommandPreprocessEvent) {
+			final PlayerCommandPreprocessEvent command = (PlayerCommandPreprocessEvent) event;
+			if (!command.isCancelled()) {
+				playerListener.onCommand(command);
+			}
+		} else
+			return false;
+		return true;
+	}
+
+	public long getTick() {
+		return scheduler.getTick();
+	}
+
+	public PlayerHandler getPlayerHandler() {
+		return ph;
+	}
+
+	public LatencyHistogram.Snapshot getTickTimes() {
+		return tickTimes.snapshot();
+	}
+
+	public long getAllocated() {
+		return allocated;
+	}
+
+	@Override
+	public void close() throws InterruptedException {
+		StandIns.disable();
+		scheduler.shutdown();
+		Clock.set(null);
+		StandIns.setScheduler(null);
+	}
+
+	public static void main(final String[] args) throws Exception {
+		final List<Scenario> scenarios = new ArrayList<>();
+		for (final String arg : args) {
+			scenarios.add(Scenario.valueOf(arg.toUpperCase()));
+		}
+		for (final Scenario scenario : scenarios.isEmpty() ? Scenario.values() : scenarios.toArray(new Scenario[0])) {
+			try (Simulation simulation = new Simulation()) {
+				scenario.run(simulation);
+				System.out.println(simulation.report(scenario.name()) + " | " + scenario.getDescription());
+			}
+		}
+	}
+
+	String report(final String name) {
+		final LatencyHistogram.Snapshot ticks = getTickTimes();
+		return String.format("%-12s %6d ticks | tick p50 %7.3f ms, p99 %7.3f ms, max %7.3f ms | allocated %8.1f KB/tick, %8.1f MB total", name,
+		        ticks.getCount(), millis(ticks.getP50()), millis(ticks.getP99()), millis(ticks.getMax()), allocated / 1024D / ticks.getCount(),
+		        allocated / 1024D / 1024D);
+	}
+
+	private static double millis(final long nanos) {
+		return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	public enum Scenario {
+		JOIN("500 players join in the same tick") {
+			@Override
+			void run(final Simulation simulation) throws InterruptedException {
+				simulation.join(500);
+				simulation.idle(SETTLE_TICKS);
+				expect(simulation.getPlayerHandler().getPlayers().size() == 500, "500 players to be loaded");
+			}
+		},
+		FIGHTS("200 fights between 400 players for 30 seconds, until every tag expires") {
+			@Override
+			void run(final Simulation simulation) throws InterruptedException {
+				final List<Player> players = simulation.join(400);
+				simulation.fight(players, 600);
+				expect(simulation.getPlayerHandler().getTaggedCount() == 400, "all 400 fighters to be tagged");
+				simulation.idle(combatTicks());
+				expect(simulation.getPlayerHandler().getTaggedCount() == 0, "every tag to expire");
+			}
+		},
+		MASS_LOGOUT("400 players in 200 fights all quit in the same tick") {
+			@Override
+			void run(final Simulation simulation) throws InterruptedException {
+				final List<Player> players = simulation.join(400);
+				simulation.fight(players, 2 * HIT_TICKS);
+				simulation.quit(new ArrayList<>(players));
+				simulation.idle(SETTLE_TICKS);
+				expect(simulation.getPlayerHandler().getPlayers().isEmpty(), "every player to be removed");
+				expect(simulation.getPlayerHandler().getTaggedCount() == 0, "no quitter to stay tagged");
+			}
+		};
+
+		private static final int SETTLE_TICKS = 100;
+		private final String description;
+
+		Scenario(final String description) {
+			this.description = description;
+		}
+
+		abstract void run(Simulation simulation) throws InterruptedException;
+
+		public String getDescription() {
+			return description;
+		}
+
+		private static int combatTicks() {
+			return (int) (Settings.getTimeInCombatMillis() / TickScheduler.MILLIS_PER_TICK) + 2 * TAG_TASK_TICKS;
+		}
+
+		private static void expect(final boolean condition, final String expected) {
+			if (!condition)
+				throw new IllegalStateException("Expected " + expected);
+		}
+
+	}
+
+}
@@ -0,0 +1,339 @@
+package me.NoChance.PvPManager.Benchmarks;
+
+import java.io.File;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.logging.Logger;
+
+import org.bukkit.Bukkit;
+import org.bukkit.GameMode;
+import org.bukkit.Location;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.entity.Arrow;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.PluginLoader;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitScheduler;
+
+import me.NoChance.PvPManager.PvPManager;
+import me.NoChance.PvPManager.PvPlayer;
+import me.NoChance.PvPManager.Journal.CombatJournal;
+import me.NoChance.PvPManager.Managers.ConfigManager;
+import me.NoChance.PvPManager.Managers.DependencyManager;
+import me.NoChance.PvPManager.Managers.DisplayManager;
+import me.NoChance.PvPManager.Managers.PlayerHandler;
+import me.NoChance.PvPManager.Settings.Messages;
+import me.NoChance.PvPManager.Tasks.TaskScheduler;
+import me.NoChance.PvPManager.Utils.Log;
+import net.md_5.bungee.api.ChatMessageType;
+import net.md_5.bungee.api.chat.BaseComponent;
+
+/**
+ * Lightweight stand-ins for the server, worlds and players, built from dynamic proxies instead of PowerMock.
+ * Methods without a canned answer return the empty value of their type, or another stand-in if they return an interface.
+ * Proxy calls with arguments allocate their argument array, so allocation rates are meant to be compared between runs.
+ */
+public final class StandIns {
+
+	private static final String BUKKIT_VERSION = "1.19-R0.1-SNAPSHOT";
+	private static final Map<UUID, Player> ONLINE = new ConcurrentHashMap<>();
+	private static volatile ToLongFunction<UUID> lastPlayed = uuid -> System.currentTimeMillis();
+	private static final BukkitScheduler IDLE_SCHEDULER = stub(BukkitScheduler.class, method -> null);
+	private static volatile BukkitScheduler scheduler = IDLE_SCHEDULER;
+	private static PvPManager plugin;
+
+	private StandIns() {}
+
+	/**
+	 * Enables the plugin against a stand-in server the same way the server would, minus commands, metrics and listeners
+	 */
+	public static synchronized PvPManager enable() throws Exception {
+		if (plugin != null)
+			return plugin;
+
+		final Logger logger = Logger.getLogger("Minecraft");
+		final Server server = stub(Server.class, method -> {
+			switch (method.getName()) {
+			case "getLogger":
+				return args -> logger;
+			case "getName":
+				return args -> "Benchmark";
+			case "getVersion":
+				return args -> "Benchmark (MC: 1.19)";
+			case "getBukkitVersion":
+				return args -> BUKKIT_VERSION;
+			case "getOnlinePlayers":
+				return args -> Collections.unmodifiableCollection(ONLINE.values());
+			case "getPlayer":
+				return args -> args[0] instanceof UUID ? ONLINE.get(args[0]) : null;
+			case "getOfflinePlayer":
+				return args -> args[0] instanceof UUID ? offlinePlayer((UUID) args[0]) : null;
+			case "getScheduler":
+				return args -> scheduler;
+			default:
+				return null;
+			}
+		});
+		Bukkit.setServer(server);
+
+		final File dataFolder = Files.createTempDirectory("PvPManager").toFile();
+		final PluginDescriptionFile description;
+		try (InputStream in = StandIns.class.getClassLoader().getResourceAsStream("plugin.yml")) {
+			description = new PluginDescriptionFile(in);
+		}
+		// Same as the default config, except it never goes online to check for updates
+		final Path config = new File(dataFolder, "config.yml").toPath();
+		try (InputStream in = StandIns.class.getClassLoader().getResourceAsStream("config.yml")) {
+			Files.copy(in, config);
+		}
+		final String defaults = new String(Files.readAllBytes(config), StandardCharsets.UTF_8);
+		Files.write(config, defaults.replace("Update Check:\n  Enabled: true", "Update Check:\n  Enabled: false").getBytes(StandardCharsets.UTF_8));
+		final PvPManager newPlugin = allocate(PvPManager.class);
+		invoke(JavaPlugin.class, newPlugin, "init", new Class<?>[] { PluginLoader.class, Server.class, PluginDescriptionFile.class, File.class, File.class, ClassLoader.class },
+		        null, server, description, dataFolder, dataFolder, StandIns.class.getClassLoader());
+		Log.setup(newPlugin.getLogger());
+		set(newPlugin, "scheduler", TaskScheduler.create(newPlugin));
+		final ConfigManager configM = new ConfigManager(newPlugin);
+		configM.loadUsersFile();
+		set(newPlugin, "configM", configM);
+		Messages.setup(newPlugin);
+		set(newPlugin, "instance", newPlugin);
+		set(newPlugin, "combatJournal", new CombatJournal(new File(dataFolder, "journal")));
+		set(newPlugin, "dependencyManager", new DependencyManager());
+		set(newPlugin, "displayManager", new DisplayManager(newPlugin));
+		set(newPlugin, "playerHandler", new PlayerHandler(newPlugin));
+		plugin = newPlugin;
+		return plugin;
+	}
+
+	public static synchronized void disable() {
+		if (plugin == null)
+			return;
+		plugin.onDisable();
+		ONLINE.clear();
+		plugin = null;
+	}
+
+	/**
+	 * @param scheduler used by the server from now on, or null to go back to accepting tasks but never running them
+	 */
+	static void setScheduler(final BukkitScheduler scheduler) {
+		StandIns.scheduler = scheduler != null ? scheduler : IDLE_SCHEDULER;
+	}
+
+	static void connect(final Player player) {
+		ONLINE.put(player.getUniqueId(), player);
+	}
+
+	static void disconnect(final Player player) {
+		ONLINE.remove(player.getUniqueId());
+	}
+
+	/**
+	 * Puts a stand-in player online and waits for PvPManager to load its data
+	 */
+	public static Player join(final String name, final World world) throws InterruptedException {
+		final Player player = player(name, world);
+		connect(player);
+		plugin.getPlayerHandler().get(player);
+		while (PvPlayer.getPendingLoads() > 0) {
+			Thread.sleep(1);
+		}
+		return player;
+	}
+
+	public static Player player(final String name, final World world) {
+		return player(name, world, method -> null);
+	}
+
+	/**
+	 * @param answers gives the answer for a method, taking precedence over the canned answers of every player
+	 */
+	static Player player(final String name, final World world, final Function<Method, Function<Object[], Object>> answers) {
+		final UUID uuid = UUID.nameUUIDFromBytes(("OfflinePlayer:" + name).getBytes());
+		final Player.Spigot spigot = new Player.Spigot() {
+			@Override
+			public void sendMessage(final ChatMessageType position, final BaseComponent component) {
+			}
+
+			@Override
+			public void sendMessage(final ChatMessageType position, final BaseComponent... components) {
+			}
+		};
+		return stub(Player.class, method -> {
+			final Function<Object[], Object> answer = answers.apply(method);
+			if (answer != null)
+				return answer;
+			switch (method.getName()) {
+			case "getName":
+			case "getDisplayName":
+				return args -> name;
+			case "getUniqueId":
+				return args -> uuid;
+			case "getWorld":
+				return args -> world;
+			case "getLocation":
+				return args -> new Location(world, 0, 64, 0);
+			case "getGameMode":
+				return args -> GameMode.SURVIVAL;
+			case "getLocale":
+				return args -> "en_us";
+			case "isOnline":
+			case "isValid":
+			case "hasPlayedBefore":
+				return args -> Boolean.TRUE;
+			case "spigot":
+				return args -> spigot;
+			default:
+				return null;
+			}
+		});
+	}
+
+	/**
+	 * @param lastPlayed when each offline player was last online, in millis
+	 */
+	static void setLastPlayed(final ToLongFunction<UUID> lastPlayed) {
+		StandIns.lastPlayed = lastPlayed;
+	}
+
+	static OfflinePlayer offlinePlayer(final UUID uuid) {
+		final Player online = ONLINE.get(uuid);
+		if (online != null)
+			return online;
+		return stub(OfflinePlayer.class, method -> {
+			switch (method.getName()) {
+			case "getUniqueId":
+				return args -> uuid;
+			case "getLastPlayed":
+				return args -> lastPlayed.applyAsLong(uuid);
+			case "hasPlayedBefore":
+				return args -> Boolean.TRUE;
+			default:
+				return null;
+			}
+		});
+	}
+
+	public static World world(final String name) {
+		final UUID uuid = UUID.nameUUIDFromBytes(name.getBytes());
+		return stub(World.class, method -> {
+			switch (method.getName()) {
+			case "getName":
+				return args -> name;
+			case "getUID":
+				return args -> uuid;
+			case "getPVP":
+				return args -> Boolean.TRUE;
+			default:
+				return null;
+			}
+		});
+	}
+
+	static Arrow arrow(final Player shooter) {
+		return stub(Arrow.class, method -> "getShooter".equals(method.getName()) ? args -> shooter : null);
+	}
+
+	/**
+	 * @param answers gives the answer for a method, or null to fall back to empty values
+	 */
+	static <T> T stub(final Class<T> type, final Function<Method, Function<Object[], Object>> answers) {
+		final Map<Method, Function<Object[], Object>> resolved = new ConcurrentHashMap<>();
+		final Map<Method, Object> nested = new ConcurrentHashMap<>();
+		final InvocationHandler handler = (proxy, method, args) -> {
+			if (method.getDeclaringClass() == Object.class) {
+				switch (method.getName()) {
+				case "equals":
+					return proxy == args[0];
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				default:
+					return type.getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+				}
+			}
+			final Function<Object[], Object> answer = resolved.computeIfAbsent(method, m -> {
+				final Function<Object[], Object> canned = answers.apply(m);
+				return canned != null ? canned : a -> emptyValue(m, nested);
+			});
+			return answer.apply(args);
+		};
+		return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler));
+	}
+
+	private static Object emptyValue(final Method method, final Map<Method, Object> nested) {
+		final Class<?> type = method.getReturnType();
+		if (type == boolean.class)
+			return Boolean.FALSE;
+		if (type == int.class)
+			return 0;
+		if (type == long.class)
+			return 0L;
+		if (type == double.class)
+			return 0D;
+		if (type == float.class)
+			return 0F;
+		if (type == short.class)
+			return (short) 0;
+		if (type == byte.class)
+			return (byte) 0;
+		if (type == char.class)
+			return (char) 0;
+		if (type == String.class)
+			return "";
+		if (type == List.class || type == Collection.class)
+			return Collections.emptyList();
+		if (type == Set.class)
+			return Collections.emptySet();
+		if (type == Map.class)
+			return Collections.emptyMap();
+		if (type.isInterface())
+			return nested.computeIfAbsent(method, m -> stub(type, a -> null));
+		return null;
+	}
+
+	private static <T> T allocate(final Class<T> type) throws ReflectiveOperationException {
+		final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+		final Field field = unsafeClass.getDeclaredField("theUnsafe");
+		field.setAccessible(true);
+		final Object unsafe = field.get(null);
+		return type.cast(unsafeClass.getMethod("allocateInstance", Class.class).invoke(unsafe, type));
+	}
+
+	private static void invoke(final Class<?> owner, final Object target, final String name, final Class<?>[] types, final Object... args) throws ReflectiveOperationException {
+		final Method method = owner.getDeclaredMethod(name, types);
+		method.setAccessible(true);
+		method.invoke(target, args);
+	}
+
+	static <T> T get(final Object target, final String name, final Class<T> type) throws ReflectiveOperationException {
+		final Field field = target.getClass().getDeclaredField(name);
+		field.setAccessible(true);
+		return type.cast(field.get(target));
+	}
+
+	private static void set(final Object target, final String name, final Object value) throws ReflectiveOperationException {
+		final Field field = target.getClass().getDeclaredField(name);
+		field.setAccessible(true);
+		field.set(target, value);
+	}
+
+}
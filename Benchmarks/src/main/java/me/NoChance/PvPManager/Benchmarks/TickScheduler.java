@@ -0,0 +1,172 @@
+package me.NoChance.PvPManager.Benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Stand-in scheduler that only moves when the simulation calls {@link #tick()}, with a clock advancing 50ms per tick.
+ * Sync tasks run on the calling thread in the order they were scheduled, async tasks are handed to a thread pool once due.
+ */
+final class TickScheduler {
+
+	static final long MILLIS_PER_TICK = 50;
+
+	private final Map<Integer, Task> tasks = new ConcurrentSkipListMap<>();
+	private final AtomicInteger ids = new AtomicInteger();
+	private final ExecutorService async = Executors.newCachedThreadPool();
+	private final long epoch = System.currentTimeMillis();
+	private final BukkitScheduler scheduler;
+	private volatile long tick;
+	private volatile int running = -1;
+
+	TickScheduler() {
+		this.scheduler = StandIns.stub(BukkitScheduler.class, method -> {
+			final String name = method.getName();
+			if (name.startsWith("runTask") || name.startsWith("schedule")) {
+				final boolean sync = !name.contains("Async");
+				return args -> {
+					final Task task = schedule((Plugin) args[0], args[1], sync, args.length > 2 ? (Long) args[2] : 0, args.length > 3 ? (Long) args[3] : -1);
+					if (method.getReturnType() == int.class)
+						return task.getTaskId();
+					return method.getReturnType() == void.class ? null : task;
+				};
+			}
+			switch (name) {
+			case "cancelTask":
+				return args -> {
+					final Task task = tasks.get(args[0]);
+					if (task != null) {
+						task.cancel();
+					}
+					return null;
+				};
+			case "cancelTasks":
+				return args -> {
+					tasks.values().stream().filter(task -> task.owner == args[0]).forEach(Task::cancel);
+					return null;
+				};
+			case "isQueued":
+				return args -> tasks.containsKey(args[0]);
+			case "isCurrentlyRunning":
+				return args -> running == (Integer) args[0];
+			default:
+				return null;
+			}
+		});
+	}
+
+	BukkitScheduler getScheduler() {
+		return scheduler;
+	}
+
+	long getTick() {
+		return tick;
+	}
+
+	long millis() {
+		return epoch + tick * MILLIS_PER_TICK;
+	}
+
+	/**
+	 * Moves the clock one tick forward and runs the tasks that are due
+	 */
+	void tick() {
+		final long now = ++tick;
+		for (final Task task : tasks.values()) {
+			if (task.next > now)
+				continue;
+			if (task.period > 0) {
+				task.next += task.period;
+			} else {
+				tasks.remove(task.id);
+			}
+			if (!task.sync) {
+				async.execute(task::run);
+				continue;
+			}
+			running = task.id;
+			try {
+				task.run();
+			} finally {
+				running = -1;
+			}
+		}
+	}
+
+	void shutdown() throws InterruptedException {
+		tasks.clear();
+		async.shutdown();
+		async.awaitTermination(10, TimeUnit.SECONDS);
+	}
+
+	@SuppressWarnings("unchecked")
+	private Task schedule(final Plugin owner, final Object work, final boolean sync, final long delay, final long period) {
+		final Task task = new Task(ids.incrementAndGet(), owner, sync);
+		task.work = work instanceof Runnable ? (Runnable) work : () -> ((Consumer<BukkitTask>) work).accept(task);
+		// Same as the server, a task never runs in the tick it was scheduled and repeats at most once per tick
+		task.next = tick + Math.max(1, delay);
+		task.period = period < 0 ? 0 : Math.max(1, period);
+		tasks.put(task.id, task);
+		return task;
+	}
+
+	private final class Task implements BukkitTask {
+
+		private final int id;
+		private final Plugin owner;
+		private final boolean sync;
+		private Runnable work;
+		private long next;
+		private long period;
+		private volatile boolean cancelled;
+
+		private Task(final int id, final Plugin owner, final boolean sync) {
+			this.id = id;
+			this.owner = owner;
+			this.sync = sync;
+		}
+
+		private void run() {
+			if (!cancelled) {
+				work.run();
+			}
+		}
+
+		@Override
+		public int getTaskId() {
+			return id;
+		}
+
+		@Override
+		public Plugin getOwner() {
+			return owner;
+		}
+
+		@Override
+		public boolean isSync() {
+			return sync;
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return cancelled;
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+			tasks.remove(id);
+		}
+
+	}
+
+}
@@ -0,0 +1,249 @@
+package me.NoChance.PvPManager.Benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.AreaEffectCloud;
+import org.bukkit.entity.Arrow;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent.DamageCause;
+import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.player.PlayerCommandPreprocessEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+import org.bukkit.event.player.PlayerTeleportEvent.TeleportCause;
+
+import me.NoChance.PvPManager.Diagnostics.LatencyHistogram;
+import me.NoChance.PvPManager.Trace.TraceReader;
+import me.NoChance.PvPManager.Trace.TraceRecord;
+
+/**
+ * Replays a trace recorded with the Event Trace diagnostics option through PvPManager's listeners on a {@link Simulation}.
+ * Events keep the tick they were recorded in but ticks run back to back, so the time spent in them is PvPManager's share of that traffic.
+ * Events are built before their tick starts, only handling them is measured.
+ * Usage: {@code java -cp benchmarks.jar me.NoChance.PvPManager.Benchmarks.TraceReplay <trace file> [passes]}
+ */
+public final class TraceReplay {
+
+	private final Simulation simulation;
+	private final Map<Integer, Replayed> players = new HashMap<>();
+	private final Map<String, World> worlds = new HashMap<>();
+	private final Entity otherDamager = StandIns.stub(Entity.class, method -> null);
+	private final List<Runnable> batch = new ArrayList<>();
+	private long events;
+	private long skipped;
+
+	public TraceReplay(final Simulation simulation) {
+		this.simulation = simulation;
+	}
+
+	public void replay(final File trace) throws IOException {
+		try (TraceReader reader = new TraceReader(trace)) {
+			long batchTick = 0;
+			TraceRecord record;
+			while ((record = reader.next()) != null) {
+				final long tick = (record.time - reader.getStartTime()) / TickScheduler.MILLIS_PER_TICK + 1;
+				if (tick != batchTick) {
+					flush(batchTick);
+					batchTick = tick;
+				}
+				batch.add(prepare(record));
+			}
+			flush(batchTick);
+		}
+	}
+
+	private void flush(final long tick) {
+		if (batch.isEmpty())
+			return;
+		simulation.idle((int) Math.max(0, tick - 1 - simulation.getTick()));
+		simulation.tick(() -> batch.forEach(Runnable::run));
+		events += batch.size();
+		batch.clear();
+	}
+
+	private Runnable prepare(final TraceRecord record) {
+		final Replayed player = player(record.player);
+		final Replayed other = record.other >= 0 ? player(record.other) : null;
+		switch (record.type) {
+		case JOIN:
+			final Location spawn = location(record.world, 0, 64, 0);
+			final PlayerJoinEvent join = new PlayerJoinEvent(player.player, null);
+			return () -> {
+				player.location = spawn;
+				fire(player, join);
+			};
+		case QUIT:
+			final PlayerQuitEvent quit = new PlayerQuitEvent(player.player, null);
+			return () -> {
+				fire(player, quit);
+				StandIns.disconnect(player.player);
+				player.online = false;
+			};
+		case DAMAGE:
+			final EntityDamageByEntityEvent damage = new EntityDamageByEntityEvent(damager(record.damager, other), player.player, damageCause(record.name),
+			        record.damage);
+			damage.setCancelled(record.cancelled);
+			final World world = world(record.world);
+			return () -> {
+				if (player.location.getWorld() != world) {
+					player.location = new Location(world, 0, 64, 0);
+				}
+				fire(player, damage);
+			};
+		case MOVE:
+			final Location moveTo = location(record.toWorld, record.toX, record.toY, record.toZ);
+			final PlayerMoveEvent move = new PlayerMoveEvent(player.player, location(record.world, record.x, record.y, record.z), moveTo);
+			move.setCancelled(record.cancelled);
+			return () -> {
+				fire(player, move);
+				if (!move.isCancelled()) {
+					player.location = moveTo;
+				}
+			};
+		case DEATH:
+			final PlayerDeathEvent death = new PlayerDeathEvent(player.player, new ArrayList<>(), 0, null);
+			return () -> {
+				player.killer = other != null ? other.player : null;
+				fire(player, death);
+				player.killer = null;
+			};
+		case TELEPORT:
+			final Location teleportTo = location(record.toWorld, record.toX, record.toY, record.toZ);
+			final PlayerTeleportEvent teleport = new PlayerTeleportEvent(player.player, location(record.world, record.x, record.y, record.z), teleportTo,
+			        teleportCause(record.name));
+			teleport.setCancelled(record.cancelled);
+			return () -> {
+				fire(player, teleport);
+				if (!teleport.isCancelled()) {
+					player.location = teleportTo;
+				}
+			};
+		case COMMAND:
+			final PlayerCommandPreprocessEvent command = new PlayerCommandPreprocessEvent(player.player, record.name);
+			command.setCancelled(record.cancelled);
+			return () -> fire(player, command);
+		default:
+			throw new IllegalStateException("Unknown event type " + record.type);
+		}
+	}
+
+	// Players that were online before recording started show up without joining
+	private void fire(final Replayed player, final Event event) {
+		if (!player.online) {
+			StandIns.connect(player.player);
+			player.online = true;
+		}
+		if (!simulation.fire(event)) {
+			skipped++;
+		}
+	}
+
+	private Replayed player(final int id) {
+		return players.computeIfAbsent(id, key -> new Replayed("Player" + key, world("world")));
+	}
+
+	private Entity damager(final TraceRecord.Damager kind, final Replayed attacker) {
+		switch (kind) {
+		case PLAYER:
+			return attacker != null ? attacker.player : otherDamager;
+		case PROJECTILE:
+			return attacker != null ? attacker.arrow : StandIns.arrow(null);
+		case AREA_EFFECT_CLOUD:
+			return attacker != null ? attacker.cloud : otherDamager;
+		default:
+			return otherDamager;
+		}
+	}
+
+	private static DamageCause damageCause(final String name) {
+		try {
+			return DamageCause.valueOf(name);
+		} catch (final IllegalArgumentException e) {
+			return DamageCause.CUSTOM;
+		}
+	}
+
+	private static TeleportCause teleportCause(final String name) {
+		try {
+			return TeleportCause.valueOf(name);
+		} catch (final IllegalArgumentException e) {
+			return TeleportCause.UNKNOWN;
+		}
+	}
+
+	private World world(final String name) {
+		return worlds.computeIfAbsent(name, StandIns::world);
+	}
+
+	private Location location(final String world, final int x, final int y, final int z) {
+		return new Location(world(world), x + 0.5, y, z + 0.5);
+	}
+
+	String report(final String name) {
+		final LatencyHistogram.Snapshot ticks = simulation.getTickTimes();
+		final double seconds = ticks.getTotal() / 1_000_000_000D;
+		return String.format("%s | %d events, %d not listened to, %.0f events/s", simulation.report(name), events, skipped, events / seconds);
+	}
+
+	public static void main(final String[] args) throws Exception {
+		if (args.length == 0) {
+			System.out.println("Usage: java -cp benchmarks.jar " + TraceReplay.class.getName() + " <trace file> [passes]");
+			return;
+		}
+		final File trace = new File(args[0]);
+		final int passes = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+		// Every pass starts from a freshly enabled plugin, the first ones double as warmup
+		for (int pass = 1; pass <= passes; pass++) {
+			try (Simulation simulation = new Simulation()) {
+				final TraceReplay replay = new TraceReplay(simulation);
+				replay.replay(trace);
+				System.out.println(replay.report("Pass " + pass));
+			}
+		}
+	}
+
+	/**
+	 * Stand-in for a recorded player, which follows the locations and killer the trace gives it
+	 */
+	private static final class Replayed {
+
+		private final Player player;
+		private final Arrow arrow;
+		private final AreaEffectCloud cloud;
+		private Location location;
+		private Player killer;
+		private boolean online;
+
+		private Replayed(final String name, final World world) {
+			location = new Location(world, 0, 64, 0);
+			player = StandIns.player(name, world, method -> {
+				switch (method.getName()) {
+				case "getWorld":
+					return args -> location.getWorld();
+				case "getLocation":
+					return args -> location.clone();
+				case "getKiller":
+					return args -> killer;
+				default:
+					return null;
+				}
+			});
+			arrow = StandIns.arrow(player);
+			cloud = StandIns.stub(AreaEffectCloud.class, method -> "getSource".equals(method.getName()) ? args -> player : null);
+		}
+
+	}
+
+}
@@ -0,0 +1,62 @@
+package me.NoChance.PvPManager.Benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+
+import me.NoChance.PvPManager.Settings.UserDataFields;
+
+/**
+ * Formats PvPManager can keep user data in, each able to write a synthetic store with any number of users.
+ * A new storage backend adds a constant here and every persistence benchmark runs against it too.
+ */
+enum UserStore {
+
+	YAML("users.yml") {
+		@Override
+		void generate(final File folder, final int users) throws IOException {
+			try (BufferedWriter out = Files.newBufferedWriter(new File(folder, "users.yml").toPath(), StandardCharsets.UTF_8)) {
+				out.write("players:\n");
+				for (int i = 0; i < users; i++) {
+					final boolean newbie = i % 20 == 0;
+					out.write("  " + uuid(i) + ":\n");
+					out.write("    " + UserDataFields.PVP_STATUS + ": " + (i % 2 == 0) + "\n");
+					out.write("    " + UserDataFields.TOGGLE_TIME + ": " + (TOGGLE_TIME + i) + "\n");
+					out.write("    " + UserDataFields.NEWBIE + ": " + newbie + "\n");
+					out.write("    " + UserDataFields.NEWBIE_TIMELEFT + ": " + (newbie ? 300000 : 0) + "\n");
+				}
+			}
+		}
+	};
+
+	private static final long TOGGLE_TIME = 1_600_000_000_000L;
+	private static final long SEED = 0x5EED_0000_0000_0000L;
+	private final String[] files;
+
+	UserStore(final String... files) {
+		this.files = files;
+	}
+
+	/**
+	 * Writes users {@code 0} to {@code users - 1}, as returned by {@link #uuid(int)}
+	 */
+	abstract void generate(File folder, int users) throws IOException;
+
+	/**
+	 * Copies a store written by {@link #generate(File, int)} into the plugin folder, replacing changes made by earlier runs
+	 */
+	final void restore(final File from, final File to) throws IOException {
+		for (final String file : files) {
+			Files.copy(new File(from, file).toPath(), new File(to, file).toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	static UUID uuid(final int user) {
+		return new UUID(SEED, user);
+	}
+
+}
@@ -0,0 +1,148 @@
+package me.NoChance.PvPManager.Benchmarks;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import me.NoChance.PvPManager.PvPManager;
+import me.NoChance.PvPManager.PvPlayer;
+import me.NoChance.PvPManager.Managers.ConfigManager;
+
+/**
+ * Cost of loading, saving and cleaning up user data for stores of different sizes and formats.
+ * Every operation runs once per iteration on a fresh copy of the generated store, since each one changes it.
+ * Each iteration closes the config manager it created, so no save threads or open log files pile up across iterations.
+ * The largest stores need a big heap, which is why the fork gets 8GB.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class UserStoreBenchmark {
+
+	// Players that quit at once, like on a restart
+	private static final int QUITTING = 200;
+	// Every nth stored user hasn't played for longer than the cleanup time
+	private static final int INACTIVE_EVERY = 10;
+	private static final long CLEANUP_DAYS = TimeUnit.DAYS.toMillis(30);
+
+	@Param({ "10000", "100000", "1000000" })
+	private int users;
+
+	@Param({ "YAML" })
+	private UserStore store;
+
+	private PvPManager plugin;
+	private File generated;
+	private final List<PvPlayer> online = new ArrayList<>();
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		plugin = StandIns.enable();
+		generated = Files.createTempDirectory("PvPManager-" + store).toFile();
+		store.generate(generated, users);
+		final long now = System.currentTimeMillis();
+		StandIns.setLastPlayed(uuid -> uuid.getLeastSignificantBits() % INACTIVE_EVERY == 0 ? now - 2 * CLEANUP_DAYS : now);
+		for (int i = 0; i < QUITTING; i++) {
+			final PvPlayer player = plugin.getPlayerHandler().get(StandIns.join("Player" + i, StandIns.world("world")));
+			// Players with default settings are removed from the store instead of saved
+			player.setPvP(false);
+			online.add(player);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		StandIns.disable();
+	}
+
+	/**
+	 * Plugin folder holding an unmodified copy of the generated store
+	 */
+	@State(Scope.Thread)
+	public static class Restored {
+
+		private ConfigManager configManager;
+
+		@Setup(Level.Iteration)
+		public void restore(final UserStoreBenchmark benchmark) throws Exception {
+			benchmark.store.restore(benchmark.generated, benchmark.plugin.getDataFolder());
+		}
+
+		@TearDown(Level.Iteration)
+		public void close() {
+			if (configManager != null) {
+				configManager.close();
+				configManager = null;
+			}
+		}
+
+	}
+
+	/**
+	 * Generated store restored and already loaded
+	 */
+	@State(Scope.Thread)
+	public static class Loaded {
+
+		private ConfigManager configManager;
+
+		@Setup(Level.Iteration)
+		public void load(final UserStoreBenchmark benchmark) throws Exception {
+			benchmark.store.restore(benchmark.generated, benchmark.plugin.getDataFolder());
+			configManager = new ConfigManager(benchmark.plugin);
+			configManager.loadUsersFile();
+		}
+
+		@TearDown(Level.Iteration)
+		public void close() {
+			configManager.close();
+		}
+
+	}
+
+	@Benchmark
+	public ConfigManager load(final Restored restored) {
+		restored.configManager = new ConfigManager(plugin);
+		restored.configManager.loadUsersFile();
+		return restored.configManager;
+	}
+
+	@Benchmark
+	public void saveOne(final Loaded loaded) {
+		loaded.configManager.markForSave(online.get(0));
+		loaded.configManager.awaitSave();
+	}
+
+	@Benchmark
+	public void massQuit(final Loaded loaded) {
+		for (final PvPlayer player : online) {
+			loaded.configManager.markForSave(player);
+		}
+		loaded.configManager.awaitSave();
+	}
+
+	@Benchmark
+	public int cleanup(final Loaded loaded) {
+		return loaded.configManager.removeInactiveUsers(CLEANUP_DAYS);
+	}
+
+}
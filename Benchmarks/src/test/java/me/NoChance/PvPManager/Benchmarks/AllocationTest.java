@@ -0,0 +1,150 @@
+package me.NoChance.PvPManager.Benchmarks;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent.DamageCause;
+import org.bukkit.event.player.PlayerCommandPreprocessEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import me.NoChance.PvPManager.PvPManager;
+import me.NoChance.PvPManager.Dependencies.Hooks.PlaceHolderAPI;
+import me.NoChance.PvPManager.Listeners.EntityListener;
+import me.NoChance.PvPManager.Listeners.PlayerListener;
+import me.NoChance.PvPManager.Listeners.PlayerMoveListener;
+import me.NoChance.PvPManager.Settings.Settings;
+
+/**
+ * Bytes allocated per call by the handlers that run for every hit, step, command or placeholder refresh, once warmed up.
+ * Budgets are upper limits per handler and include the argument arrays of the stand-in proxies,
+ * so a change that starts allocating per event fails here instead of showing up as GC pressure on busy servers.
+ * Allocation counts depend on the JVM, so this runs in its own CI step on the JDK the build uses: {@code mvn test -Pallocation}.
+ */
+public class AllocationTest {
+
+	private static final com.sun.management.ThreadMXBean THREADS = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+	private static final int WARMUP = 20_000;
+	private static final int CALLS = 10_000;
+	private static final int ROUNDS = 5;
+
+	private static final long DAMAGE_BUDGET = 512;
+	private static final long DAMAGE_MONITOR_BUDGET = 1024;
+	private static final long MOVE_BUDGET = 128;
+	// Splitting the command into its words allocates
+	private static final long COMMAND_BUDGET = 512;
+	// Number placeholders allocate their string
+	private static final long PLACEHOLDER_BUDGET = 128;
+
+	private static PvPManager plugin;
+	private static EntityListener entityListener;
+	private static PlayerListener playerListener;
+	private static PlayerMoveListener moveListener;
+	private static World world;
+	private static Player attacker;
+	private static Player defender;
+	private static Player bystander;
+
+	@BeforeClass
+	public static void setup() throws Exception {
+		plugin = StandIns.enable();
+		// Its cost is in the server, which the stand-ins don't model
+		Settings.setPvpBlood(false);
+		entityListener = new EntityListener(plugin.getPlayerHandler());
+		playerListener = new PlayerListener(plugin.getPlayerHandler());
+		moveListener = new PlayerMoveListener(plugin.getPlayerHandler());
+		world = StandIns.world("world");
+		attacker = StandIns.join("Attacker", world);
+		defender = StandIns.join("Defender", world);
+		bystander = StandIns.join("Bystander", world);
+		// Tag both players once, so hits measure the usual case of refreshing the tag
+		entityListener.onDamageActions(attacker, defender);
+	}
+
+	@AfterClass
+	public static void tearDown() {
+		StandIns.disable();
+	}
+
+	@Test
+	public void onPlayerDamage() {
+		final EntityDamageByEntityEvent event = hit();
+		assertWithin("onPlayerDamage", DAMAGE_BUDGET, () -> entityListener.onPlayerDamage(event));
+		assertFalse(event.isCancelled());
+	}
+
+	@Test
+	public void onPlayerDamageMonitor() {
+		final EntityDamageByEntityEvent event = hit();
+		assertWithin("onPlayerDamageMonitor", DAMAGE_MONITOR_BUDGET, () -> entityListener.onPlayerDamageMonitor(event));
+		assertTrue(plugin.getPlayerHandler().get(defender).isInCombat());
+	}
+
+	@Test
+	public void onPlayerMoveOutOfCombat() {
+		final PlayerMoveEvent event = new PlayerMoveEvent(bystander, new Location(world, 0.5, 64, 0.5), new Location(world, 1.5, 64, 0.5));
+		assertWithin("onPlayerMove out of combat", MOVE_BUDGET, () -> moveListener.onPlayerMove(event));
+	}
+
+	// Crossing into another block while tagged asks WorldGuard, which the stand-in server doesn't have
+	@Test
+	public void onPlayerMoveInCombat() {
+		final PlayerMoveEvent event = new PlayerMoveEvent(attacker, new Location(world, 0.2, 64, 0.2), new Location(world, 0.8, 64, 0.8));
+		assertWithin("onPlayerMove in combat", MOVE_BUDGET, () -> moveListener.onPlayerMove(event));
+	}
+
+	@Test
+	public void onCommandAllowed() {
+		final PlayerCommandPreprocessEvent event = new PlayerCommandPreprocessEvent(attacker, "/tell Defender hello there");
+		assertWithin("onCommand allowed", COMMAND_BUDGET, () -> playerListener.onCommand(event));
+		assertFalse(event.isCancelled());
+	}
+
+	@Test
+	public void onCommandBlocked() {
+		final PlayerCommandPreprocessEvent event = new PlayerCommandPreprocessEvent(attacker, "/spawn now please");
+		assertWithin("onCommand blocked", COMMAND_BUDGET, () -> playerListener.onCommand(event));
+		assertTrue(event.isCancelled());
+	}
+
+	// The yes/no placeholders need PlaceholderAPI itself running, these go through the same lookup
+	@Test
+	public void onPlaceholderRequest() {
+		final PlaceHolderAPI placeholders = new PlaceHolderAPI(plugin);
+		assertWithin("current_enemy", PLACEHOLDER_BUDGET, () -> placeholders.onPlaceholderRequest(attacker, "current_enemy"));
+		assertWithin("combat_timeleft", PLACEHOLDER_BUDGET, () -> placeholders.onPlaceholderRequest(attacker, "combat_timeleft"));
+		assertWithin("pvp_command_timeleft", PLACEHOLDER_BUDGET, () -> placeholders.onPlaceholderRequest(attacker, "pvp_command_timeleft"));
+	}
+
+	private static EntityDamageByEntityEvent hit() {
+		return new EntityDamageByEntityEvent(attacker, defender, DamageCause.ENTITY_ATTACK, 1);
+	}
+
+	private static void assertWithin(final String name, final long budget, final Runnable call) {
+		assumeTrue(THREADS.isThreadAllocatedMemorySupported() && THREADS.isThreadAllocatedMemoryEnabled());
+		final long threadId = Thread.currentThread().getId();
+		for (int i = 0; i < WARMUP; i++) {
+			call.run();
+		}
+		// The best round, so a resize or a JIT deoptimization during one of them doesn't count as per call garbage
+		long perCall = Long.MAX_VALUE;
+		for (int round = 0; round < ROUNDS; round++) {
+			final long before = THREADS.getThreadAllocatedBytes(threadId);
+			for (int i = 0; i < CALLS; i++) {
+				call.run();
+			}
+			perCall = Math.min(perCall, (THREADS.getThreadAllocatedBytes(threadId) - before) / CALLS);
+		}
+		assertTrue(name + " allocates " + perCall + " bytes per call, over its budget of " + budget, perCall <= budget);
+	}
+
+}
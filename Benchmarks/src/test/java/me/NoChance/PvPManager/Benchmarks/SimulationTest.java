@@ -0,0 +1,53 @@
+package me.NoChance.PvPManager.Benchmarks;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import me.NoChance.PvPManager.Benchmarks.Simulation.Scenario;
+import me.NoChance.PvPManager.Diagnostics.Counter;
+import me.NoChance.PvPManager.Managers.PlayerHandler;
+import me.NoChance.PvPManager.Player.CancelResult;
+
+public class SimulationTest {
+
+	@Test
+	public void join() throws Exception {
+		try (Simulation simulation = new Simulation()) {
+			Scenario.JOIN.run(simulation);
+			final PlayerHandler ph = simulation.getPlayerHandler();
+			assertEquals(500, ph.getPlayers().size());
+			assertEquals(0, ph.getTaggedCount());
+		}
+	}
+
+	@Test
+	public void fights() throws Exception {
+		try (Simulation simulation = new Simulation()) {
+			final long tags = Counter.TAGS.get();
+			final long allowed = Counter.getAttacks(CancelResult.FAIL);
+			Scenario.FIGHTS.run(simulation);
+			final PlayerHandler ph = simulation.getPlayerHandler();
+			assertEquals(400, Counter.TAGS.get() - tags);
+			assertTrue(Counter.getAttacks(CancelResult.FAIL) - allowed >= 400);
+			assertEquals(400, ph.getPlayers().size());
+			assertEquals(0, ph.getTaggedCount());
+			assertTrue(ph.getPlayers().values().stream().noneMatch(player -> player.isInCombat()));
+		}
+	}
+
+	@Test
+	public void massLogout() throws Exception {
+		try (Simulation simulation = new Simulation()) {
+			final long combatLogs = Counter.COMBAT_LOGS.get();
+			Scenario.MASS_LOGOUT.run(simulation);
+			final PlayerHandler ph = simulation.getPlayerHandler();
+			// Everyone was tagged when they quit
+			assertEquals(400, Counter.COMBAT_LOGS.get() - combatLogs);
+			assertTrue(ph.getPlayers().isEmpty());
+			assertEquals(0, ph.getTaggedCount());
+		}
+	}
+
+}
@@ -8,6 +8,7 @@ import org.bukkit.entity.Player;
 
 import me.NoChance.PvPManager.PvPlayer;
 import me.NoChance.PvPManager.Managers.PlayerHandler;
+import me.NoChance.PvPManager.Settings.MessageKey;
 import me.NoChance.PvPManager.Settings.Messages;
 import me.NoChance.PvPManager.Utils.CombatUtils;
 
@@ -23,10 +24,10 @@ public class Newbie implements CommandExecutor {
 		if (args.length == 0 && sender instanceof Player) {
 			final PvPlayer pvPlayer = ph.get((Player) sender);
 			if (!pvPlayer.isNewbie()) {
-				pvPlayer.message(Messages.getErrorNotNewbie());
+				pvPlayer.message(MessageKey.ERROR_NOT_NEWBIE);
 			} else {
 				final long timeLeft = pvPlayer.getNewbieTimeLeft() / 1000;
-				pvPlayer.message(String.format(Messages.getNewbieTimeCheck(), timeLeft));
+				pvPlayer.message(MessageKey.NEWBIE_TIME_CHECK, Long.toString(timeLeft));
 			}
 			return true;
 		} else if (args.length >= 1) {
@@ -36,16 +37,16 @@ public class Newbie implements CommandExecutor {
 					player.setNewbie(false);
 					return true;
 				}
-				player.message(Messages.getErrorNotNewbie());
+				player.message(MessageKey.ERROR_NOT_NEWBIE);
 				return true;
 			} else if (sender.hasPermission("pvpmanager.admin")) {
 				if (!CombatUtils.isOnline(args[0])) {
-					sender.sendMessage(Messages.getErrorPlayerNotFound().replace("%p", args[0]));
+					sender.sendMessage(Messages.getBundle(sender).render(MessageKey.ERROR_PLAYER_NOT_FOUND, args[0]));
 					return true;
 				}
 				final PvPlayer specifiedPlayer = ph.get(Bukkit.getPlayer(args[0]));
 				final long timeLeft = specifiedPlayer.getNewbieTimeLeft() / 1000;
-				sender.sendMessage(String.format(Messages.getNewbieTimeCheckOther(), specifiedPlayer.getName(), timeLeft));
+				sender.sendMessage(Messages.getBundle(sender).render(MessageKey.NEWBIE_TIME_CHECK_OTHER, specifiedPlayer.getName(), Long.toString(timeLeft)));
 				return true;
 			}
 		} else if (!(sender instanceof Player)) {
@@ -1,7 +1,13 @@
 package me.NoChance.PvPManager.Commands;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.AbstractMap.SimpleEntry;
 import java.util.ArrayList;
-import java.util.UUID;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map.Entry;
 import java.util.concurrent.TimeUnit;
 
 import org.bukkit.Bukkit;
@@ -10,20 +16,31 @@ import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
-import org.bukkit.event.HandlerList;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.event.entity.EntityDamageEvent.DamageCause;
 import org.bukkit.permissions.PermissionAttachment;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import me.NoChance.PvPManager.PvPManager;
 import me.NoChance.PvPManager.PvPlayer;
+import me.NoChance.PvPManager.Diagnostics.DecisionTrace;
+import me.NoChance.PvPManager.Diagnostics.DecisionTrace.Check;
+import me.NoChance.PvPManager.Diagnostics.DecisionTrace.Decision;
+import me.NoChance.PvPManager.Diagnostics.LatencyHistogram.Snapshot;
+import me.NoChance.PvPManager.Diagnostics.Profiler;
+import me.NoChance.PvPManager.Diagnostics.Timing;
+import me.NoChance.PvPManager.Player.CancelResult;
+import me.NoChance.PvPManager.Settings.Locale;
+import me.NoChance.PvPManager.Settings.LogFile;
+import me.NoChance.PvPManager.Settings.MessageKey;
 import me.NoChance.PvPManager.Settings.Messages;
 import me.NoChance.PvPManager.Settings.Settings;
+import me.NoChance.PvPManager.Tasks.TickWatchdog;
 import me.NoChance.PvPManager.Utils.CombatUtils;
 
 public class PM implements CommandExecutor {
 
+	private static final int LOG_LINES = 20;
+	private static final int EXPLAIN_LINES = 10;
 	private final PvPManager plugin;
 
 	public PM(final PvPManager plugin) {
@@ -45,7 +62,7 @@ public class PM implements CommandExecutor {
 					reload(sender);
 					return true;
 				}
-				sender.sendMessage(Messages.getErrorPermission());
+				sender.sendMessage(Messages.getBundle(sender).get(MessageKey.ERROR_PERMISSION));
 				return true;
 			}
 			if (args[0].equalsIgnoreCase("update") && sender.hasPermission("pvpmanager.admin")) {
@@ -71,7 +88,26 @@ public class PM implements CommandExecutor {
 				        "§cThis means that if they come back their remaining newbie protection(if they had any) will be gone and their previous PvP state will also be default.");
 				return true;
 			}
-			sender.sendMessage(Messages.getErrorPermission());
+			if (args[0].equalsIgnoreCase("stats") && sender.hasPermission("pvpmanager.admin")) {
+				sendStats(sender);
+				return true;
+			}
+			if (args[0].equalsIgnoreCase("profile") && sender.hasPermission("pvpmanager.admin")) {
+				sender.sendMessage("§4§lUsage: §f/pm profile start [seconds] §7| §f/pm profile stop");
+				sender.sendMessage("§cRecords a Java Flight Recorder profile with PvPManager events to the profiles folder, 60 seconds by default.");
+				return true;
+			}
+			if (args[0].equalsIgnoreCase("explain") && sender.hasPermission("pvpmanager.explain")) {
+				sender.sendMessage("§4§lUsage: §f/pm explain <attacker> <defender>");
+				sender.sendMessage("§cShows which check allowed or blocked the latest attacks between two players.");
+				return true;
+			}
+			if (args[0].equalsIgnoreCase("logs") && sender.hasPermission("pvpmanager.logs")) {
+				sender.sendMessage("§4§lUsage: §f/pm logs <player> [time]");
+				sender.sendMessage("§cShows the latest combat log lines of a player, optionally only from the last 30m, 12h or 7d.");
+				return true;
+			}
+			sender.sendMessage(Messages.getBundle(sender).get(MessageKey.ERROR_PERMISSION));
 			return true;
 		} else if (args.length > 1) {
 			if (args[0].equalsIgnoreCase("cleanup") && sender.hasPermission("pvpmanager.admin")) {
@@ -79,27 +115,50 @@ public class PM implements CommandExecutor {
 					final long days = TimeUnit.DAYS.toMillis(Integer.parseInt(args[1]));
 					sender.sendMessage("§2Cleaning up users that haven't logged in the past " + Integer.parseInt(args[1]) + " days");
 					sender.sendMessage("§2This might take a while depending on the size of your users.yml file");
-					new BukkitRunnable() {
-						@Override
-						public void run() {
-							final ArrayList<String> ids = new ArrayList<>();
-							for (final String id : plugin.getConfigM().getUserStorage().getKeys(false)) {
-								final OfflinePlayer p = Bukkit.getOfflinePlayer(UUID.fromString(id));
-								if (p.isOnline()) {
-									continue;
-								}
-								if (System.currentTimeMillis() - p.getLastPlayed() > days) {
-									ids.add(id);
-								}
-							}
-							plugin.getConfigM().removeUsers(ids);
-							sender.sendMessage("§2Finished. Cleaned up " + ids.size() + " inactive users.");
-						}
-					}.runTaskAsynchronously(plugin);
+					plugin.getScheduler().runAsync(() -> {
+						final int removed = plugin.getConfigM().removeInactiveUsers(days);
+						sender.sendMessage("§2Finished. Cleaned up " + removed + " inactive users.");
+					});
 					return true;
 				} catch (final NumberFormatException e) {
 					sender.sendMessage("§cError, days must be a number!");
 				}
+			} else if (args[0].equalsIgnoreCase("stats") && args[1].equalsIgnoreCase("reset") && sender.hasPermission("pvpmanager.admin")) {
+				Timing.resetAll();
+				sender.sendMessage("§2Handler timings have been reset");
+				return true;
+			} else if (args[0].equalsIgnoreCase("profile") && sender.hasPermission("pvpmanager.admin")) {
+				profile(sender, args);
+				return true;
+			} else if (args[0].equalsIgnoreCase("logs") && sender.hasPermission("pvpmanager.logs")) {
+				searchLogs(sender, args);
+				return true;
+			} else if (args[0].equalsIgnoreCase("explain") && sender.hasPermission("pvpmanager.explain")) {
+				if (args.length != 3) {
+					sender.sendMessage("§4§lUsage: §f/pm explain <attacker> <defender>");
+					return true;
+				}
+				explain(sender, args[1], args[2]);
+				return true;
+			} else if (args[0].equalsIgnoreCase("locale") && sender instanceof Player && sender.hasPermission("pvpmanager.locale")) {
+				if (!Settings.isPerPlayerLocale()) {
+					sender.sendMessage("§4Per player locale is disabled, enable it in the Config file");
+					return true;
+				}
+				final PvPlayer p = plugin.getPlayerHandler().get((Player) sender);
+				if (args[1].equalsIgnoreCase("auto")) {
+					p.setPreferredLocale(null);
+				} else {
+					try {
+						p.setPreferredLocale(Locale.valueOf(args[1].toUpperCase()));
+					} catch (final IllegalArgumentException e) {
+						sender.sendMessage("§cError, language must be one of " + Arrays.toString(Locale.values()).toLowerCase() + " or auto!");
+						return true;
+					}
+				}
+				plugin.getConfigM().markForSave(p);
+				sender.sendMessage("§2Messages language set to §e" + p.getMessages().getLocale().name().toLowerCase());
+				return true;
 			} else if (args[0].equalsIgnoreCase("debug") && sender.hasPermission("pvpmanager.debug")) {
 				PvPlayer p = null;
 				if (args.length == 2 && sender instanceof Player) {
@@ -127,19 +186,176 @@ public class PM implements CommandExecutor {
 				return true;
 			}
 		}
-		sender.sendMessage(Messages.getErrorCommand());
+		sender.sendMessage(Messages.getBundle(sender).get(MessageKey.ERROR_COMMAND));
 		return false;
 	}
 
+	private static void sendStats(final CommandSender sender) {
+		if (Settings.isLoadShedding()) {
+			sender.sendMessage(String.format("§6Load §7| §f%.1f TPS §7| §f%.2f ms/tick §7| %s", TickWatchdog.getTPS(), TickWatchdog.getTickMillis(),
+			        TickWatchdog.isShedding() ? "§cshedding cosmetic effects" : "§anormal"));
+		}
+		final List<Entry<Timing, Snapshot>> snapshots = new ArrayList<>();
+		for (final Timing timing : Timing.values()) {
+			final Snapshot snapshot = timing.getHistogram().snapshot();
+			if (snapshot.getCount() > 0) {
+				snapshots.add(new SimpleEntry<>(timing, snapshot));
+			}
+		}
+		if (snapshots.isEmpty()) {
+			sender.sendMessage(Settings.isHandlerTimings() ? "§cNo handler timings recorded yet" : "§4Handler Timings is disabled, enable it in the Config file");
+			return;
+		}
+		snapshots.sort(Comparator.comparingLong((final Entry<Timing, Snapshot> e) -> e.getValue().getTotal()).reversed());
+		sender.sendMessage("§6Handler timings §7(count | mean | p50 | p99 | max)");
+		for (final Entry<Timing, Snapshot> entry : snapshots) {
+			final Snapshot snapshot = entry.getValue();
+			sender.sendMessage("§e" + entry.getKey() + " §f" + snapshot.getCount() + " §7| §f" + formatNanos(snapshot.getMean()) + " §7| §f"
+			        + formatNanos(snapshot.getP50()) + " §7| §f" + formatNanos(snapshot.getP99()) + " §7| §f" + formatNanos(snapshot.getMax()));
+		}
+	}
+
+	private static String formatNanos(final long nanos) {
+		if (nanos < 1_000_000)
+			return nanos / 1000 + "µs";
+		return String.format("%.2fms", nanos / 1_000_000D);
+	}
+
+	private void profile(final CommandSender sender, final String[] args) {
+		if (!Profiler.isSupported()) {
+			sender.sendMessage("§4Java Flight Recorder is not available, it needs Java 11 or Java 8 update 262 or newer");
+			return;
+		}
+		if (args[1].equalsIgnoreCase("stop")) {
+			final File file = Profiler.stop();
+			sender.sendMessage(file != null ? "§2Recording saved to §e" + file.getName() : "§cThere is no recording running");
+			return;
+		}
+		if (!args[1].equalsIgnoreCase("start")) {
+			sender.sendMessage("§4§lUsage: §f/pm profile start [seconds] §7| §f/pm profile stop");
+			return;
+		}
+		if (Profiler.isRecording()) {
+			sender.sendMessage("§cA recording is already running, stop it with /pm profile stop");
+			return;
+		}
+		int seconds = 60;
+		if (args.length > 2) {
+			try {
+				seconds = Integer.parseInt(args[2]);
+			} catch (final NumberFormatException e) {
+				sender.sendMessage("§cError, seconds must be a number!");
+				return;
+			}
+		}
+		if (seconds <= 0) {
+			sender.sendMessage("§cError, seconds must be greater than 0!");
+			return;
+		}
+		try {
+			final File file = Profiler.start(new File(plugin.getDataFolder(), "profiles"), seconds);
+			sender.sendMessage("§2Recording for " + seconds + " seconds to §e" + file.getName());
+		} catch (final IOException | IllegalStateException e) {
+			sender.sendMessage("§4Could not start recording: " + e.getMessage());
+		}
+	}
+
+	private void searchLogs(final CommandSender sender, final String[] args) {
+		final LogFile log = plugin.getConfigM().getLog();
+		if (log == null) {
+			sender.sendMessage("§4Log To File is disabled, enable it in the Config file");
+			return;
+		}
+		long since = 0;
+		if (args.length > 2) {
+			final long duration = parseDuration(args[2]);
+			if (duration <= 0) {
+				sender.sendMessage("§cError, time must be a number followed by m, h or d!");
+				return;
+			}
+			since = System.currentTimeMillis() - duration;
+		}
+		final long from = since;
+		plugin.getScheduler().runAsync(() -> {
+			final long start = System.nanoTime();
+			// Players that never joined are looked up by a blocking web request
+			@SuppressWarnings("deprecation")
+			final OfflinePlayer target = Bukkit.getOfflinePlayer(args[1]);
+			final List<String> lines = log.find(target.getUniqueId(), from, LOG_LINES);
+			final long took = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			final Runnable reply = () -> {
+				sender.sendMessage("§6Combat logs of §e" + args[1] + "§6: " + lines.size() + " line(s) found in " + took + "ms");
+				for (final String line : lines) {
+					sender.sendMessage("§7" + line);
+				}
+			};
+			if (sender instanceof Player) {
+				plugin.getScheduler().run((Player) sender, reply);
+			} else {
+				plugin.getScheduler().run(reply);
+			}
+		});
+	}
+
+	private void explain(final CommandSender sender, final String attacker, final String defender) {
+		final DecisionTrace trace = plugin.getPlayerHandler().getDecisionTrace();
+		if (!trace.isEnabled()) {
+			sender.sendMessage("§4Decision Trace is disabled, enable it in the Config file");
+			return;
+		}
+		final List<Decision> decisions = trace.find(attacker, defender, EXPLAIN_LINES);
+		if (decisions.isEmpty()) {
+			sender.sendMessage("§cNo recent attacks from §e" + attacker + " §con §e" + defender);
+			return;
+		}
+		sender.sendMessage("§6Latest attacks from §e" + attacker + " §6on §e" + defender + " §7(newest first)");
+		final long now = System.currentTimeMillis();
+		for (final Decision decision : decisions) {
+			final boolean allowed = decision.result == CancelResult.FAIL || decision.result == CancelResult.FAIL_OVERRIDE;
+			final StringBuilder line = new StringBuilder("§7").append(TimeUnit.MILLISECONDS.toSeconds(now - decision.time)).append("s ago ");
+			line.append(allowed ? "§aallowed" : "§cblocked").append(" §7| §f").append(decision.check.getDescription());
+			if (!allowed && decision.check != Check.WORLDGUARD_OVERRIDE) {
+				line.append(decision.attackerCaused ? " (attacker)" : " (defender)");
+			}
+			if (decision.hook != null) {
+				line.append(" §7| hook §e").append(decision.hook);
+			}
+			sender.sendMessage(line.toString());
+		}
+	}
+
+	private static long parseDuration(final String input) {
+		if (input.length() < 2)
+			return -1;
+		final TimeUnit unit;
+		switch (Character.toLowerCase(input.charAt(input.length() - 1))) {
+		case 'm':
+			unit = TimeUnit.MINUTES;
+			break;
+		case 'h':
+			unit = TimeUnit.HOURS;
+			break;
+		case 'd':
+			unit = TimeUnit.DAYS;
+			break;
+		default:
+			return -1;
+		}
+		try {
+			return unit.toMillis(Long.parseLong(input.substring(0, input.length() - 1)));
+		} catch (final NumberFormatException e) {
+			return -1;
+		}
+	}
+
 	private void reload(final CommandSender player) {
+		final long start = System.currentTimeMillis();
 		Settings.setReloading(true);
 		Settings.setUpdate(false);
-		Bukkit.getScheduler().cancelTasks(plugin);
-		HandlerList.unregisterAll(plugin);
-		plugin.onDisable();
-		plugin.onEnable();
+		plugin.reload();
 		Settings.setReloading(false);
-		player.sendMessage("§2PvPManager Reloaded!");
+		player.sendMessage("§2PvPManager Reloaded! (" + (System.currentTimeMillis() - start) + " ms)");
+		player.sendMessage("§7Nametags, Combat Journal, JMX and Prometheus only change after a restart");
 	}
 
 }
@@ -8,6 +8,7 @@ import org.bukkit.entity.Player;
 
 import me.NoChance.PvPManager.PvPlayer;
 import me.NoChance.PvPManager.Managers.PlayerHandler;
+import me.NoChance.PvPManager.Settings.MessageKey;
 import me.NoChance.PvPManager.Settings.Messages;
 import me.NoChance.PvPManager.Utils.CombatUtils;
 
@@ -43,13 +44,13 @@ public class PvP implements CommandExecutor {
 							pvpPlayer.setPvP(enable);
 							return true;
 						}
-						pvpPlayer.message(enable ? Messages.getAlreadyEnabled() : Messages.getAlreadyDisabled());
+						pvpPlayer.message(enable ? MessageKey.ALREADY_ENABLED : MessageKey.ALREADY_DISABLED);
 						return true;
 					}
 					return true;
 				} else if (sender.hasPermission("pvpmanager.admin")) {
 					if (!CombatUtils.isOnline(args[0])) {
-						sender.sendMessage(Messages.getErrorPlayerNotFound().replace("%p", args[0]));
+						sender.sendMessage(Messages.getBundle(sender).render(MessageKey.ERROR_PLAYER_NOT_FOUND, args[0]));
 						return true;
 					}
 					final PvPlayer specifiedPlayer = ph.get(Bukkit.getPlayer(args[0]));
@@ -70,7 +71,7 @@ public class PvP implements CommandExecutor {
 				}
 			}
 		}
-		sender.sendMessage(Messages.getErrorCommand());
+		sender.sendMessage(Messages.getBundle(sender).get(MessageKey.ERROR_COMMAND));
 		return true;
 	}
 }
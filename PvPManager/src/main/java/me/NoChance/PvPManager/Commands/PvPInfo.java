@@ -9,6 +9,7 @@ import org.bukkit.entity.Player;
 
 import me.NoChance.PvPManager.PvPlayer;
 import me.NoChance.PvPManager.Managers.PlayerHandler;
+import me.NoChance.PvPManager.Settings.MessageKey;
 import me.NoChance.PvPManager.Settings.Messages;
 import me.NoChance.PvPManager.Utils.CombatUtils;
 
@@ -30,7 +31,7 @@ public class PvPInfo implements CommandExecutor {
 				sendInfo(sender, ph.get(Bukkit.getPlayer(args[0])));
 				return true;
 			}
-			sender.sendMessage(Messages.getErrorPlayerNotFound().replace("%p", args[0]));
+			sender.sendMessage(Messages.getBundle(sender).render(MessageKey.ERROR_PLAYER_NOT_FOUND, args[0]));
 			return true;
 		}
 		return false;
@@ -8,6 +8,8 @@ import org.bukkit.entity.Player;
 
 import me.NoChance.PvPManager.PvPlayer;
 import me.NoChance.PvPManager.Managers.PlayerHandler;
+import me.NoChance.PvPManager.Settings.MessageBundle;
+import me.NoChance.PvPManager.Settings.MessageKey;
 import me.NoChance.PvPManager.Settings.Messages;
 
 public class PvPList implements CommandExecutor {
@@ -20,15 +22,16 @@ public class PvPList implements CommandExecutor {
 
 	@Override
 	public final boolean onCommand(final CommandSender sender, final Command cmd, final String label, final String[] args) {
-		sender.sendMessage(Messages.getPvpListTitle());
-		sender.sendMessage(Messages.getPvpListEnabled());
-		sender.sendMessage(ChatColor.GRAY + (sender instanceof Player ? pvpList((Player) sender, true, false) : pvpList(null, true, true)));
-		sender.sendMessage(Messages.getPvpListDisabled());
-		sender.sendMessage(ChatColor.GRAY + (sender instanceof Player ? pvpList((Player) sender, false, false) : pvpList(null, false, true)));
+		final MessageBundle messages = Messages.getBundle(sender);
+		sender.sendMessage(messages.get(MessageKey.PVPLIST_TITLE));
+		sender.sendMessage(messages.get(MessageKey.PVPLIST_ENABLED));
+		sender.sendMessage(ChatColor.GRAY + (sender instanceof Player ? pvpList(messages, (Player) sender, true, false) : pvpList(messages, null, true, true)));
+		sender.sendMessage(messages.get(MessageKey.PVPLIST_DISABLED));
+		sender.sendMessage(ChatColor.GRAY + (sender instanceof Player ? pvpList(messages, (Player) sender, false, false) : pvpList(messages, null, false, true)));
 		return true;
 	}
 
-	private String pvpList(final Player sender, final boolean enabled, final boolean console) {
+	private String pvpList(final MessageBundle messages, final Player sender, final boolean enabled, final boolean console) {
 		final StringBuilder list = new StringBuilder();
 		for (final PvPlayer p : ph.getPlayers().values()) {
 			final Player player = p.getPlayer();
@@ -37,7 +40,7 @@ public class PvPList implements CommandExecutor {
 			}
 		}
 		if (list.toString().isEmpty())
-			return Messages.getPvpListNoResults();
+			return messages.get(MessageKey.PVPLIST_NOTHING_FOUND);
 		list.delete(list.length() - 2, list.length());
 		return list.toString();
 	}
@@ -8,6 +8,7 @@ import org.bukkit.entity.Player;
 
 import me.NoChance.PvPManager.PvPlayer;
 import me.NoChance.PvPManager.Managers.PlayerHandler;
+import me.NoChance.PvPManager.Settings.MessageKey;
 import me.NoChance.PvPManager.Settings.Messages;
 import me.NoChance.PvPManager.Utils.CombatUtils;
 
@@ -26,22 +27,22 @@ public class PvPStatus implements CommandExecutor {
 			final Player player = (Player) sender;
 			final PvPlayer pvpPlayer = ph.get(player);
 			if (!pvpPlayer.hasPvPEnabled()) {
-				pvpPlayer.message(Messages.getSelfStatusDisabled());
+				pvpPlayer.message(MessageKey.SELF_STATUS_DISABLED);
 				return true;
 			}
-			pvpPlayer.message(Messages.getSelfStatusEnabled());
+			pvpPlayer.message(MessageKey.SELF_STATUS_ENABLED);
 			return true;
 		} else if (args.length == 1 && sender.hasPermission("pvpmanager.pvpstatus.others")) {
 			if (CombatUtils.isOnline(args[0])) {
 				target = ph.get(Bukkit.getPlayer(args[0]));
 				if (!target.hasPvPEnabled()) {
-					sender.sendMessage(Messages.getOthersStatusDisabled().replace("%p", args[0]));
+					sender.sendMessage(Messages.getBundle(sender).render(MessageKey.OTHERS_STATUS_DISABLED, args[0]));
 					return true;
 				}
-				sender.sendMessage(Messages.getOtherStatusEnabled().replace("%p", args[0]));
+				sender.sendMessage(Messages.getBundle(sender).render(MessageKey.OTHER_STATUS_ENABLED, args[0]));
 				return true;
 			}
-			sender.sendMessage(Messages.getErrorPlayerNotFound().replace("%p", args[0]));
+			sender.sendMessage(Messages.getBundle(sender).render(MessageKey.ERROR_PLAYER_NOT_FOUND, args[0]));
 			return true;
 		}
 		return false;
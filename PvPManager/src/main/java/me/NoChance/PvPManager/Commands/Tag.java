@@ -1,5 +1,6 @@
 package me.NoChance.PvPManager.Commands;
 
+import me.NoChance.PvPManager.Settings.MessageKey;
 import me.NoChance.PvPManager.Settings.Messages;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
@@ -9,6 +10,7 @@ import org.bukkit.entity.Player;
 import me.NoChance.PvPManager.PvPlayer;
 import me.NoChance.PvPManager.Managers.PlayerHandler;
 import me.NoChance.PvPManager.Settings.Settings;
+import me.NoChance.PvPManager.Utils.Clock;
 
 public class Tag implements CommandExecutor {
 
@@ -23,14 +25,14 @@ public class Tag implements CommandExecutor {
 		if (args.length == 0 && sender instanceof Player) {
 			final PvPlayer pvPlayer = ph.get((Player) sender);
 			if (!pvPlayer.isInCombat())
-				pvPlayer.message(Messages.getErrorNotInCombat());
+				pvPlayer.message(MessageKey.ERROR_NOT_IN_COMBAT);
 			else {
-				final long timeLeft = (pvPlayer.getTaggedTime() + Settings.getTimeInCombat() * 1000 - System.currentTimeMillis()) / 1000;
-				pvPlayer.message(String.format(Messages.getTagRemaining(), timeLeft));
+				final long timeLeft = (pvPlayer.getTaggedTime() + Settings.getTimeInCombatMillis() - Clock.millis()) / 1000;
+				pvPlayer.message(MessageKey.TAG_REMAINING, Long.toString(timeLeft));
 			}
 			return true;
 		} else if (!(sender instanceof Player)) {
-			sender.sendMessage(Messages.getErrorNotPlayer());
+			sender.sendMessage(Messages.getBundle(sender).get(MessageKey.ERROR_NOT_PLAYER));
 			return true;
 		}
 		return false;
@@ -0,0 +1,28 @@
+package me.NoChance.PvPManager.Diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("pvpmanager.Attack")
+@Label("Attack Decision")
+@Category("PvPManager")
+@Description("An attack between two players checked by PvPManager")
+@StackTrace(false)
+public class AttackEvent extends jdk.jfr.Event {
+
+	@Label("Attacker")
+	public String attacker;
+
+	@Label("Defender")
+	public String defender;
+
+	@Label("Result")
+	public String result;
+
+	@Label("World")
+	public String world;
+
+}
@@ -0,0 +1,28 @@
+package me.NoChance.PvPManager.Diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("pvpmanager.CombatTag")
+@Label("Combat Tag")
+@Category("PvPManager")
+@Description("A player getting tagged or untagged, the duration covers calling other plugins and updating the player")
+@StackTrace(false)
+public class CombatTagEvent extends jdk.jfr.Event {
+
+	@Label("Player")
+	public String player;
+
+	@Label("Enemy")
+	public String enemy;
+
+	@Label("Tagged")
+	public boolean tagged;
+
+	@Label("Attacker")
+	public boolean attacker;
+
+}
@@ -0,0 +1,58 @@
+package me.NoChance.PvPManager.Diagnostics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import me.NoChance.PvPManager.Player.CancelResult;
+
+/**
+ * Running totals of combat events since the server started, exported by the metrics endpoint
+ */
+public enum Counter {
+
+	TAGS("pvpmanager_tags_total", "Players tagged in combat"),
+	COMBAT_LOGS("pvpmanager_combat_logs_total", "Players that logged out while tagged"),
+	KILLS("pvpmanager_kills_total", "Players killed by another player"),
+	PVP_TOGGLES("pvpmanager_pvp_toggles_total", "PvP state changes");
+
+	private static final LongAdder[] ATTACKS = new LongAdder[CancelResult.values().length];
+
+	static {
+		for (int i = 0; i < ATTACKS.length; i++) {
+			ATTACKS[i] = new LongAdder();
+		}
+	}
+
+	private final String metric;
+	private final String help;
+	private final LongAdder count = new LongAdder();
+
+	Counter(final String metric, final String help) {
+		this.metric = metric;
+		this.help = help;
+	}
+
+	public final void increment() {
+		count.increment();
+	}
+
+	public final long get() {
+		return count.sum();
+	}
+
+	public final String getMetric() {
+		return metric;
+	}
+
+	public final String getHelp() {
+		return help;
+	}
+
+	public static void attack(final CancelResult result) {
+		ATTACKS[result.ordinal()].increment();
+	}
+
+	public static long getAttacks(final CancelResult result) {
+		return ATTACKS[result.ordinal()].sum();
+	}
+
+}
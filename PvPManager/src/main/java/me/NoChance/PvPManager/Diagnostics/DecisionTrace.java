@@ -0,0 +1,112 @@
+package me.NoChance.PvPManager.Diagnostics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import me.NoChance.PvPManager.Dependencies.Hook;
+import me.NoChance.PvPManager.Player.CancelResult;
+
+/**
+ * Remembers why the most recent attacks were allowed or cancelled, in a ring of decisions allocated up front.
+ * When disabled nothing is recorded, callers check {@link #isEnabled()} first so the only cost is that check.
+ */
+public class DecisionTrace {
+
+	private final Decision[] ring;
+	private final boolean enabled;
+	private int next;
+
+	public DecisionTrace(final boolean enabled, final int size) {
+		this.enabled = enabled;
+		this.ring = new Decision[enabled ? Math.max(1, size) : 0];
+		for (int i = 0; i < ring.length; i++) {
+			ring[i] = new Decision();
+		}
+	}
+
+	/**
+	 * Only call this while the trace is enabled
+	 *
+	 * @return the decision to fill in for the next attack, overwriting the oldest one
+	 */
+	public final synchronized Decision next() {
+		final Decision decision = ring[next];
+		next = (next + 1) % ring.length;
+		decision.hook = null;
+		return decision;
+	}
+
+	public final boolean isEnabled() {
+		return enabled;
+	}
+
+	public final int size() {
+		return ring.length;
+	}
+
+	/**
+	 * @return copies of the latest decisions for attacks from one player on another, newest first
+	 */
+	public final synchronized List<Decision> find(final String attacker, final String defender, final int limit) {
+		final List<Decision> found = new ArrayList<>();
+		for (int i = 1; i <= ring.length && found.size() < limit; i++) {
+			final Decision decision = ring[(next - i + ring.length) % ring.length];
+			if (decision.check == null) {
+				break;
+			}
+			if (attacker.equalsIgnoreCase(decision.attacker) && defender.equalsIgnoreCase(decision.defender)) {
+				found.add(decision.copy());
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * The check in PlayerHandler#tryCancel that decided the outcome of an attack
+	 */
+	public enum Check {
+		OVERRIDE("attacker has PvP override"),
+		BORDER_HOPPING("both players in combat and no hook blocked the attack"),
+		RESPAWN_PROTECTION("respawn protection"),
+		NEWBIE("newbie protection"),
+		WORLDGUARD_OVERRIDE("PvP forced on by a WorldGuard region, this hit was still cancelled"),
+		WAR("players are at war"),
+		PVP_DISABLED("PvP disabled"),
+		ALLOWED("both players have PvP enabled");
+
+		private final String description;
+
+		Check(final String description) {
+			this.description = description;
+		}
+
+		public String getDescription() {
+			return description;
+		}
+	}
+
+	public static class Decision {
+
+		public long time;
+		public String attacker;
+		public String defender;
+		public Check check;
+		public Hook hook;
+		public CancelResult result;
+		public boolean attackerCaused;
+
+		private Decision copy() {
+			final Decision copy = new Decision();
+			copy.time = time;
+			copy.attacker = attacker;
+			copy.defender = defender;
+			copy.check = check;
+			copy.hook = hook;
+			copy.result = result;
+			copy.attackerCaused = attackerCaused;
+			return copy;
+		}
+
+	}
+
+}
@@ -0,0 +1,151 @@
+package me.NoChance.PvPManager.Diagnostics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts nanosecond spans into log-linear buckets, four per power of two, so percentiles are within 25% of the real value.
+ * Every counter is a {@link LongAdder}, recording never allocates or blocks even when several threads record at once.
+ */
+public class LatencyHistogram {
+
+	private static final int SUB_BUCKETS = 4;
+	private static final int BUCKETS = SUB_BUCKETS * 62;
+
+	private final LongAdder[] buckets = new LongAdder[BUCKETS];
+	private final LongAdder count = new LongAdder();
+	private final LongAdder total = new LongAdder();
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+	public LatencyHistogram() {
+		for (int i = 0; i < BUCKETS; i++) {
+			buckets[i] = new LongAdder();
+		}
+	}
+
+	public final void record(final long nanos) {
+		final long value = Math.max(0, nanos);
+		buckets[bucketOf(value)].increment();
+		count.increment();
+		total.add(value);
+		max.accumulate(value);
+	}
+
+	private static int bucketOf(final long value) {
+		if (value < SUB_BUCKETS)
+			return (int) value;
+		final int exponent = 63 - Long.numberOfLeadingZeros(value);
+		final int sub = (int) (value >>> exponent - 2) & SUB_BUCKETS - 1;
+		return Math.min(BUCKETS - 1, SUB_BUCKETS * (exponent - 1) + sub);
+	}
+
+	private static long upperBound(final int bucket) {
+		if (bucket < SUB_BUCKETS)
+			return bucket;
+		final int exponent = bucket / SUB_BUCKETS + 1;
+		final long lower = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << exponent - 2;
+		return lower + (1L << exponent - 2) - 1;
+	}
+
+	public final long getCount() {
+		return count.sum();
+	}
+
+	public final long getTotal() {
+		return total.sum();
+	}
+
+	/**
+	 * Fills {@code counts} with how many samples were below each of the ascending {@code bounds}, without allocating.
+	 * Bounds that are powers of two are exact, others are rounded down to the nearest bucket boundary.
+	 */
+	public final void cumulativeCounts(final long[] bounds, final long[] counts) {
+		int bound = 0;
+		long seen = 0;
+		for (int i = 0; i < BUCKETS && bound < bounds.length; i++) {
+			while (bound < bounds.length && upperBound(i) >= bounds[bound]) {
+				counts[bound++] = seen;
+			}
+			seen += buckets[i].sum();
+		}
+		while (bound < bounds.length) {
+			counts[bound++] = seen;
+		}
+	}
+
+	public final Snapshot snapshot() {
+		final long[] counts = new long[BUCKETS];
+		long sampled = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			counts[i] = buckets[i].sum();
+			sampled += counts[i];
+		}
+		final long maximum = max.get();
+		return new Snapshot(count.sum(), total.sum(), percentile(counts, sampled, 0.5, maximum), percentile(counts, sampled, 0.99, maximum), maximum);
+	}
+
+	private static long percentile(final long[] counts, final long sampled, final double percentile, final long maximum) {
+		if (sampled == 0)
+			return 0;
+		final long rank = (long) Math.ceil(sampled * percentile);
+		long seen = 0;
+		for (int i = 0; i < counts.length; i++) {
+			seen += counts[i];
+			if (seen >= rank)
+				return Math.min(upperBound(i), maximum);
+		}
+		return maximum;
+	}
+
+	public final void reset() {
+		for (final LongAdder bucket : buckets) {
+			bucket.reset();
+		}
+		count.reset();
+		total.reset();
+		max.reset();
+	}
+
+	public static class Snapshot {
+
+		private final long count;
+		private final long total;
+		private final long p50;
+		private final long p99;
+		private final long max;
+
+		Snapshot(final long count, final long total, final long p50, final long p99, final long max) {
+			this.count = count;
+			this.total = total;
+			this.p50 = p50;
+			this.p99 = p99;
+			this.max = max;
+		}
+
+		public long getCount() {
+			return count;
+		}
+
+		public long getTotal() {
+			return total;
+		}
+
+		public long getMean() {
+			return count == 0 ? 0 : total / count;
+		}
+
+		public long getP50() {
+			return p50;
+		}
+
+		public long getP99() {
+			return p99;
+		}
+
+		public long getMax() {
+			return max;
+		}
+
+	}
+
+}
@@ -0,0 +1,23 @@
+package me.NoChance.PvPManager.Diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("pvpmanager.PlayerLoad")
+@Label("Player Load")
+@Category("PvPManager")
+@Description("Loading a joining player's data")
+@StackTrace(false)
+public class PlayerLoadEvent extends jdk.jfr.Event {
+
+	@Label("Player")
+	public String player;
+
+	@Label("Stored")
+	@Description("If the player had data stored in the users file")
+	public boolean stored;
+
+}
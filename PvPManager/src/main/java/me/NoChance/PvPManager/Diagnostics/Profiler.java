@@ -0,0 +1,92 @@
+package me.NoChance.PvPManager.Diagnostics;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * Entry point for the JFR events, which are only touched when the running Java has Flight Recorder.
+ * The events are also picked up by recordings started outside the plugin, like {@code jcmd <pid> JFR.start}.
+ */
+public final class Profiler {
+
+	private static final boolean SUPPORTED = checkSupport();
+	private static final DateTimeFormatter FILE_DATE = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+	private static Recording recording;
+	private static File output;
+
+	private Profiler() {}
+
+	private static boolean checkSupport() {
+		try {
+			Class.forName("jdk.jfr.Event");
+			return FlightRecorder.isAvailable();
+		} catch (final ClassNotFoundException | LinkageError e) {
+			return false;
+		}
+	}
+
+	public static boolean isSupported() {
+		return SUPPORTED;
+	}
+
+	public static synchronized boolean isRecording() {
+		return recording != null && recording.getState() == RecordingState.RUNNING;
+	}
+
+	/**
+	 * Starts a recording with the JDK profile settings plus the PvPManager events, written to the folder when it stops
+	 *
+	 * @return the file the recording will be written to
+	 */
+	public static synchronized File start(final File folder, final int seconds) throws IOException {
+		if (isRecording())
+			throw new IllegalStateException("A recording is already running");
+		if (!folder.exists() && !folder.mkdirs())
+			throw new IOException("Could not create " + folder.getName() + " folder");
+
+		final Recording newRecording;
+		try {
+			newRecording = new Recording(Configuration.getConfiguration("profile"));
+		} catch (final ParseException e) {
+			throw new IOException(e);
+		}
+		newRecording.setName("PvPManager");
+		newRecording.enable(AttackEvent.class);
+		newRecording.enable(CombatTagEvent.class);
+		newRecording.enable(UserSaveEvent.class);
+		newRecording.enable(PlayerLoadEvent.class);
+		newRecording.enable(RegionLookupEvent.class);
+		newRecording.setToDisk(true);
+		newRecording.setDuration(Duration.ofSeconds(seconds));
+		output = new File(folder, "pvpmanager-" + FILE_DATE.format(LocalDateTime.now()) + ".jfr");
+		newRecording.setDestination(output.toPath());
+		newRecording.start();
+		if (recording != null) {
+			recording.close();
+		}
+		recording = newRecording;
+		return output;
+	}
+
+	/**
+	 * @return the file the recording was written to, or null if none was running
+	 */
+	public static synchronized File stop() {
+		if (!isRecording())
+			return null;
+		recording.stop();
+		recording.close();
+		recording = null;
+		return output;
+	}
+
+}
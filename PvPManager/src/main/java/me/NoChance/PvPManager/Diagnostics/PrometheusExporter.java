@@ -0,0 +1,172 @@
+package me.NoChance.PvPManager.Diagnostics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.Map.Entry;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import me.NoChance.PvPManager.PvPManager;
+import me.NoChance.PvPManager.PvPlayer;
+import me.NoChance.PvPManager.Dependencies.Hook;
+import me.NoChance.PvPManager.Player.CancelResult;
+import me.NoChance.PvPManager.Utils.Log;
+
+/**
+ * Serves the plugin counters and latency histograms in the Prometheus text format on localhost only.
+ * Scrapes are handled one at a time by reusing the same text and byte buffers, which only grow if the output does.
+ */
+public class PrometheusExporter implements HttpHandler {
+
+	private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+	// Powers of two line up with histogram buckets, from about a microsecond to a second
+	private static final long[] BOUNDS = new long[11];
+	private static final String[] BOUND_LABELS = new String[BOUNDS.length];
+
+	static {
+		for (int i = 0; i < BOUNDS.length; i++) {
+			BOUNDS[i] = 1L << 10 + i * 2;
+			BOUND_LABELS[i] = appendSeconds(new StringBuilder(), BOUNDS[i]).toString();
+		}
+	}
+
+	private final PvPManager plugin;
+	private final HttpServer server;
+	private final ExecutorService executor;
+	private final StringBuilder text = new StringBuilder(32 * 1024);
+	private final long[] cumulative = new long[BOUNDS.length];
+	private byte[] bytes = new byte[32 * 1024];
+
+	private PrometheusExporter(final PvPManager plugin, final int port) throws IOException {
+		this.plugin = plugin;
+		this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+		this.executor = Executors.newSingleThreadExecutor(r -> {
+			final Thread thread = new Thread(r, "PvPManager Metrics");
+			thread.setDaemon(true);
+			return thread;
+		});
+		server.createContext("/metrics", this);
+		server.setExecutor(executor);
+		server.start();
+	}
+
+	/**
+	 * @return the running exporter, or null if the port could not be bound
+	 */
+	public static PrometheusExporter start(final PvPManager plugin, final int port) {
+		try {
+			final PrometheusExporter exporter = new PrometheusExporter(plugin, port);
+			Log.info("Serving metrics on http://localhost:" + port + "/metrics");
+			return exporter;
+		} catch (final IOException e) {
+			Log.warning("Could not start the metrics endpoint on port " + port + ": " + e.getMessage());
+			return null;
+		}
+	}
+
+	public final void stop() {
+		server.stop(0);
+		executor.shutdown();
+	}
+
+	@Override
+	public void handle(final HttpExchange exchange) throws IOException {
+		try {
+			if (!"GET".equals(exchange.getRequestMethod())) {
+				exchange.sendResponseHeaders(405, -1);
+				return;
+			}
+			synchronized (this) {
+				render();
+				final int length = encode();
+				exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+				exchange.sendResponseHeaders(200, length);
+				try (OutputStream body = exchange.getResponseBody()) {
+					body.write(bytes, 0, length);
+				}
+			}
+		} finally {
+			exchange.close();
+		}
+	}
+
+	private void render() {
+		text.setLength(0);
+		for (final Counter counter : Counter.values()) {
+			header(counter.getMetric(), counter.getHelp(), "counter");
+			text.append(counter.getMetric()).append(' ').append(counter.get()).append('\n');
+		}
+
+		header("pvpmanager_attacks_total", "Player attacks checked by PvPManager, by the reason they were cancelled or allowed", "counter");
+		for (final CancelResult result : CancelResult.values()) {
+			text.append("pvpmanager_attacks_total{result=\"").append(result.name()).append("\"} ").append(Counter.getAttacks(result)).append('\n');
+		}
+
+		gauge("pvpmanager_players_online", "Players currently handled by PvPManager", plugin.getPlayerHandler().getPlayers().size());
+		gauge("pvpmanager_players_tagged", "Players currently tagged in combat", plugin.getPlayerHandler().getTaggedCount());
+		gauge("pvpmanager_save_queue", "Players waiting to be saved", plugin.getConfigM().getSaveQueueSize());
+		gauge("pvpmanager_pending_loads", "Players waiting for their data to be loaded", PvPlayer.getPendingLoads());
+
+		header("pvpmanager_handler_duration_seconds", "Time spent in event handlers and user saves", "histogram");
+		for (final Timing timing : Timing.values()) {
+			histogram("pvpmanager_handler_duration_seconds", "handler", timing.toString(), timing.getHistogram());
+		}
+
+		header("pvpmanager_hook_duration_seconds", "Time spent in checks of other plugins", "histogram");
+		for (final Entry<Hook, LatencyHistogram> entry : plugin.getDependencyManager().getHookLatencies().entrySet()) {
+			histogram("pvpmanager_hook_duration_seconds", "hook", entry.getKey().name(), entry.getValue());
+		}
+	}
+
+	private void header(final String metric, final String help, final String type) {
+		text.append("# HELP ").append(metric).append(' ').append(help).append('\n');
+		text.append("# TYPE ").append(metric).append(' ').append(type).append('\n');
+	}
+
+	private void gauge(final String metric, final String help, final long value) {
+		header(metric, help, "gauge");
+		text.append(metric).append(' ').append(value).append('\n');
+	}
+
+	private void histogram(final String metric, final String label, final String value, final LatencyHistogram histogram) {
+		final long count = histogram.getCount();
+		histogram.cumulativeCounts(BOUNDS, cumulative);
+		for (int i = 0; i < BOUNDS.length; i++) {
+			text.append(metric).append("_bucket{").append(label).append("=\"").append(value).append("\",le=\"").append(BOUND_LABELS[i]).append("\"} ")
+			        .append(Math.min(cumulative[i], count)).append('\n');
+		}
+		text.append(metric).append("_bucket{").append(label).append("=\"").append(value).append("\",le=\"+Inf\"} ").append(count).append('\n');
+		appendSeconds(text.append(metric).append("_sum{").append(label).append("=\"").append(value).append("\"} "), histogram.getTotal()).append('\n');
+		text.append(metric).append("_count{").append(label).append("=\"").append(value).append("\"} ").append(count).append('\n');
+	}
+
+	private static StringBuilder appendSeconds(final StringBuilder sb, final long nanos) {
+		sb.append(nanos / 1_000_000_000L).append('.');
+		final long fraction = nanos % 1_000_000_000L;
+		for (long digit = 100_000_000L; digit > 1 && fraction < digit; digit /= 10) {
+			sb.append('0');
+		}
+		return sb.append(fraction);
+	}
+
+	// Everything rendered is ASCII, so chars map to bytes directly
+	private int encode() {
+		final int length = text.length();
+		if (bytes.length < length) {
+			bytes = Arrays.copyOf(bytes, Math.max(length, bytes.length * 2));
+		}
+		for (int i = 0; i < length; i++) {
+			final char c = text.charAt(i);
+			bytes[i] = (byte) (c < 0x80 ? c : '?');
+		}
+		return length;
+	}
+
+}
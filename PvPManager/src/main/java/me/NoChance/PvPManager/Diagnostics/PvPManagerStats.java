@@ -0,0 +1,111 @@
+package me.NoChance.PvPManager.Diagnostics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import me.NoChance.PvPManager.PvPManager;
+import me.NoChance.PvPManager.PvPlayer;
+import me.NoChance.PvPManager.Dependencies.Hook;
+import me.NoChance.PvPManager.Managers.PlayerHandler;
+import me.NoChance.PvPManager.Utils.Log;
+
+public class PvPManagerStats implements PvPManagerStatsMXBean {
+
+	public static final String OBJECT_NAME = "me.NoChance.PvPManager:type=Stats";
+
+	private final PvPManager plugin;
+
+	private PvPManagerStats(final PvPManager plugin) {
+		this.plugin = plugin;
+	}
+
+	/**
+	 * Registers the stats MBean on the platform MBean server, replacing the one left by a previous enable
+	 */
+	public static void register(final PvPManager plugin) {
+		final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		try {
+			final ObjectName name = new ObjectName(OBJECT_NAME);
+			if (server.isRegistered(name)) {
+				server.unregisterMBean(name);
+			}
+			server.registerMBean(new PvPManagerStats(plugin), name);
+		} catch (final JMException e) {
+			Log.warning("Could not register the JMX MBean: " + e.getMessage());
+		}
+	}
+
+	public static void unregister() {
+		final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		try {
+			final ObjectName name = new ObjectName(OBJECT_NAME);
+			if (server.isRegistered(name)) {
+				server.unregisterMBean(name);
+			}
+		} catch (final JMException e) {
+			e.printStackTrace();
+		}
+	}
+
+	private PlayerHandler getPlayerHandler() {
+		return plugin.getPlayerHandler();
+	}
+
+	@Override
+	public int getOnlinePlayers() {
+		return getPlayerHandler().getPlayers().size();
+	}
+
+	@Override
+	public int getTaggedPlayers() {
+		return getPlayerHandler().getTaggedCount();
+	}
+
+	@Override
+	public int getSaveQueueSize() {
+		return plugin.getConfigM().getSaveQueueSize();
+	}
+
+	@Override
+	public long getLastSaveDurationMillis() {
+		return plugin.getConfigM().getLastSaveDuration();
+	}
+
+	@Override
+	public int getPendingLoads() {
+		return PvPlayer.getPendingLoads();
+	}
+
+	@Override
+	public long getPlayerCacheHits() {
+		return getPlayerHandler().getCacheHits();
+	}
+
+	@Override
+	public long getPlayerCacheMisses() {
+		return getPlayerHandler().getCacheMisses();
+	}
+
+	@Override
+	public double getPlayerCacheHitRatio() {
+		final long hits = getPlayerCacheHits();
+		final long total = hits + getPlayerCacheMisses();
+		return total == 0 ? 1 : (double) hits / total;
+	}
+
+	@Override
+	public Map<String, Long> getHookCalls() {
+		final Map<String, Long> calls = new TreeMap<>();
+		for (final Entry<Hook, LatencyHistogram> entry : plugin.getDependencyManager().getHookLatencies().entrySet()) {
+			calls.put(entry.getKey().toString(), entry.getValue().getCount());
+		}
+		return calls;
+	}
+
+}
@@ -0,0 +1,28 @@
+package me.NoChance.PvPManager.Diagnostics;
+
+import java.util.Map;
+
+/**
+ * Live gauges of the plugin, registered as {@value PvPManagerStats#OBJECT_NAME} when JMX is enabled in the config
+ */
+public interface PvPManagerStatsMXBean {
+
+	int getOnlinePlayers();
+
+	int getTaggedPlayers();
+
+	int getSaveQueueSize();
+
+	long getLastSaveDurationMillis();
+
+	int getPendingLoads();
+
+	long getPlayerCacheHits();
+
+	long getPlayerCacheMisses();
+
+	double getPlayerCacheHitRatio();
+
+	Map<String, Long> getHookCalls();
+
+}
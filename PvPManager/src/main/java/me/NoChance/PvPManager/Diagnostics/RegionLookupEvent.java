@@ -0,0 +1,34 @@
+package me.NoChance.PvPManager.Diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("pvpmanager.RegionLookup")
+@Label("Region Lookup")
+@Category("PvPManager")
+@Description("A region plugin asked if PvP is allowed at a location")
+@StackTrace(false)
+public class RegionLookupEvent extends jdk.jfr.Event {
+
+	@Label("Hook")
+	public String hook;
+
+	@Label("World")
+	public String world;
+
+	@Label("X")
+	public int x;
+
+	@Label("Y")
+	public int y;
+
+	@Label("Z")
+	public int z;
+
+	@Label("Allowed")
+	public boolean allowed;
+
+}
@@ -0,0 +1,99 @@
+package me.NoChance.PvPManager.Diagnostics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import me.NoChance.PvPManager.Settings.Settings;
+
+/**
+ * Handlers and operations whose execution time is measured while Handler Timings is enabled, shown by /pm stats.
+ * Usage is {@code final long start = Timing.start();} followed by {@code Timing.X.record(start)} in a finally block.
+ */
+public enum Timing {
+
+	ENTITY_DAMAGE("EntityListener.onPlayerDamage"),
+	ENTITY_DAMAGE_OVERRIDE("EntityListener.onPlayerDamageOverride"),
+	ENTITY_DAMAGE_MONITOR("EntityListener.onPlayerDamageMonitor"),
+	ENTITY_COMBUST("EntityListener.onEntityCombust"),
+	POTION_SPLASH("EntityListener.onPotionSplash"),
+	LIGHTNING_STRIKE("EntityListener.onLightningStrike"),
+	BLOCK_IGNITE("EntityListener.onBlockIgnite"),
+	ENTITY_GLIDE("FeatureListeners.GlideBlock.onEntityGlide"),
+	LINGERING_POTION_SPLASH("EntityListener1_9.onLingeringPotionSplash"),
+	BLOCK_PLACE("FeatureListeners.BlockPlace.onBlockPlace"),
+	TOGGLE_FLIGHT("FeatureListeners.FlyBlock.onToggleFlight"),
+	PLAYER_EAT("FeatureListeners.EatBlock.onPlayerEat"),
+	PLAYER_LOGOUT("PlayerListener.onPlayerLogout"),
+	PLAYER_DEATH("PlayerListener.onPlayerDeath"),
+	PLAYER_INTERACT("PlayerListener.onPlayerInteract"),
+	PLAYER_PICKUP("FeatureListeners.NewbiePickup.onPlayerPickup"),
+	PLAYER_JOIN("PlayerListener.onPlayerJoin"),
+	PLAYER_KICK("PlayerListener.onPlayerKick"),
+	PLAYER_TELEPORT("PlayerListener.onPlayerTeleport"),
+	COMMAND("PlayerListener.onCommand"),
+	PLAYER_FISH("PlayerListener.onPlayerFish"),
+	PLAYER_RESPAWN("FeatureListeners.RespawnProtection.onPlayerRespawn"),
+	CHANGE_WORLD("FeatureListeners.WorldChange.onChangeWorld"),
+	PLAYER_MOVE("PlayerMoveListener.onPlayerMove"),
+	WG_PVP_CANCEL("WGListener.onWGPvPCancel"),
+	TRY_CANCEL("PlayerHandler.tryCancel", false),
+	SAVE_USER("ConfigManager.saveUser", false),
+	SAVE_USERS_FILE("ConfigManager.saveUsersToDisk", false);
+
+	// Region threads on Folia record handler time concurrently
+	private static final LongAdder tickTime = new LongAdder();
+	private final String name;
+	private final boolean countsTowardsTick;
+	private final LatencyHistogram histogram = new LatencyHistogram();
+
+	Timing(final String name) {
+		this(name, true);
+	}
+
+	/**
+	 * @param countsTowardsTick if the time is spent on the main thread and not already counted by an enclosing handler
+	 */
+	Timing(final String name, final boolean countsTowardsTick) {
+		this.name = name;
+		this.countsTowardsTick = countsTowardsTick;
+	}
+
+	/**
+	 * @return the time to pass to {@link #record(long)}, or 0 if timings are disabled and nothing will be recorded
+	 */
+	public static long start() {
+		return Settings.isHandlerTimings() ? System.nanoTime() : 0;
+	}
+
+	public final void record(final long start) {
+		if (start == 0)
+			return;
+		final long elapsed = System.nanoTime() - start;
+		histogram.record(elapsed);
+		if (countsTowardsTick) {
+			tickTime.add(elapsed);
+		}
+	}
+
+	/**
+	 * @return time spent in event handlers since the last call, summed over every region thread on Folia
+	 */
+	public static long drainTickTime() {
+		return tickTime.sumThenReset();
+	}
+
+	public final LatencyHistogram getHistogram() {
+		return histogram;
+	}
+
+	public static void resetAll() {
+		for (final Timing timing : values()) {
+			timing.histogram.reset();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return name;
+	}
+
+}
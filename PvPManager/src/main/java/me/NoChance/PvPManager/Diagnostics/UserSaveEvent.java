@@ -0,0 +1,19 @@
+package me.NoChance.PvPManager.Diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("pvpmanager.UserSave")
+@Label("User Save")
+@Category("PvPManager")
+@Description("Players written to the users file by the save thread")
+@StackTrace(false)
+public class UserSaveEvent extends jdk.jfr.Event {
+
+	@Label("Players")
+	public int players;
+
+}
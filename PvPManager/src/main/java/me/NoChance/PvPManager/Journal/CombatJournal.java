@@ -0,0 +1,276 @@
+package me.NoChance.PvPManager.Journal;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import me.NoChance.PvPManager.Player.CancelResult;
+import me.NoChance.PvPManager.Settings.Settings;
+import me.NoChance.PvPManager.Utils.Log;
+
+/**
+ * Records combat events into preallocated buffers, which a writer thread appends to journal files once they fill up.
+ * If every buffer is waiting to be written events are dropped, so recording never blocks the caller.
+ */
+public class CombatJournal {
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final DateTimeFormatter FILE_DATE = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+	private final boolean enabled;
+	private final File folder;
+	private final long maxFileSize;
+	private final Object lock = new Object();
+	private final BlockingQueue<ByteBuffer> free;
+	private final BlockingQueue<ByteBuffer> full;
+	private final Map<String, Integer> worldIds = new HashMap<>();
+	private ByteBuffer current;
+	private long dropped;
+	private Thread writer;
+	private volatile boolean running;
+	private FileChannel channel;
+	private long fileSize;
+
+	public CombatJournal(final File folder) {
+		this.enabled = Settings.isCombatJournal();
+		this.folder = folder;
+		this.maxFileSize = Settings.getCombatJournalMaxFileSize() * 1024 * 1024;
+		final int buffers = enabled ? Math.max(2, Settings.getCombatJournalBuffers()) : 1;
+		this.free = new ArrayBlockingQueue<>(buffers);
+		this.full = new ArrayBlockingQueue<>(buffers);
+		if (!enabled)
+			return;
+
+		for (int i = 0; i < buffers; i++) {
+			free.add(ByteBuffer.allocateDirect(BUFFER_SIZE));
+		}
+		current = free.poll();
+		if (!folder.exists() && !folder.mkdirs()) {
+			Log.warning("Could not create the combat journal folder");
+		}
+		running = true;
+		writer = new Thread(this::writeLoop, "PvPManager Combat Journal");
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	public final boolean isEnabled() {
+		return enabled;
+	}
+
+	public final void attack(final Player attacker, final Player defender, final CancelResult result) {
+		if (!enabled)
+			return;
+		record(JournalFormat.ATTACK, result.ordinal(), result.attackerCaused(), defender.getLocation(), attacker.getUniqueId(), defender.getUniqueId());
+	}
+
+	public final void tag(final Player player, final Player enemy, final boolean attacker) {
+		if (!enabled)
+			return;
+		record(JournalFormat.TAG, -1, attacker, player.getLocation(), player.getUniqueId(), enemy.getUniqueId());
+	}
+
+	// Untags can happen off the main thread, so no location is recorded
+	public final void untag(final UUID player) {
+		if (!enabled)
+			return;
+		record(JournalFormat.UNTAG, -1, false, null, player, null);
+	}
+
+	public final void combatLog(final Player player) {
+		if (!enabled)
+			return;
+		record(JournalFormat.COMBAT_LOG, -1, false, player.getLocation(), player.getUniqueId(), null);
+	}
+
+	public final void kill(final Player killer, final Player victim) {
+		if (!enabled)
+			return;
+		record(JournalFormat.KILL, -1, false, victim.getLocation(), killer.getUniqueId(), victim.getUniqueId());
+	}
+
+	public final void toggle(final UUID player, final boolean pvpState) {
+		if (!enabled)
+			return;
+		record(JournalFormat.TOGGLE, -1, pvpState, null, player, null);
+	}
+
+	private void record(final byte type, final int result, final boolean flag, final Location location, final UUID player, final UUID other) {
+		final long time = System.currentTimeMillis();
+		synchronized (lock) {
+			final World world = location != null ? location.getWorld() : null;
+			final int worldId = world != null ? getWorldId(world.getName(), time) : -1;
+			final ByteBuffer buffer = reserve();
+			if (buffer == null)
+				return;
+			buffer.putLong(time).put(type).put((byte) result).put(flag ? JournalFormat.FLAG : 0).put((byte) 0).putInt(worldId);
+			buffer.putLong(player.getMostSignificantBits()).putLong(player.getLeastSignificantBits());
+			buffer.putLong(other != null ? other.getMostSignificantBits() : 0).putLong(other != null ? other.getLeastSignificantBits() : 0);
+			if (location != null) {
+				buffer.putInt(location.getBlockX()).putInt(location.getBlockY()).putInt(location.getBlockZ());
+			} else {
+				buffer.putInt(0).putInt(0).putInt(0);
+			}
+			buffer.putInt(0);
+		}
+	}
+
+	private int getWorldId(final String name, final long time) {
+		final Integer id = worldIds.get(name);
+		if (id != null)
+			return id;
+		final int newId = worldIds.size();
+		worldIds.put(name, newId);
+		final ByteBuffer buffer = reserve();
+		if (buffer != null) {
+			putWorld(buffer, name, newId, time);
+		}
+		return newId;
+	}
+
+	private static void putWorld(final ByteBuffer buffer, final String name, final int id, final long time) {
+		byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+		if (bytes.length > JournalFormat.MAX_WORLD_NAME) {
+			bytes = Arrays.copyOf(bytes, JournalFormat.MAX_WORLD_NAME);
+		}
+		final int start = buffer.position();
+		buffer.putLong(time).put(JournalFormat.WORLD).put((byte) -1).put((byte) 0).put((byte) 0).putInt(id);
+		buffer.putShort((short) bytes.length).put(bytes);
+		while (buffer.position() < start + JournalFormat.RECORD_SIZE) {
+			buffer.put((byte) 0);
+		}
+	}
+
+	// Must hold the lock
+	private ByteBuffer reserve() {
+		if (current == null || current.remaining() < JournalFormat.RECORD_SIZE) {
+			if (current != null) {
+				full.add(current);
+			}
+			current = free.poll();
+			if (current == null) {
+				dropped++;
+				return null;
+			}
+		}
+		return current;
+	}
+
+	private ByteBuffer takePartial() {
+		synchronized (lock) {
+			if (current == null || current.position() == 0)
+				return null;
+			final ByteBuffer partial = current;
+			current = free.poll();
+			return partial;
+		}
+	}
+
+	private void writeLoop() {
+		try {
+			while (running || !full.isEmpty()) {
+				ByteBuffer buffer = full.poll(1, TimeUnit.SECONDS);
+				if (buffer == null) {
+					buffer = takePartial();
+				}
+				if (buffer != null) {
+					write(buffer);
+				}
+			}
+			final ByteBuffer partial = takePartial();
+			if (partial != null) {
+				write(partial);
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			closeFile();
+		}
+	}
+
+	private void write(final ByteBuffer buffer) {
+		try {
+			if (channel == null || maxFileSize > 0 && fileSize >= maxFileSize) {
+				openFile();
+			}
+			buffer.flip();
+			while (buffer.hasRemaining()) {
+				fileSize += channel.write(buffer);
+			}
+		} catch (final IOException e) {
+			e.printStackTrace();
+		} finally {
+			buffer.clear();
+			free.add(buffer);
+		}
+	}
+
+	private void openFile() throws IOException {
+		closeFile();
+		final String name = "combat-" + FILE_DATE.format(LocalDateTime.now());
+		File file = new File(folder, name + JournalFormat.EXTENSION);
+		for (int i = 1; file.exists(); i++) {
+			file = new File(folder, name + "-" + i + JournalFormat.EXTENSION);
+		}
+		channel = new RandomAccessFile(file, "rw").getChannel();
+		final long time = System.currentTimeMillis();
+		final ByteBuffer header;
+		// Every file carries the known worlds so it can be read on its own
+		synchronized (lock) {
+			header = ByteBuffer.allocate(JournalFormat.HEADER_SIZE + JournalFormat.RECORD_SIZE * worldIds.size());
+			header.putInt(JournalFormat.MAGIC).putShort(JournalFormat.VERSION).putShort((short) JournalFormat.RECORD_SIZE).putLong(time);
+			for (final Entry<String, Integer> world : worldIds.entrySet()) {
+				putWorld(header, world.getKey(), world.getValue(), time);
+			}
+		}
+		header.flip();
+		fileSize = 0;
+		while (header.hasRemaining()) {
+			fileSize += channel.write(header);
+		}
+	}
+
+	private void closeFile() {
+		if (channel == null)
+			return;
+		try {
+			channel.close();
+		} catch (final IOException e) {
+			e.printStackTrace();
+		}
+		channel = null;
+	}
+
+	public final void close() {
+		if (!enabled)
+			return;
+		running = false;
+		try {
+			writer.join(TimeUnit.SECONDS.toMillis(10));
+		} catch (final InterruptedException e) {
+			e.printStackTrace();
+			Thread.currentThread().interrupt();
+		}
+		if (dropped > 0) {
+			Log.warning("Combat journal dropped " + dropped + " events because it couldn't write them fast enough, consider increasing Buffers");
+		}
+	}
+
+}
@@ -0,0 +1,217 @@
+package me.NoChance.PvPManager.Journal;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import me.NoChance.PvPManager.Player.CancelResult;
+
+/**
+ * Summarizes combat journal files without a server, run it with {@code java -jar PvPManager.jar <journal folder or files>}
+ */
+public final class JournalAnalyzer {
+
+	private static final CancelResult[] RESULTS = CancelResult.values();
+
+	private final long[] typeCounts = new long[JournalFormat.TOGGLE + 1];
+	private final Map<String, long[]> attacksByWorld = new TreeMap<>();
+	private final long[] attacks = new long[RESULTS.length];
+	private final Map<UUID, Long> openTags = new HashMap<>();
+	private final Map<UUID, Long> combatLogs = new HashMap<>();
+	private final Map<UUID, Long> kills = new HashMap<>();
+	private long fights;
+	private long fightTime;
+	private long longestFight;
+	private long togglesOn;
+	private long firstTime = Long.MAX_VALUE;
+	private long lastTime;
+
+	private JournalAnalyzer() {}
+
+	public static void main(final String[] args) throws IOException {
+		if (args.length == 0) {
+			System.out.println("Usage: java -jar PvPManager.jar <journal folder or .pmj files>");
+			return;
+		}
+		final List<File> files = new ArrayList<>();
+		for (final String arg : args) {
+			final File file = new File(arg);
+			final File[] children = file.listFiles((dir, name) -> name.endsWith(JournalFormat.EXTENSION));
+			if (children != null) {
+				files.addAll(Arrays.asList(children));
+			} else if (file.isFile()) {
+				files.add(file);
+			}
+		}
+		Collections.sort(files);
+		if (files.isEmpty()) {
+			System.out.println("No journal files found");
+			return;
+		}
+
+		final JournalAnalyzer analyzer = new JournalAnalyzer();
+		for (final File file : files) {
+			analyzer.read(file);
+		}
+		analyzer.print(files.size());
+	}
+
+	private void read(final File file) throws IOException {
+		final Map<Integer, String> worlds = new HashMap<>();
+		final byte[] record = new byte[JournalFormat.RECORD_SIZE];
+		final ByteBuffer buffer = ByteBuffer.wrap(record);
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != JournalFormat.MAGIC) {
+				System.out.println("Skipping " + file.getName() + ", not a journal file");
+				return;
+			}
+			in.readShort();
+			final int recordSize = in.readShort();
+			in.readLong();
+			if (recordSize != JournalFormat.RECORD_SIZE) {
+				System.out.println("Skipping " + file.getName() + ", unsupported record size " + recordSize);
+				return;
+			}
+			while (true) {
+				in.readFully(record);
+				buffer.clear();
+				process(buffer, worlds);
+			}
+		} catch (final EOFException e) {
+			// end of file, a partially written record at the end is ignored
+		}
+	}
+
+	private void process(final ByteBuffer buffer, final Map<Integer, String> worlds) {
+		final long time = buffer.getLong();
+		final byte type = buffer.get();
+		final byte result = buffer.get();
+		final boolean flag = (buffer.get() & JournalFormat.FLAG) != 0;
+		buffer.get();
+		final int worldId = buffer.getInt();
+		if (type == JournalFormat.WORLD) {
+			final byte[] name = new byte[buffer.getShort()];
+			buffer.get(name);
+			worlds.put(worldId, new String(name, StandardCharsets.UTF_8));
+			return;
+		}
+		if (type < 0 || type >= typeCounts.length)
+			return;
+
+		final UUID player = new UUID(buffer.getLong(), buffer.getLong());
+		firstTime = Math.min(firstTime, time);
+		lastTime = Math.max(lastTime, time);
+		typeCounts[type]++;
+		switch (type) {
+		case JournalFormat.ATTACK:
+			if (result >= 0 && result < RESULTS.length) {
+				attacks[result]++;
+				attacksByWorld.computeIfAbsent(worlds.getOrDefault(worldId, "unknown"), w -> new long[RESULTS.length])[result]++;
+			}
+			break;
+		case JournalFormat.TAG:
+			openTags.putIfAbsent(player, time);
+			break;
+		case JournalFormat.UNTAG:
+			final Long start = openTags.remove(player);
+			if (start != null) {
+				final long duration = time - start;
+				fights++;
+				fightTime += duration;
+				longestFight = Math.max(longestFight, duration);
+			}
+			break;
+		case JournalFormat.COMBAT_LOG:
+			combatLogs.merge(player, 1L, Long::sum);
+			break;
+		case JournalFormat.KILL:
+			kills.merge(player, 1L, Long::sum);
+			break;
+		case JournalFormat.TOGGLE:
+			if (flag) {
+				togglesOn++;
+			}
+			break;
+		default:
+			break;
+		}
+	}
+
+	private void print(final int fileCount) {
+		final double hours = Math.max(1, lastTime - firstTime) / 3_600_000D;
+		System.out.println("Combat journal summary - " + fileCount + " file(s), " + String.format("%.1f", hours) + " hours");
+		System.out.println();
+
+		final long totalAttacks = typeCounts[JournalFormat.ATTACK];
+		System.out.println("Attacks checked: " + totalAttacks);
+		for (final CancelResult result : RESULTS) {
+			System.out.println("  " + pad(result.name(), 20) + attacks[result.ordinal()] + " (" + percent(attacks[result.ordinal()], totalAttacks) + ")");
+		}
+		System.out.println();
+		System.out.println("Protection cancel rate by world:");
+		for (final Entry<String, long[]> world : attacksByWorld.entrySet()) {
+			final long[] counts = world.getValue();
+			final long total = Arrays.stream(counts).sum();
+			final StringBuilder line = new StringBuilder("  " + pad(world.getKey(), 20) + total + " attacks");
+			for (final CancelResult result : RESULTS) {
+				if (result != CancelResult.FAIL && result != CancelResult.FAIL_OVERRIDE && counts[result.ordinal()] > 0) {
+					line.append(", ").append(result.name().toLowerCase()).append(' ').append(percent(counts[result.ordinal()], total));
+				}
+			}
+			System.out.println(line);
+		}
+		System.out.println();
+
+		System.out.println("Fights: " + fights + " finished, " + openTags.size() + " still open at the end");
+		if (fights > 0) {
+			System.out.println("  Average duration: " + fightTime / fights / 1000 + "s, longest: " + longestFight / 1000 + "s");
+		}
+		System.out.println("Tags: " + typeCounts[JournalFormat.TAG] + ", kills: " + typeCounts[JournalFormat.KILL]);
+		System.out.println();
+
+		final long totalLogs = typeCounts[JournalFormat.COMBAT_LOG];
+		System.out.println("Combat logs: " + totalLogs + " (" + String.format("%.2f", totalLogs / hours) + " per hour, "
+		        + percent(totalLogs, typeCounts[JournalFormat.TAG]) + " of tags)");
+		printTop("  Most combat logs:", combatLogs);
+		printTop("  Most kills:", kills);
+		System.out.println();
+
+		final long toggles = typeCounts[JournalFormat.TOGGLE];
+		System.out.println("PvP toggles: " + toggles + " (" + togglesOn + " on, " + (toggles - togglesOn) + " off)");
+	}
+
+	private static void printTop(final String title, final Map<UUID, Long> counts) {
+		if (counts.isEmpty())
+			return;
+		System.out.println(title);
+		counts.entrySet().stream().sorted(Collections.reverseOrder(Entry.comparingByValue())).limit(5)
+		        .forEach(e -> System.out.println("    " + e.getKey() + " - " + e.getValue()));
+	}
+
+	private static String percent(final long part, final long total) {
+		return total == 0 ? "0%" : String.format("%.1f%%", part * 100D / total);
+	}
+
+	private static String pad(final String text, final int length) {
+		final StringBuilder sb = new StringBuilder(text);
+		while (sb.length() < length) {
+			sb.append(' ');
+		}
+		return sb.toString();
+	}
+
+}
@@ -0,0 +1,43 @@
+package me.NoChance.PvPManager.Journal;
+
+/**
+ * Layout of journal files, shared by the writer and the analyzer so neither needs the other's dependencies.
+ * <p>
+ * A file starts with a {@value #HEADER_SIZE} byte header followed by fixed size records:
+ *
+ * <pre>
+ * 0  long  time in millis
+ * 8  byte  event type
+ * 9  byte  cancel result ordinal, -1 if none
+ * 10 byte  flags
+ * 12 int   world id, -1 if none
+ * 16 long  player uuid, most and least significant bits
+ * 32 long  other player uuid, zero if none
+ * 48 int   block x, y and z
+ * </pre>
+ *
+ * {@link #WORLD} records map a world id to its name, stored as a length prefixed UTF-8 string from offset 16.
+ */
+final class JournalFormat {
+
+	static final int MAGIC = 0x504D4A31; // PMJ1
+	static final short VERSION = 1;
+	static final int HEADER_SIZE = 16;
+	static final int RECORD_SIZE = 64;
+	static final int MAX_WORLD_NAME = RECORD_SIZE - 18;
+	static final String EXTENSION = ".pmj";
+
+	static final byte WORLD = 0;
+	static final byte ATTACK = 1;
+	static final byte TAG = 2;
+	static final byte UNTAG = 3;
+	static final byte COMBAT_LOG = 4;
+	static final byte KILL = 5;
+	static final byte TOGGLE = 6;
+
+	// Attack: cancel was caused by the attacker, Tag: player was the attacker, Toggle: PvP was enabled
+	static final byte FLAG = 1;
+
+	private JournalFormat() {}
+
+}
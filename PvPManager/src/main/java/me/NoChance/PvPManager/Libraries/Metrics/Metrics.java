@@ -34,9 +34,10 @@ import org.bukkit.Bukkit;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
-import org.bukkit.plugin.java.JavaPlugin;
 
+import me.NoChance.PvPManager.PvPManager;
 import me.NoChance.PvPManager.Settings.Settings;
+import me.NoChance.PvPManager.Tasks.TaskScheduler;
 
 public class Metrics {
 
@@ -51,7 +52,7 @@ public class Metrics {
 	 * @param serviceId The id of the service. It can be found at <a
 	 *            href="https://bstats.org/what-is-my-plugin-id">What is my plugin id?</a>
 	 */
-	public Metrics(final JavaPlugin plugin, final int serviceId) {
+	public Metrics(final PvPManager plugin, final int serviceId) {
 		this.plugin = plugin;
 		// Get the config file
 		final File bStatsFolder = new File(plugin.getDataFolder().getParentFile(), "bStats");
@@ -81,8 +82,9 @@ public class Metrics {
 		final boolean logErrors = config.getBoolean("logFailedRequests", false);
 		final boolean logSentData = config.getBoolean("logSentData", false);
 		final boolean logResponseStatusText = config.getBoolean("logResponseStatusText", false);
+		final TaskScheduler scheduler = plugin.getScheduler();
 		metricsBase = new MetricsBase("bukkit", serverUUID, serviceId, enabled, this::appendPlatformData, this::appendServiceData,
-		        submitDataTask -> Bukkit.getScheduler().runTask(plugin, submitDataTask), plugin::isEnabled,
+		        scheduler::run, plugin::isEnabled,
 		        (message, error) -> this.plugin.getLogger().log(Level.WARNING, message, error), (message) -> this.plugin.getLogger().log(Level.INFO, message),
 		        logErrors, logSentData, logResponseStatusText);
 	}
@@ -33,10 +33,13 @@ import com.google.common.cache.CacheBuilder;
 import me.NoChance.PvPManager.PvPlayer;
 import me.NoChance.PvPManager.Dependencies.Hook;
 import me.NoChance.PvPManager.Dependencies.WorldGuardHook;
+import me.NoChance.PvPManager.Diagnostics.Timing;
 import me.NoChance.PvPManager.Managers.PlayerHandler;
 import me.NoChance.PvPManager.Player.CancelResult;
 import me.NoChance.PvPManager.Settings.Messages;
 import me.NoChance.PvPManager.Settings.Settings;
+import me.NoChance.PvPManager.Tasks.TickWatchdog;
+import me.NoChance.PvPManager.Utils.Capabilities;
 import me.NoChance.PvPManager.Utils.CombatUtils;
 
 public class EntityListener implements Listener {
@@ -52,72 +55,92 @@ public class EntityListener implements Listener {
 
 	@EventHandler(priority = EventPriority.NORMAL, ignoreCancelled = true)
 	public final void onPlayerDamage(final EntityDamageByEntityEvent event) {
-		if (CombatUtils.isWorldExcluded(event.getEntity().getWorld().getName()))
-			return;
-		if (!CombatUtils.isPvP(event)) {
-			if (!(event.getEntity() instanceof Player))
+		final long start = Timing.start();
+		try {
+			if (CombatUtils.isWorldExcluded(event.getEntity().getWorld().getName()))
 				return;
-
-			final PvPlayer attacked = ph.get((Player) event.getEntity());
-			if (attacked.isNewbie() && Settings.isNewbieGodMode()) {
-				event.setCancelled(true);
-			} else if (event.getDamager() instanceof LightningStrike) {
-				final LightningStrike lightning = (LightningStrike) event.getDamager();
-				if (!lightningCache.asMap().containsKey(lightning))
+			if (!CombatUtils.isPvP(event)) {
+				if (!(event.getEntity() instanceof Player))
 					return;
-				if (!attacked.hasPvPEnabled() || attacked.isNewbie() || attacked.hasRespawnProtection()) {
+
+				final PvPlayer attacked = ph.get((Player) event.getEntity());
+				if (attacked.isNewbie() && Settings.isNewbieGodMode()) {
 					event.setCancelled(true);
+				} else if (event.getDamager() instanceof LightningStrike) {
+					final LightningStrike lightning = (LightningStrike) event.getDamager();
+					if (!lightningCache.asMap().containsKey(lightning))
+						return;
+					if (!attacked.hasPvPEnabled() || attacked.isNewbie() || attacked.hasRespawnProtection()) {
+						event.setCancelled(true);
+					}
 				}
+				return;
 			}
-			return;
-		}
 
-		final Player attacker = getAttacker(event.getDamager());
-		final Player attacked = (Player) event.getEntity();
-		final CancelResult result = ph.tryCancel(attacker, attacked);
+			final Player attacker = getAttacker(event.getDamager());
+			final Player attacked = (Player) event.getEntity();
+			final CancelResult result = ph.tryCancel(attacker, attacked);
 
-		if (result != CancelResult.FAIL && result != CancelResult.FAIL_OVERRIDE) {
-			event.setCancelled(true);
-			Messages.messageProtection(result, attacker, attacked);
+			if (result != CancelResult.FAIL && result != CancelResult.FAIL_OVERRIDE) {
+				event.setCancelled(true);
+				Messages.messageProtection(result, attacker, attacked);
+			}
+		} finally {
+			Timing.ENTITY_DAMAGE.record(start);
 		}
 	}
 
 	@EventHandler(priority = EventPriority.HIGHEST)
 	public final void onPlayerDamageOverride(final EntityDamageByEntityEvent event) {
-		if (!CombatUtils.isPvP(event) || CombatUtils.isWorldExcluded(event.getEntity().getWorld().getName()) || !event.isCancelled())
-			return;
+		final long start = Timing.start();
+		try {
+			if (!CombatUtils.isPvP(event) || CombatUtils.isWorldExcluded(event.getEntity().getWorld().getName()) || !event.isCancelled())
+				return;
 
-		if (ph.tryCancel(getAttacker(event.getDamager()), (Player) event.getEntity()).equals(CancelResult.FAIL_OVERRIDE)) {
-			event.setCancelled(false);
+			if (ph.tryCancel(getAttacker(event.getDamager()), (Player) event.getEntity()).equals(CancelResult.FAIL_OVERRIDE)) {
+				event.setCancelled(false);
+			}
+		} finally {
+			Timing.ENTITY_DAMAGE_OVERRIDE.record(start);
 		}
 	}
 
 	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
 	public final void onPlayerDamageMonitor(final EntityDamageByEntityEvent event) {
-		if (!CombatUtils.isPvP(event) || CombatUtils.isWorldExcluded(event.getEntity().getWorld().getName()))
-			return;
-		final Player attacker = getAttacker(event.getDamager());
-		final Player attacked = (Player) event.getEntity();
+		final long start = Timing.start();
+		try {
+			if (!CombatUtils.isPvP(event) || CombatUtils.isWorldExcluded(event.getEntity().getWorld().getName()))
+				return;
+			final Player attacker = getAttacker(event.getDamager());
+			final Player attacked = (Player) event.getEntity();
 
-		onDamageActions(attacker, attacked);
+			onDamageActions(attacker, attacked);
+		} finally {
+			Timing.ENTITY_DAMAGE_MONITOR.record(start);
+		}
 	}
 
 	@EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
 	public final void onEntityCombust(final EntityCombustByEntityEvent event) {
-		if (CombatUtils.isWorldExcluded(event.getEntity().getWorld().getName()))
-			return;
-		if (!CombatUtils.isPvP(event)) {
-			if (event.getEntity() instanceof Player && ph.get((Player) event.getEntity()).isNewbie() && Settings.isNewbieGodMode()) {
-				event.setCancelled(true);
+		final long start = Timing.start();
+		try {
+			if (CombatUtils.isWorldExcluded(event.getEntity().getWorld().getName()))
+				return;
+			if (!CombatUtils.isPvP(event)) {
+				if (event.getEntity() instanceof Player && ph.get((Player) event.getEntity()).isNewbie() && Settings.isNewbieGodMode()) {
+					event.setCancelled(true);
+				}
+				return;
 			}
-			return;
-		}
 
-		final Player attacker = getAttacker(event.getCombuster());
-		final Player attacked = (Player) event.getEntity();
+			final Player attacker = getAttacker(event.getCombuster());
+			final Player attacked = (Player) event.getEntity();
 
-		if (!ph.canAttack(attacker, attacked)) {
-			event.setCancelled(true);
+			if (!ph.canAttack(attacker, attacked)) {
+				event.setCancelled(true);
+			}
+		} finally {
+			Timing.ENTITY_COMBUST.record(start);
 		}
 	}
 
@@ -125,7 +148,7 @@ public class EntityListener implements Listener {
 		final PvPlayer pvpAttacker = ph.get(attacker);
 		final PvPlayer pvpDefender = ph.get(defender);
 
-		if (Settings.isPvpBlood()) {
+		if (Settings.isPvpBlood() && !TickWatchdog.isShedding()) {
 			defender.getWorld().playEffect(defender.getLocation(), Effect.STEP_SOUND, Material.REDSTONE_BLOCK);
 		}
 		if (!attacker.hasPermission("pvpmanager.nodisable")) {
@@ -162,66 +185,81 @@ public class EntityListener implements Listener {
 
 	@EventHandler(ignoreCancelled = true)
 	public final void onPotionSplash(final PotionSplashEvent event) {
-		if (CombatUtils.isWorldExcluded(event.getEntity().getWorld().getName()))
-			return;
-
-		final ThrownPotion potion = event.getPotion();
-		if (event.getAffectedEntities().isEmpty() || !(potion.getShooter() instanceof Player))
-			return;
+		final long start = Timing.start();
+		try {
+			if (CombatUtils.isWorldExcluded(event.getEntity().getWorld().getName()))
+				return;
 
-		for (final PotionEffect effect : potion.getEffects()) {
-			if (!CombatUtils.isHarmfulPotion(effect.getType()))
+			final ThrownPotion potion = event.getPotion();
+			if (event.getAffectedEntities().isEmpty() || !(potion.getShooter() instanceof Player))
 				return;
-		}
 
-		final Player player = (Player) potion.getShooter();
-		for (final LivingEntity e : event.getAffectedEntities()) {
-			if (e.getType() != EntityType.PLAYER || e.equals(player)) {
-				continue;
+			for (final PotionEffect effect : potion.getEffects()) {
+				if (!CombatUtils.isHarmfulPotion(effect.getType()))
+					return;
 			}
-			final Player attacked = (Player) e;
-			final CancelResult result = ph.tryCancel(player, attacked);
 
-			if (result != CancelResult.FAIL && result != CancelResult.FAIL_OVERRIDE) {
-				event.setIntensity(attacked, 0);
-				Messages.messageProtection(result, player, attacked);
-			} else {
-				onDamageActions(player, attacked);
+			final Player player = (Player) potion.getShooter();
+			for (final LivingEntity e : event.getAffectedEntities()) {
+				if (e.getType() != EntityType.PLAYER || e.equals(player)) {
+					continue;
+				}
+				final Player attacked = (Player) e;
+				final CancelResult result = ph.tryCancel(player, attacked);
+
+				if (result != CancelResult.FAIL && result != CancelResult.FAIL_OVERRIDE) {
+					event.setIntensity(attacked, 0);
+					Messages.messageProtection(result, player, attacked);
+				} else {
+					onDamageActions(player, attacked);
+				}
 			}
+		} finally {
+			Timing.POTION_SPLASH.record(start);
 		}
 	}
 
 	@EventHandler(ignoreCancelled = true)
 	public void onLightningStrike(final LightningStrikeEvent event) {
-		if (CombatUtils.isWorldExcluded(event.getLightning().getWorld().getName()))
-			return;
-		if (!CombatUtils.isVersionAtLeast(Settings.getMinecraftVersion(), "1.13.1"))
-			return;
-		if (event.getCause() != Cause.TRIDENT)
-			return;
-
-		lightningCache.put(event.getLightning(), event.getLightning().getLocation());
+		final long start = Timing.start();
+		try {
+			if (CombatUtils.isWorldExcluded(event.getLightning().getWorld().getName()))
+				return;
+			if (!Capabilities.TRIDENT_LIGHTNING)
+				return;
+			if (event.getCause() != Cause.TRIDENT)
+				return;
+
+			lightningCache.put(event.getLightning(), event.getLightning().getLocation());
+		} finally {
+			Timing.LIGHTNING_STRIKE.record(start);
+		}
 	}
 
 	@EventHandler(ignoreCancelled = true)
 	public void onBlockIgnite(final BlockIgniteEvent event) {
-		if (event.getCause() != IgniteCause.LIGHTNING)
-			return;
-		if (CombatUtils.isWorldExcluded(event.getBlock().getWorld().getName()))
-			return;
-
-		final Entity ignitingEntity = event.getIgnitingEntity();
-		if (ignitingEntity instanceof LightningStrike && lightningCache.asMap().containsKey(ignitingEntity)) {
-			final LightningStrike lightningStrike = (LightningStrike) ignitingEntity;
-			for (final Entity entity : lightningStrike.getNearbyEntities(2, 2, 2)) {
-				if (entity instanceof Player) {
-					final PvPlayer attacked = ph.get((Player) entity);
-					if (!attacked.hasPvPEnabled() || attacked.isNewbie() || attacked.hasRespawnProtection()) {
-						event.setCancelled(true);
-						return;
+		final long start = Timing.start();
+		try {
+			if (event.getCause() != IgniteCause.LIGHTNING)
+				return;
+			if (CombatUtils.isWorldExcluded(event.getBlock().getWorld().getName()))
+				return;
+
+			final Entity ignitingEntity = event.getIgnitingEntity();
+			if (ignitingEntity instanceof LightningStrike && lightningCache.asMap().containsKey(ignitingEntity)) {
+				final LightningStrike lightningStrike = (LightningStrike) ignitingEntity;
+				for (final Entity entity : lightningStrike.getNearbyEntities(2, 2, 2)) {
+					if (entity instanceof Player) {
+						final PvPlayer attacked = ph.get((Player) entity);
+						if (!attacked.hasPvPEnabled() || attacked.isNewbie() || attacked.hasRespawnProtection()) {
+							event.setCancelled(true);
+							return;
+						}
 					}
 				}
 			}
+		} finally {
+			Timing.BLOCK_IGNITE.record(start);
 		}
 	}
 
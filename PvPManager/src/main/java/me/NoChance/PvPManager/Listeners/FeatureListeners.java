@@ -0,0 +1,222 @@
+package me.NoChance.PvPManager.Listeners;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityToggleGlideEvent;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerItemConsumeEvent;
+import org.bukkit.event.player.PlayerPickupItemEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerToggleFlightEvent;
+
+import me.NoChance.PvPManager.PvPlayer;
+import me.NoChance.PvPManager.Diagnostics.Timing;
+import me.NoChance.PvPManager.Managers.PlayerHandler;
+import me.NoChance.PvPManager.Settings.MessageKey;
+import me.NoChance.PvPManager.Settings.Settings;
+import me.NoChance.PvPManager.Utils.Capabilities;
+import me.NoChance.PvPManager.Utils.Clock;
+import me.NoChance.PvPManager.Utils.CombatUtils;
+
+/**
+ * Listeners for features that are off unless the config turns them on.
+ * Each one is only registered while its feature is enabled, so a disabled feature costs nothing per event.
+ */
+@SuppressWarnings("deprecation")
+public final class FeatureListeners {
+
+	private FeatureListeners() {
+	}
+
+	public static boolean isBlockPlaceEnabled() {
+		return Settings.isInCombatEnabled() && Settings.isBlockPlaceBlocks();
+	}
+
+	public static boolean isFlyBlockEnabled() {
+		return Settings.isInCombatEnabled() && Settings.isDisableFly();
+	}
+
+	public static boolean isEatBlockEnabled() {
+		return Settings.isInCombatEnabled() && Settings.isBlockEat();
+	}
+
+	public static boolean isGlideBlockEnabled() {
+		return Settings.isInCombatEnabled() && Settings.isBlockGlide() && Capabilities.ELYTRA;
+	}
+
+	public static boolean isNewbiePickupEnabled() {
+		return Settings.isNewbieProtectionEnabled() && Settings.isBlockPickNewbies();
+	}
+
+	public static boolean isRespawnProtectionEnabled() {
+		return Settings.isKillAbuseEnabled() && Settings.getRespawnProtection() != 0;
+	}
+
+	public static boolean isWorldChangeEnabled() {
+		return Settings.isForcePvPOnWorldChange();
+	}
+
+	public static class BlockPlace implements Listener {
+
+		private final PlayerHandler ph;
+
+		public BlockPlace(final PlayerHandler ph) {
+			this.ph = ph;
+		}
+
+		@EventHandler(ignoreCancelled = true)
+		public final void onBlockPlace(final BlockPlaceEvent event) {
+			final long start = Timing.start();
+			try {
+				final PvPlayer player = ph.get(event.getPlayer());
+				if (player.isInCombat()) {
+					event.setCancelled(true);
+					player.throttledActionBar(MessageKey.BLOCK_PLACE_BLOCKED_INCOMBAT);
+				}
+			} finally {
+				Timing.BLOCK_PLACE.record(start);
+			}
+		}
+
+	}
+
+	public static class FlyBlock implements Listener {
+
+		private final PlayerHandler ph;
+
+		public FlyBlock(final PlayerHandler ph) {
+			this.ph = ph;
+		}
+
+		@EventHandler(ignoreCancelled = true)
+		public final void onToggleFlight(final PlayerToggleFlightEvent event) {
+			final long start = Timing.start();
+			try {
+				if (event.isFlying() && ph.get(event.getPlayer()).isInCombat()) {
+					event.setCancelled(true);
+				}
+			} finally {
+				Timing.TOGGLE_FLIGHT.record(start);
+			}
+		}
+
+	}
+
+	public static class EatBlock implements Listener {
+
+		private final PlayerHandler ph;
+
+		public EatBlock(final PlayerHandler ph) {
+			this.ph = ph;
+		}
+
+		@EventHandler(ignoreCancelled = true)
+		public final void onPlayerEat(final PlayerItemConsumeEvent event) {
+			final long start = Timing.start();
+			try {
+				final PvPlayer player = ph.get(event.getPlayer());
+				if (player.isInCombat() && event.getItem().getType().isEdible()) {
+					event.setCancelled(true);
+					player.throttledActionBar(MessageKey.EATING_BLOCKED_INCOMBAT);
+				}
+			} finally {
+				Timing.PLAYER_EAT.record(start);
+			}
+		}
+
+	}
+
+	public static class GlideBlock implements Listener {
+
+		private final PlayerHandler ph;
+
+		public GlideBlock(final PlayerHandler ph) {
+			this.ph = ph;
+		}
+
+		@EventHandler(ignoreCancelled = true)
+		public final void onEntityGlide(final EntityToggleGlideEvent event) {
+			final long start = Timing.start();
+			try {
+				if (event.isGliding() && ph.get((Player) event.getEntity()).isInCombat()) {
+					// TODO add feedback message to player
+					event.setCancelled(true);
+				}
+			} finally {
+				Timing.ENTITY_GLIDE.record(start);
+			}
+		}
+
+	}
+
+	public static class NewbiePickup implements Listener {
+
+		private final PlayerHandler ph;
+
+		public NewbiePickup(final PlayerHandler ph) {
+			this.ph = ph;
+		}
+
+		@EventHandler(ignoreCancelled = true)
+		public final void onPlayerPickup(final PlayerPickupItemEvent e) {
+			final long start = Timing.start();
+			try {
+				final PvPlayer player = ph.get(e.getPlayer());
+				if (player.isNewbie()) {
+					e.setCancelled(true);
+					player.throttledActionBar(MessageKey.NEWBIE_PICKUP_ITEMS_BLOCKED);
+				}
+			} finally {
+				Timing.PLAYER_PICKUP.record(start);
+			}
+		}
+
+	}
+
+	public static class RespawnProtection implements Listener {
+
+		private final PlayerHandler ph;
+
+		public RespawnProtection(final PlayerHandler ph) {
+			this.ph = ph;
+		}
+
+		@EventHandler
+		public final void onPlayerRespawn(final PlayerRespawnEvent event) {
+			final long start = Timing.start();
+			try {
+				if (CombatUtils.isWorldExcluded(event.getPlayer().getWorld().getName()))
+					return;
+				ph.get(event.getPlayer()).setRespawnTime(Clock.millis());
+			} finally {
+				Timing.PLAYER_RESPAWN.record(start);
+			}
+		}
+
+	}
+
+	public static class WorldChange implements Listener {
+
+		private final PlayerHandler ph;
+
+		public WorldChange(final PlayerHandler ph) {
+			this.ph = ph;
+		}
+
+		@EventHandler
+		public final void onChangeWorld(final PlayerChangedWorldEvent event) {
+			final long start = Timing.start();
+			try {
+				if (CombatUtils.isWorldExcluded(event.getPlayer().getWorld().getName()))
+					return;
+				ph.get(event.getPlayer()).setPvP(Settings.isDefaultPvp());
+			} finally {
+				Timing.CHANGE_WORLD.record(start);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,23 @@
+package me.NoChance.PvPManager.Listeners;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerLocaleChangeEvent;
+
+import me.NoChance.PvPManager.Managers.PlayerHandler;
+
+public class LocaleListener implements Listener {
+
+	private final PlayerHandler ph;
+
+	public LocaleListener(final PlayerHandler ph) {
+		this.ph = ph;
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR)
+	public final void onLocaleChange(final PlayerLocaleChangeEvent event) {
+		ph.get(event.getPlayer()).updateClientLocale(event.getLocale());
+	}
+
+}
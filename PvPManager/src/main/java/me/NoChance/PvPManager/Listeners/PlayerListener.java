@@ -1,6 +1,5 @@
 package me.NoChance.PvPManager.Listeners;
 
-import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
@@ -9,31 +8,29 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.block.Action;
-import org.bukkit.event.block.BlockPlaceEvent;
 import org.bukkit.event.entity.PlayerDeathEvent;
-import org.bukkit.event.player.PlayerChangedWorldEvent;
 import org.bukkit.event.player.PlayerCommandPreprocessEvent;
 import org.bukkit.event.player.PlayerFishEvent;
 import org.bukkit.event.player.PlayerFishEvent.State;
 import org.bukkit.event.player.PlayerInteractEvent;
-import org.bukkit.event.player.PlayerItemConsumeEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerKickEvent;
-import org.bukkit.event.player.PlayerPickupItemEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
-import org.bukkit.event.player.PlayerRespawnEvent;
 import org.bukkit.event.player.PlayerTeleportEvent;
 import org.bukkit.event.player.PlayerTeleportEvent.TeleportCause;
-import org.bukkit.event.player.PlayerToggleFlightEvent;
 import org.bukkit.inventory.ItemStack;
 
 import me.NoChance.PvPManager.PvPlayer;
 import me.NoChance.PvPManager.Dependencies.Hook;
 import me.NoChance.PvPManager.Dependencies.WorldGuardHook;
+import me.NoChance.PvPManager.Diagnostics.Counter;
+import me.NoChance.PvPManager.Diagnostics.Timing;
 import me.NoChance.PvPManager.Managers.PlayerHandler;
 import me.NoChance.PvPManager.Player.CancelResult;
+import me.NoChance.PvPManager.Settings.MessageKey;
 import me.NoChance.PvPManager.Settings.Messages;
 import me.NoChance.PvPManager.Settings.Settings;
+import me.NoChance.PvPManager.Utils.Capabilities;
 import me.NoChance.PvPManager.Utils.CombatUtils;
 
 @SuppressWarnings("deprecation")
@@ -46,129 +43,111 @@ public class PlayerListener implements Listener {
 	public PlayerListener(final PlayerHandler ph) {
 		this.ph = ph;
 		this.wg = (WorldGuardHook) ph.getPlugin().getDependencyManager().getDependency(Hook.WORLDGUARD);
-		if (CombatUtils.isVersionAtLeast(Settings.getMinecraftVersion(), "1.13")) {
+		if (Capabilities.FLATTENED_MATERIALS) {
 			mushroomSoup = Material.MUSHROOM_STEW;
-		} else if (CombatUtils.isVersionAtLeast(Settings.getMinecraftVersion(), "1.0")) { // avoid loading Material class on unit tests
+		} else if (CombatUtils.isVersionAtLeast(Capabilities.MINECRAFT_VERSION, "1.0")) { // avoid loading Material class on unit tests
 			mushroomSoup = Material.getMaterial("MUSHROOM_SOUP");
 		}
 	}
 
-	@EventHandler(ignoreCancelled = true)
-	public final void onBlockPlace(final BlockPlaceEvent event) {
-		if (Settings.isBlockPlaceBlocks() && ph.get(event.getPlayer()).isInCombat()) {
-			event.setCancelled(true);
-			ph.get(event.getPlayer()).sendActionBar(Messages.getBlockPlaceBlockedInCombat());
-		}
-	}
-
-	@EventHandler(ignoreCancelled = true)
-	public final void onToggleFlight(final PlayerToggleFlightEvent event) {
-		if (Settings.isDisableFly() && event.isFlying() && ph.get(event.getPlayer()).isInCombat()) {
-			event.setCancelled(true);
-		}
-	}
-
-	@EventHandler(ignoreCancelled = true)
-	public final void onPlayerEat(final PlayerItemConsumeEvent event) {
-		if (Settings.isBlockEat() && ph.get(event.getPlayer()).isInCombat() && event.getItem().getType().isEdible()) {
-			event.setCancelled(true);
-			ph.get(event.getPlayer()).sendActionBar(Messages.getEatBlockedInCombat());
-		}
-	}
-
 	@EventHandler // normal priority to avoid conflict with griefprevention
 	public final void onPlayerLogout(final PlayerQuitEvent event) {
-		final Player player = event.getPlayer();
-		final PvPlayer pvPlayer = ph.get(player);
-		if (pvPlayer.isInCombat()) {
-			if (Settings.isLogToFile()) {
-				ph.getConfigManager().getLog().log(player.getName() + " tried to escape combat!");
-			}
-			for (final String s : Settings.getCommandsOnPvPLog()) {
-				Bukkit.dispatchCommand(Bukkit.getConsoleSender(), ChatColor.translateAlternateColorCodes('&', s.replace("%p", player.getName())));
+		final long start = Timing.start();
+		try {
+			final Player player = event.getPlayer();
+			final PvPlayer pvPlayer = ph.get(player);
+			if (pvPlayer.isInCombat()) {
+				ph.getPlugin().getCombatJournal().combatLog(player);
+				Counter.COMBAT_LOGS.increment();
+				if (Settings.isLogToFile()) {
+					ph.getConfigManager().getLog().log("combat_log", player.getName(), player.getUniqueId(), player.getName() + " tried to escape combat!");
+				}
+				for (final String s : Settings.getCommandsOnPvPLog()) {
+					CombatUtils.dispatchCommand(ChatColor.translateAlternateColorCodes('&', s.replace("%p", player.getName())));
+				}
+				ph.applyPunishments(pvPlayer);
 			}
-			ph.applyPunishments(pvPlayer);
+			ph.removeUser(pvPlayer);
+		} finally {
+			Timing.PLAYER_LOGOUT.record(start);
 		}
-		ph.removeUser(pvPlayer);
 	}
 
 	@EventHandler(priority = EventPriority.HIGH)
 	public final void onPlayerDeath(final PlayerDeathEvent event) {
-		final Player player = event.getEntity();
-		if (CombatUtils.isWorldExcluded(player.getWorld().getName()))
-			return;
+		final long start = Timing.start();
+		try {
+			final Player player = event.getEntity();
+			if (CombatUtils.isWorldExcluded(player.getWorld().getName()))
+				return;
 
-		final PvPlayer pvPlayer = ph.get(player);
-		final Player killer = player.getKiller();
+			final PvPlayer pvPlayer = ph.get(player);
+			final Player killer = player.getKiller();
 
-		// Player died in combat, process that
-		if (killer != null && !killer.equals(player)) {
-			final PvPlayer pKiller = ph.get(killer);
-			if (Settings.isKillAbuseEnabled() && !killer.hasPermission("pvpmanager.nokillabuse")) {
-				pKiller.addVictim(player.getName());
-			}
-			if (wg == null || !wg.containsRegionsAt(killer.getLocation(), Settings.getKillsWGExclusions())) {
-				if (Settings.getMoneyReward() > 0) {
-					pKiller.giveReward(pvPlayer);
+			// Player died in combat, process that
+			if (killer != null && !killer.equals(player)) {
+				final PvPlayer pKiller = ph.get(killer);
+				ph.getPlugin().getCombatJournal().kill(killer, player);
+				Counter.KILLS.increment();
+				if (Settings.isKillAbuseEnabled() && !killer.hasPermission("pvpmanager.nokillabuse")) {
+					pKiller.addVictim(player.getName());
 				}
-				if (Settings.getMoneyPenalty() > 0) {
-					pvPlayer.applyPenalty();
+				if (wg == null || !wg.containsRegionsAt(killer.getLocation(), Settings.getKillsWGExclusions())) {
+					if (Settings.getMoneyReward() > 0) {
+						pKiller.giveReward(pvPlayer);
+					}
+					if (Settings.getMoneyPenalty() > 0) {
+						pvPlayer.applyPenalty();
+					}
+					for (final String command : Settings.getCommandsOnKill()) {
+						CombatUtils.dispatchCommand(command.replace("<player>", killer.getName()).replace("<victim>", player.getName()));
+					}
 				}
-				for (final String command : Settings.getCommandsOnKill()) {
-					Bukkit.dispatchCommand(Bukkit.getConsoleSender(), command.replace("<player>", killer.getName()).replace("<victim>", player.getName()));
+			}
+
+			if (pvPlayer.isInCombat()) {
+				ph.untag(pvPlayer);
+				final PvPlayer enemy = pvPlayer.getEnemy();
+				if (Settings.isUntagEnemy() && enemy != null && pvPlayer.equals(enemy.getEnemy())) {
+					ph.untag(enemy);
 				}
 			}
-		}
 
-		if (pvPlayer.isInCombat()) {
-			ph.untag(pvPlayer);
-			final PvPlayer enemy = pvPlayer.getEnemy();
-			if (Settings.isUntagEnemy() && enemy != null && pvPlayer.equals(enemy.getEnemy())) {
-				ph.untag(enemy);
+			// Let's process player's inventory/exp according to config file
+			if (pvPlayer.hasPvPLogged()) {
+				ph.handleCombatLogDrops(event, player);
+				return;
 			}
-		}
 
-		// Let's process player's inventory/exp according to config file
-		if (pvPlayer.hasPvPLogged()) {
-			ph.handleCombatLogDrops(event, player);
-			return;
+			ph.handlePlayerDrops(event, player, killer);
+		} finally {
+			Timing.PLAYER_DEATH.record(start);
 		}
-
-		ph.handlePlayerDrops(event, player, killer);
 	}
 
+	// Auto soup needs right clicks in the air, which are fired already cancelled, so cancelled events only skip the interact checks
 	@EventHandler
-	public final void onPlayerUseSoup(final PlayerInteractEvent e) {
-		final Player player = e.getPlayer();
-		if (CombatUtils.isWorldExcluded(player.getWorld().getName()))
-			return;
-
-		final ItemStack i = player.getItemInHand();
-		if (Settings.isAutoSoupEnabled() && i.getType() == mushroomSoup) {
-			if (player.getHealth() == player.getMaxHealth())
+	public final void onPlayerInteract(final PlayerInteractEvent e) {
+		final long start = Timing.start();
+		try {
+			final Player player = e.getPlayer();
+			if (CombatUtils.isWorldExcluded(player.getWorld().getName()))
 				return;
-			player.setHealth(
-			        player.getHealth() + Settings.getSoupHealth() > player.getMaxHealth() ? player.getMaxHealth() : player.getHealth() + Settings.getSoupHealth());
-			if (Settings.isSoupBowlDisappear()) {
-				if (CombatUtils.isVersionAtLeast(Settings.getMinecraftVersion(), "1.9")) {
-					player.getInventory().getItemInMainHand().setAmount(0);
-				} else {
-					player.getInventory().setItemInHand(null);
-					e.setCancelled(true);
-				}
-			} else {
-				i.setType(Material.BOWL);
+
+			final ItemStack i = player.getItemInHand();
+			if (!e.isCancelled() && e.getAction() == Action.RIGHT_CLICK_BLOCK) {
+				checkInteract(e, player, i);
 			}
+			// Below 1.9 soup cancels the event itself, that must not skip the interact checks
+			if (Settings.isAutoSoupEnabled() && i.getType() == mushroomSoup) {
+				useSoup(e, player, i);
+			}
+		} finally {
+			Timing.PLAYER_INTERACT.record(start);
 		}
 	}
 
-	@EventHandler(ignoreCancelled = true)
-	public final void onPlayerInteract(final PlayerInteractEvent e) {
-		final Player player = e.getPlayer();
-		if (CombatUtils.isWorldExcluded(player.getWorld().getName()) || e.getAction() != Action.RIGHT_CLICK_BLOCK)
-			return;
-
-		final ItemStack i = player.getItemInHand();
+	private void checkInteract(final PlayerInteractEvent e, final Player player, final ItemStack i) {
 		final PvPlayer pvplayer = ph.get(player);
 		final Block clickedBlock = e.getClickedBlock();
 
@@ -179,7 +158,7 @@ public class PlayerListener implements Listener {
 				}
 				final PvPlayer target = ph.get(p);
 				if ((!target.hasPvPEnabled() || !pvplayer.hasPvPEnabled()) && clickedBlock.getLocation().distanceSquared(p.getLocation()) < 9) {
-					pvplayer.message(Messages.pvpDisabledOther(target.getName()));
+					pvplayer.throttledMessage(MessageKey.ATTACK_DENIED_OTHER, target.getName());
 					e.setCancelled(true);
 					return;
 				}
@@ -187,111 +166,122 @@ public class PlayerListener implements Listener {
 		}
 		if (Settings.blockInteract() && pvplayer.isInCombat()) {
 			e.setCancelled(true);
-			pvplayer.sendActionBar(Messages.getInteractBlockedInCombat());
+			pvplayer.throttledActionBar(MessageKey.INTERACT_BLOCKED_INCOMBAT);
 		}
 	}
 
-	@EventHandler(ignoreCancelled = true)
-	public final void onPlayerPickup(final PlayerPickupItemEvent e) {
-		if (Settings.isNewbieProtectionEnabled() && Settings.isBlockPickNewbies()) {
-			final PvPlayer player = ph.get(e.getPlayer());
-			if (player.isNewbie()) {
+	private void useSoup(final PlayerInteractEvent e, final Player player, final ItemStack i) {
+		if (player.getHealth() == player.getMaxHealth())
+			return;
+		player.setHealth(player.getHealth() + Settings.getSoupHealth() > player.getMaxHealth() ? player.getMaxHealth() : player.getHealth() + Settings.getSoupHealth());
+		if (Settings.isSoupBowlDisappear()) {
+			if (Capabilities.MAIN_HAND) {
+				player.getInventory().getItemInMainHand().setAmount(0);
+			} else {
+				player.getInventory().setItemInHand(null);
 				e.setCancelled(true);
-				player.sendActionBar(Messages.getNewbiePickupItemBlocked());
 			}
+		} else {
+			i.setType(Material.BOWL);
 		}
 	}
 
 	@EventHandler(priority = EventPriority.HIGHEST)
 	public final void onPlayerJoin(final PlayerJoinEvent event) {
-		final Player player = event.getPlayer();
-		ph.get(player).updatePlayer(player);
-		if (player.isOp() || player.hasPermission("pvpmanager.admin"))
-			if (!Messages.getMessageQueue().isEmpty()) {
-				for (final String s : Messages.getMessageQueue()) {
-					player.sendMessage(s);
+		final long start = Timing.start();
+		try {
+			final Player player = event.getPlayer();
+			ph.get(player).updatePlayer(player);
+			if (player.isOp() || player.hasPermission("pvpmanager.admin"))
+				if (!Messages.getMessageQueue().isEmpty()) {
+					for (final String s : Messages.getMessageQueue()) {
+						player.sendMessage(s);
+					}
 				}
-			}
+		} finally {
+			Timing.PLAYER_JOIN.record(start);
+		}
 	}
 
 	@EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
 	public final void onPlayerKick(final PlayerKickEvent event) {
-		final PvPlayer pvPlayer = ph.get(event.getPlayer());
-		if (pvPlayer.isInCombat() && !Settings.punishOnKick()) {
-			ph.untag(pvPlayer);
+		final long start = Timing.start();
+		try {
+			final PvPlayer pvPlayer = ph.get(event.getPlayer());
+			if (pvPlayer.isInCombat() && !Settings.punishOnKick()) {
+				ph.untag(pvPlayer);
+			}
+		} finally {
+			Timing.PLAYER_KICK.record(start);
 		}
 	}
 
 	@EventHandler
 	public final void onPlayerTeleport(final PlayerTeleportEvent event) {
-		final PvPlayer player = ph.get(event.getPlayer());
-		if (player != null && Settings.isInCombatEnabled() && player.isInCombat())
-			if (event.getCause().equals(TeleportCause.ENDER_PEARL) && Settings.isBlockEnderPearl()) {
-				event.setCancelled(true);
-				player.message(Messages.getEnderpearlBlockedIncombat());
-			} else if (CombatUtils.isVersionAtLeast(Settings.getMinecraftVersion(), "1.9") && event.getCause().equals(TeleportCause.CHORUS_FRUIT)
-			        && Settings.isBlockChorusFruit()) {
-				event.setCancelled(true);
-				player.message(Messages.getChorusBlockedInCombat());
-			} else if (event.getCause().equals(TeleportCause.COMMAND) && Settings.isBlockTeleport()) {
-				event.setCancelled(true);
-				player.message(Messages.getTeleportBlockedInCombat());
-			}
+		final long start = Timing.start();
+		try {
+			final PvPlayer player = ph.get(event.getPlayer());
+			if (player != null && Settings.isInCombatEnabled() && player.isInCombat())
+				if (event.getCause().equals(TeleportCause.ENDER_PEARL) && Settings.isBlockEnderPearl()) {
+					event.setCancelled(true);
+					player.throttledMessage(MessageKey.ENDERPEARL_BLOCKED_INCOMBAT);
+				} else if (Capabilities.CHORUS_FRUIT && event.getCause().equals(TeleportCause.CHORUS_FRUIT)
+				        && Settings.isBlockChorusFruit()) {
+					event.setCancelled(true);
+					player.throttledMessage(MessageKey.CHORUSFRUIT_BLOCKED_INCOMBAT);
+				} else if (event.getCause().equals(TeleportCause.COMMAND) && Settings.isBlockTeleport()) {
+					event.setCancelled(true);
+					player.throttledMessage(MessageKey.TELEPORT_BLOCKED_INCOMBAT);
+				}
+		} finally {
+			Timing.PLAYER_TELEPORT.record(start);
+		}
 	}
 
 	@EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = true)
 	public final void onCommand(final PlayerCommandPreprocessEvent event) {
-		if (Settings.isInCombatEnabled() && Settings.isStopCommands() || Settings.isNewbieProtectionEnabled()) {
-			final PvPlayer player = ph.get(event.getPlayer());
-			final String[] givenCommand = event.getMessage().substring(1).split(" ", 3);
-
-			if (player.isInCombat() && !event.getPlayer().hasPermission("pvpmanager.exempt.block.commands")) {
-				final boolean contains = CombatUtils.recursiveContainsCommand(givenCommand, Settings.getCommandsAllowed());
-				if (Settings.isCommandsWhitelist() != contains) {
+		final long start = Timing.start();
+		try {
+			if (Settings.isInCombatEnabled() && Settings.isStopCommands() || Settings.isNewbieProtectionEnabled()) {
+				final PvPlayer player = ph.get(event.getPlayer());
+				final String[] givenCommand = event.getMessage().substring(1).split(" ", 3);
+
+				if (player.isInCombat() && !event.getPlayer().hasPermission("pvpmanager.exempt.block.commands")) {
+					final boolean contains = CombatUtils.recursiveContainsCommand(givenCommand, Settings.getCommandsAllowed());
+					if (Settings.isCommandsWhitelist() != contains) {
+						event.setCancelled(true);
+						player.throttledMessage(MessageKey.COMMAND_DENIED_INCOMBAT);
+					}
+				}
+				if (player.isNewbie() && CombatUtils.recursiveContainsCommand(givenCommand, Settings.getNewbieBlacklist())) {
 					event.setCancelled(true);
-					player.message(Messages.getCommandDeniedIncombat());
+					player.throttledMessage(MessageKey.NEWBIE_COMMAND_BLOCKED);
 				}
 			}
-			if (player.isNewbie() && CombatUtils.recursiveContainsCommand(givenCommand, Settings.getNewbieBlacklist())) {
-				event.setCancelled(true);
-				player.message(Messages.getNewbieCommandBlocked());
-			}
-		}
 
+		} finally {
+			Timing.COMMAND.record(start);
+		}
 	}
 
 	@EventHandler(ignoreCancelled = true)
 	public final void onPlayerFish(final PlayerFishEvent event) {
-		final Player player = event.getPlayer();
-		if (CombatUtils.isWorldExcluded(player.getWorld().getName()))
-			return;
-
-		if (event.getState() == State.CAUGHT_ENTITY && event.getCaught() instanceof Player) {
-			final Player caught = (Player) event.getCaught();
-			final CancelResult result = ph.tryCancel(player, caught);
-			if (result != CancelResult.FAIL && result != CancelResult.FAIL_OVERRIDE) {
-				event.setCancelled(true);
-				Messages.messageProtection(result, player, caught);
-			} // TODO trigger damage actions
-		}
-	}
-
-	@EventHandler
-	public final void onPlayerRespawn(final PlayerRespawnEvent event) {
-		if (CombatUtils.isWorldExcluded(event.getPlayer().getWorld().getName()))
-			return;
-		if (Settings.isKillAbuseEnabled() && Settings.getRespawnProtection() != 0) {
-			final PvPlayer player = ph.get(event.getPlayer());
-			player.setRespawnTime(System.currentTimeMillis());
-		}
-	}
+		final long start = Timing.start();
+		try {
+			final Player player = event.getPlayer();
+			if (CombatUtils.isWorldExcluded(player.getWorld().getName()))
+				return;
 
-	@EventHandler
-	public void onChangeWorld(final PlayerChangedWorldEvent event) {
-		if (CombatUtils.isWorldExcluded(event.getPlayer().getWorld().getName()))
-			return;
-		if (Settings.isForcePvPOnWorldChange()) {
-			ph.get(event.getPlayer()).setPvP(Settings.isDefaultPvp());
+			if (event.getState() == State.CAUGHT_ENTITY && event.getCaught() instanceof Player) {
+				final Player caught = (Player) event.getCaught();
+				final CancelResult result = ph.tryCancel(player, caught);
+				if (result != CancelResult.FAIL && result != CancelResult.FAIL_OVERRIDE) {
+					event.setCancelled(true);
+					Messages.messageProtection(result, player, caught);
+				} // TODO trigger damage actions
+			}
+		} finally {
+			Timing.PLAYER_FISH.record(start);
 		}
 	}
 
@@ -14,8 +14,10 @@ import com.google.common.cache.CacheBuilder;
 
 import me.NoChance.PvPManager.Dependencies.Hook;
 import me.NoChance.PvPManager.Dependencies.RegionDependency;
+import me.NoChance.PvPManager.Diagnostics.Timing;
 import me.NoChance.PvPManager.Managers.PlayerHandler;
-import me.NoChance.PvPManager.Settings.Messages;
+import me.NoChance.PvPManager.Settings.MessageKey;
+import me.NoChance.PvPManager.Tasks.TickWatchdog;
 
 public class PlayerMoveListener implements Listener {
 
@@ -30,22 +32,27 @@ public class PlayerMoveListener implements Listener {
 
 	@EventHandler
 	public final void onPlayerMove(final PlayerMoveEvent event) {
-		if (!ph.get(event.getPlayer()).isInCombat())
-			return;
-		if (event.getFrom().getBlockX() == event.getTo().getBlockX() && event.getFrom().getBlockZ() == event.getTo().getBlockZ()
-		        && event.getFrom().getBlockY() == event.getTo().getBlockY())
-			return;
-
-		if (!wg.canAttackAt(null, event.getTo()) && wg.canAttackAt(null, event.getFrom())) {
-			if (!cache.asMap().containsKey(event.getPlayer().getUniqueId())) {
-				final Vector newVel = event.getFrom().toVector().subtract(event.getTo().toVector());
-				newVel.setY(newVel.getY() + 0.1).normalize().multiply(1.5);
-
-				event.getPlayer().setVelocity(newVel);
-				event.getPlayer().sendMessage(Messages.getPushbackWarning());
-
-				cache.put(event.getPlayer().getUniqueId(), event.getPlayer());
+		final long start = Timing.start();
+		try {
+			if (TickWatchdog.isShedding() || !ph.get(event.getPlayer()).isInCombat())
+				return;
+			if (event.getFrom().getBlockX() == event.getTo().getBlockX() && event.getFrom().getBlockZ() == event.getTo().getBlockZ()
+			        && event.getFrom().getBlockY() == event.getTo().getBlockY())
+				return;
+
+			if (!wg.canAttackAt(null, event.getTo()) && wg.canAttackAt(null, event.getFrom())) {
+				if (!cache.asMap().containsKey(event.getPlayer().getUniqueId())) {
+					final Vector newVel = event.getFrom().toVector().subtract(event.getTo().toVector());
+					newVel.setY(newVel.getY() + 0.1).normalize().multiply(1.5);
+
+					event.getPlayer().setVelocity(newVel);
+					ph.get(event.getPlayer()).throttledMessage(MessageKey.PUSHBACK_WARNING);
+
+					cache.put(event.getPlayer().getUniqueId(), event.getPlayer());
+				}
 			}
+		} finally {
+			Timing.PLAYER_MOVE.record(start);
 		}
 	}
 
@@ -5,6 +5,7 @@ import org.bukkit.event.Listener;
 
 import com.sk89q.worldguard.protection.events.DisallowedPVPEvent;
 
+import me.NoChance.PvPManager.Diagnostics.Timing;
 import me.NoChance.PvPManager.Managers.PlayerHandler;
 import me.NoChance.PvPManager.Player.CancelResult;
 
@@ -18,10 +19,15 @@ public class WGListenerLegacy implements Listener {
 
 	@EventHandler
 	public final void onWGPvPCancel(final DisallowedPVPEvent event) { // NO_UCD
-		if (event.getAttacker().hasMetadata("NPC") || event.getDefender().hasMetadata("NPC"))
-			return;
-		if (ph.tryCancel(event.getAttacker(), event.getDefender()) == CancelResult.FAIL_OVERRIDE) {
-			event.setCancelled(true);
+		final long start = Timing.start();
+		try {
+			if (event.getAttacker().hasMetadata("NPC") || event.getDefender().hasMetadata("NPC"))
+				return;
+			if (ph.tryCancel(event.getAttacker(), event.getDefender()) == CancelResult.FAIL_OVERRIDE) {
+				event.setCancelled(true);
+			}
+		} finally {
+			Timing.WG_PVP_CANCEL.record(start);
 		}
 	}
 
@@ -5,35 +5,38 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
-import java.util.concurrent.LinkedBlockingDeque;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import me.NoChance.PvPManager.PvPManager;
 import me.NoChance.PvPManager.PvPlayer;
 import me.NoChance.PvPManager.Version;
+import me.NoChance.PvPManager.Diagnostics.Profiler;
+import me.NoChance.PvPManager.Diagnostics.Timing;
+import me.NoChance.PvPManager.Diagnostics.UserSaveEvent;
 import me.NoChance.PvPManager.Libraries.Config.ConfigUpdater;
 import me.NoChance.PvPManager.Settings.Config;
 import me.NoChance.PvPManager.Settings.LogFile;
 import me.NoChance.PvPManager.Settings.Messages;
 import me.NoChance.PvPManager.Settings.Settings;
+import me.NoChance.PvPManager.Tasks.TaskScheduler.Task;
 import me.NoChance.PvPManager.Utils.CombatUtils;
 import me.NoChance.PvPManager.Utils.Log;
+import me.NoChance.PvPManager.Utils.SaveQueue;
 
 public class ConfigManager {
 
@@ -42,37 +45,50 @@ public class ConfigManager {
 	private final File usersFile;
 	private final YamlConfiguration users = new YamlConfiguration();
 	private final ExecutorService executor = Executors.newSingleThreadExecutor();
-	private final BlockingQueue<PvPlayer> playersToSave = new LinkedBlockingDeque<>();
-	private Future<?> lastTask;
+	private volatile long lastSaveDuration;
+	private final SaveQueue<PvPlayer> playersToSave = new SaveQueue<>();
+	private volatile Future<?> lastTask;
 	private ConfigurationSection userSection;
 	private Config config;
-	private LogFile log;
+	private volatile LogFile log;
+	private Task updateCheck;
 
 	public ConfigManager(final PvPManager plugin) {
 		this.plugin = plugin;
 		this.usersFile = new File(plugin.getDataFolder(), "users.yml");
 		this.configFile = new File(plugin.getDataFolder(), "config.yml");
-		loadConfig();
-		loadUsersFile();
-		if (Settings.isLogToFile()) {
-			log = new LogFile(new File(plugin.getDataFolder(), "combatlogs.log"));
-		}
+		loadConfig(() -> {
+		});
+		openLog();
+	}
+
+	/**
+	 * Reads the config again and publishes the new settings once the fix-ups changed them, the users file stays as it is in memory
+	 */
+	public void reload(final Runnable fixUps) {
+		loadConfig(fixUps);
+		closeLog();
+		openLog();
+	}
+
+	private void openLog() {
+		log = Settings.isLogToFile() ? new LogFile(new File(plugin.getDataFolder(), "combatlogs.log")) : null;
 	}
 
-	private void loadConfig() {
+	private void loadConfig(final Runnable fixUps) {
 		plugin.reloadConfig();
 		// This version can't be auto updated, so let's backup
 		if (getConfigVersion() < 38) {
 			if (configFile.exists()) {
-				resetConfig();
+				resetConfig(fixUps);
 			} else {
-				initConfig();
+				initConfig(fixUps);
 			}
 		} else if (getConfigVersion() < Integer.parseInt(Version.getConfigVersion())) {
 			if (configFile.exists()) {
 				try {
 					ConfigUpdater.update(plugin, "config.yml", configFile, Arrays.asList("Config Version", "Metrics", "Update Check.Enabled"));
-					initConfig();
+					initConfig(fixUps);
 				} catch (final IOException e) {
 					e.printStackTrace();
 				}
@@ -88,28 +104,30 @@ public class ConfigManager {
 				Messages.getMessageQueue().add("§6[§fPvPManager§6] " + "§2It's recommended that you check the file and adjust the new settings");
 			}
 		} else {
-			initConfig();
+			initConfig(fixUps);
+		}
+		if (updateCheck != null) {
+			updateCheck.cancel();
+			updateCheck = null;
 		}
 		if (Settings.isUpdateCheck()) {
-			new BukkitRunnable() {
-				@Override
-				public void run() {
-					plugin.checkForUpdates();
-				}
-			}.runTaskTimerAsynchronously(plugin, 0, 360000);
+			updateCheck = plugin.getScheduler().runAsyncTimer(plugin::checkForUpdates, 0, 360000);
 		}
 	}
 
-	private void initConfig() {
+	private void initConfig(final Runnable fixUps) {
 		try {
 			config = new Config(plugin, "config.yml");
 		} catch (final FileNotFoundException e) {
 			e.printStackTrace();
 		}
-		Settings.initizalizeVariables(config);
+		Settings.initizalizeVariables(config, fixUps);
 	}
 
-	private void loadUsersFile() {
+	/**
+	 * Loads users.yml, doesn't depend on anything but the config so it can run off the main thread while the plugin enables
+	 */
+	public void loadUsersFile() {
 		try {
 			if (!usersFile.exists()) {
 				plugin.saveResource("users.yml", false);
@@ -129,13 +147,13 @@ public class ConfigManager {
 		}
 	}
 
-	private void resetConfig() {
+	private void resetConfig(final Runnable fixUps) {
 		try {
 			Files.move(configFile.toPath(), configFile.toPath().resolveSibling("config.old.yml"), StandardCopyOption.REPLACE_EXISTING);
 		} catch (final IOException e) {
 			e.printStackTrace();
 		}
-		initConfig();
+		initConfig(fixUps);
 		Log.warning("Configuration file updated to version: " + Settings.getConfigVersion());
 		Log.warning("Due to big changes, your config file was renamed to config.old.yml");
 		Log.warning("Please copy your settings manually to the new config file");
@@ -158,30 +176,25 @@ public class ConfigManager {
 	}
 
 	private final void saveUser(final PvPlayer player) {
-		// check if we really need to save this player
-		if (!player.isNewbie() && player.hasPvPEnabled() == Settings.isDefaultPvp()
-		        && CombatUtils.hasTimePassed(player.getToggleTime(), Settings.getToggleCooldown())) {
-			// clear entry for this user if there is one
-			if (getUserStorage().contains(player.getUUID().toString())) {
-				removeUser(player.getUUID().toString());
+		final long start = Timing.start();
+		try {
+			// check if we really need to save this player
+			if (!player.isNewbie() && player.hasPvPEnabled() == Settings.isDefaultPvp() && !player.hasLocalePreference()
+			        && CombatUtils.hasTimePassed(player.getToggleTime(), Settings.getToggleCooldown())) {
+				// clear entry for this user if there is one
+				if (getUserStorage().contains(player.getUUID().toString())) {
+					removeUser(player.getUUID().toString());
+				}
+				return;
 			}
-			return;
+			getUserStorage().createSection(player.getUUID().toString(), player.getUserData());
+		} finally {
+			Timing.SAVE_USER.record(start);
 		}
-		getUserStorage().createSection(player.getUUID().toString(), player.getUserData());
 	}
 
 	public final void markForSave(final PvPlayer player) {
-		if (playersToSave.offer(player) && (lastTask == null || lastTask.isDone())) {
-			try {
-				if (lastTask != null && lastTask.isDone()) {
-					lastTask.get(50, TimeUnit.MILLISECONDS);
-				}
-			} catch (final InterruptedException e) {
-				e.printStackTrace();
-				Thread.currentThread().interrupt();
-			} catch (ExecutionException | TimeoutException e) {
-				e.printStackTrace();
-			}
+		if (playersToSave.offer(player)) {
 			triggerSave();
 		}
 	}
@@ -197,27 +210,79 @@ public class ConfigManager {
 		saveUsersToDisk();
 	}
 
+	/**
+	 * Removes the stored data of offline players that haven't played for longer than the given time
+	 *
+	 * @return how many users were removed
+	 */
+	public final int removeInactiveUsers(final long inactiveTime) {
+		final List<String> ids = new ArrayList<>();
+		for (final String id : getUserStorage().getKeys(false)) {
+			final OfflinePlayer p = Bukkit.getOfflinePlayer(UUID.fromString(id));
+			if (p.isOnline()) {
+				continue;
+			}
+			if (System.currentTimeMillis() - p.getLastPlayed() > inactiveTime) {
+				ids.add(id);
+			}
+		}
+		removeUsers(ids);
+		return ids.size();
+	}
+
 	private void triggerSave() {
 		lastTask = executor.submit(() -> {
-			final long start = System.currentTimeMillis();
-			Log.debug("Starting async save...");
-			while (playersToSave.peek() != null) {
-				saveUser(playersToSave.poll());
+			try {
+				saveQueued();
+			} catch (final RuntimeException e) {
+				e.printStackTrace();
 			}
-			saveUsersToDisk();
-			Log.debug("Finished async save - " + (System.currentTimeMillis() - start) + " ms");
-			if (!playersToSave.isEmpty()) {
+			if (playersToSave.finish()) {
 				triggerSave();
 			}
 		});
 	}
 
+	private void saveQueued() {
+		final long start = System.currentTimeMillis();
+		final UserSaveEvent event = Profiler.isSupported() ? new UserSaveEvent() : null;
+		if (event != null) {
+			event.begin();
+		}
+		Log.debug("Starting async save...");
+		int saved = 0;
+		PvPlayer player;
+		while ((player = playersToSave.poll()) != null) {
+			saveUser(player);
+			saved++;
+		}
+		saveUsersToDisk();
+		lastSaveDuration = System.currentTimeMillis() - start;
+		if (event != null && event.shouldCommit()) {
+			event.players = saved;
+			event.commit();
+		}
+		Log.debug("Finished async save - " + lastSaveDuration + " ms");
+	}
+
 	public void awaitSave() {
 		try {
-			while (!playersToSave.isEmpty()) {
+			// The queue stays busy until the last players are written, the task a bit longer
+			while (true) {
+				final boolean idle = playersToSave.isIdle();
+				final Future<?> task = lastTask;
+				final boolean running = task != null && !task.isDone();
+				if (idle && !running) {
+					break;
+				}
+				// Busy but its save isn't submitted yet, the task is still missing or the finished one
+				if (!running) {
+					Thread.yield();
+					continue;
+				}
 				final long start = System.currentTimeMillis();
 				Log.debug("Awaiting save...");
-				lastTask.get();
+				task.get();
 				Log.debug("Finished awaiting - " + (System.currentTimeMillis() - start) + " ms");
 			}
 		} catch (final InterruptedException e) {
@@ -229,10 +294,13 @@ public class ConfigManager {
 	}
 
 	private void saveUsersToDisk() {
+		final long start = Timing.start();
 		try {
 			users.save(usersFile);
 		} catch (final IOException e) {
 			e.printStackTrace();
+		} finally {
+			Timing.SAVE_USERS_FILE.record(start);
 		}
 	}
 
@@ -240,10 +308,33 @@ public class ConfigManager {
 		return config;
 	}
 
+	public final int getSaveQueueSize() {
+		return playersToSave.size();
+	}
+
+	public final long getLastSaveDuration() {
+		return lastSaveDuration;
+	}
+
 	public LogFile getLog() {
 		return log;
 	}
 
+	public void closeLog() {
+		if (log != null) {
+			log.close();
+		}
+	}
+
+	/**
+	 * Writes the players still waiting to be saved, then stops the save thread and closes the combat log
+	 */
+	public void close() {
+		awaitSave();
+		executor.shutdown();
+		closeLog();
+	}
+
 	public Map<String, Object> getUserData(final UUID uuid) {
 		return getUserStorage().getConfigurationSection(uuid.toString()).getValues(false);
 	}
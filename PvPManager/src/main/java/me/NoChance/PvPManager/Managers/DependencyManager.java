@@ -1,12 +1,15 @@
 package me.NoChance.PvPManager.Managers;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
 
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
+import org.bukkit.event.HandlerList;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import me.NoChance.PvPManager.Dependencies.BaseDependency;
@@ -28,8 +31,12 @@ import me.NoChance.PvPManager.Dependencies.Hooks.SimpleClansHook;
 import me.NoChance.PvPManager.Dependencies.Hooks.VaultHook;
 import me.NoChance.PvPManager.Dependencies.Hooks.WorldGuardLegacyHook;
 import me.NoChance.PvPManager.Dependencies.Hooks.WorldGuardModernHook;
+import me.NoChance.PvPManager.Diagnostics.LatencyHistogram;
+import me.NoChance.PvPManager.Diagnostics.Profiler;
+import me.NoChance.PvPManager.Diagnostics.RegionLookupEvent;
 import me.NoChance.PvPManager.Listeners.PlayerMoveListener;
 import me.NoChance.PvPManager.Settings.Settings;
+import me.NoChance.PvPManager.Utils.Capabilities;
 import me.NoChance.PvPManager.Utils.CombatUtils;
 import me.NoChance.PvPManager.Utils.Log;
 import net.milkbowl.vault.economy.Economy;
@@ -42,8 +49,14 @@ public class DependencyManager {
 	private final ArrayList<GodDependency> godChecks = new ArrayList<>();
 	private final ArrayList<DisguiseDependency> disguiseChecks = new ArrayList<>();
 	private final ArrayList<WarDependency> warChecks = new ArrayList<>();
+	private final EnumMap<Hook, LatencyHistogram> hookLatencies = new EnumMap<>(Hook.class);
+	private final EnumSet<Hook> disabledHooks = EnumSet.noneOf(Hook.class);
+	private PlayerMoveListener moveListener;
 
 	public DependencyManager() {
+		for (final Hook hook : Hook.values()) {
+			hookLatencies.put(hook, new LatencyHistogram());
+		}
 		setupHooks();
 		if (Bukkit.getPluginManager().getPlugin("GriefPrevention") != null) {
 			Log.warning("GriefPrevention has been detected. GriefPrevention has some combat features without showing any feedback messages. "
@@ -59,7 +72,7 @@ public class DependencyManager {
 					if (hook.getDisabledWarning() != null) {
 						Log.warning(hook.getDisabledWarning());
 					}
-					hook.getDisabledAction().run();
+					disable(hook);
 					continue;
 				}
 				attemptHookingInto(hook);
@@ -68,7 +81,7 @@ public class DependencyManager {
 				Log.warning(hook + " support disabled");
 			} catch (final DependencyException e) {
 				Log.warning(e.getMessage());
-				hook.getDisabledAction().run();
+				disable(hook);
 			} catch (final ExceptionInInitializerError e) {
 				// Ignore, only here for unit tests
 				Log.warning("Exception initializing " + hook);
@@ -79,6 +92,30 @@ public class DependencyManager {
 		}
 	}
 
+	private void disable(final Hook hook) {
+		disabledHooks.add(hook);
+		hook.getDisabledAction().run();
+	}
+
+	/**
+	 * Turns off again what the missing hooks and the server version turned off, for a config that is being loaded
+	 */
+	public void disableUnsupported() {
+		for (final Hook hook : disabledHooks) {
+			hook.getDisabledAction().run();
+		}
+		if (!Capabilities.BORDER_PUSHBACK) {
+			Settings.setBorderHoppingPushback(false);
+		}
+	}
+
+	/**
+	 * Settings were reloaded, follows the border hopping pushback setting. Hooks themselves are kept as they are.
+	 */
+	public void reload(final PlayerHandler ph) {
+		updateMoveListener(ph);
+	}
+
 	private void attemptHookingInto(final Hook hook) {
 		switch (hook) {
 		case FACTIONS:
@@ -120,15 +157,42 @@ public class DependencyManager {
 	}
 
 	public final boolean canAttack(final Player attacker, final Player defender) {
-		for (final PvPDependency pvPlugin : attackChecks)
-			if (!pvPlugin.canAttack(attacker, defender))
-				return false;
-		return true;
+		return getAttackBlocker(attacker, defender) == null;
+	}
+
+	/**
+	 * @return the first hook that doesn't allow the attack, or null if all of them do
+	 */
+	public final Hook getAttackBlocker(final Player attacker, final Player defender) {
+		for (final PvPDependency pvPlugin : attackChecks) {
+			final long start = startCall();
+			final boolean canAttack = pvPlugin.canAttack(attacker, defender);
+			recordCall(pvPlugin, start);
+			if (!canAttack)
+				return pvPlugin.getHook();
+		}
+		return null;
 	}
 
 	public final boolean canAttackAt(final Player p, final Location l) {
 		for (final RegionDependency regionPlugin : regionChecks) {
-			if (!regionPlugin.canAttackAt(p, l))
+			final long start = startCall();
+			final RegionLookupEvent event = Profiler.isSupported() ? new RegionLookupEvent() : null;
+			if (event != null) {
+				event.begin();
+			}
+			final boolean canAttack = regionPlugin.canAttackAt(p, l);
+			recordCall(regionPlugin, start);
+			if (event != null && event.shouldCommit()) {
+				event.hook = regionPlugin.getHook().name();
+				event.world = l.getWorld() != null ? l.getWorld().getName() : null;
+				event.x = l.getBlockX();
+				event.y = l.getBlockY();
+				event.z = l.getBlockZ();
+				event.allowed = canAttack;
+				event.commit();
+			}
+			if (!canAttack)
 				return false;
 		}
 		return true;
@@ -136,39 +200,84 @@ public class DependencyManager {
 
 	public final void disableGodMode(final Player p) {
 		for (final GodDependency godPlugin : godChecks) {
+			final long start = startCall();
 			if (godPlugin.hasGodMode(p)) {
 				godPlugin.removeGodMode(p);
 			}
+			recordCall(godPlugin, start);
 		}
 	}
 
 	public final void disableDisguise(final Player p) {
 		for (final DisguiseDependency disguisePlugin : disguiseChecks) {
+			final long start = startCall();
 			if (disguisePlugin.isDisguised(p)) {
 				disguisePlugin.unDisguise(p);
 			}
+			recordCall(disguisePlugin, start);
 		}
 	}
 
 	public final boolean shouldDisableProtection(final Player attacker, final Player defender) {
+		return getWarHook(attacker, defender) != null;
+	}
+
+	/**
+	 * @return the first hook that has both players at war, or null if none does
+	 */
+	public final Hook getWarHook(final Player attacker, final Player defender) {
 		for (final WarDependency warPlugin : warChecks) {
-			if (warPlugin.isInWar(attacker, defender))
-				return true;
+			final long start = startCall();
+			final boolean inWar = warPlugin.isInWar(attacker, defender);
+			recordCall(warPlugin, start);
+			if (inWar)
+				return warPlugin.getHook();
+		}
+		return null;
+	}
+
+	// Only JMX and Prometheus read the hook latencies, without them the calls aren't timed
+	private static long startCall() {
+		return Settings.isPrometheus() || Settings.isJMX() ? System.nanoTime() : 0;
+	}
+
+	private void recordCall(final Dependency dependency, final long start) {
+		if (start != 0) {
+			hookLatencies.get(dependency.getHook()).record(System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * @return the time spent in each enabled hook's checks since the plugin was enabled
+	 */
+	public Map<Hook, LatencyHistogram> getHookLatencies() {
+		final Map<Hook, LatencyHistogram> latencies = new EnumMap<>(Hook.class);
+		for (final Hook hook : dependencies.keySet()) {
+			latencies.put(hook, hookLatencies.get(hook));
 		}
-		return false;
+		return latencies;
 	}
 
 	public void startListeners(final PlayerHandler ph) {
-		if (Settings.borderHoppingPushback() && !regionChecks.isEmpty()) {
-			if (CombatUtils.isVersionAtLeast(Settings.getMinecraftVersion(), "1.8")) {
-				Bukkit.getPluginManager().registerEvents(new PlayerMoveListener(ph), ph.getPlugin());
+		updateMoveListener(ph);
+		if (isDependencyEnabled(Hook.WORLDGUARD)) {
+			((WorldGuardHook) getDependency(Hook.WORLDGUARD)).startListener(ph);
+		}
+	}
+
+	private void updateMoveListener(final PlayerHandler ph) {
+		final boolean pushback = Settings.borderHoppingPushback() && !regionChecks.isEmpty();
+		if (pushback && moveListener == null) {
+			if (Capabilities.BORDER_PUSHBACK) {
+				moveListener = new PlayerMoveListener(ph);
+				Bukkit.getPluginManager().registerEvents(moveListener, ph.getPlugin());
 			} else {
 				Log.warning("Pushback on border hopping not available for 1.7.10 or below! Feature disabled!");
 				Settings.setBorderHoppingPushback(false);
 			}
-		}
-		if (isDependencyEnabled(Hook.WORLDGUARD)) {
-			((WorldGuardHook) getDependency(Hook.WORLDGUARD)).startListener(ph);
+		} else if (!pushback && moveListener != null) {
+			HandlerList.unregisterAll(moveListener);
+			moveListener = null;
 		}
 	}
 
@@ -2,33 +2,155 @@ package me.NoChance.PvPManager.Managers;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bukkit.Bukkit;
+import org.bukkit.boss.BarColor;
+import org.bukkit.boss.BarStyle;
+import org.bukkit.boss.BossBar;
+import org.bukkit.entity.Player;
 
 import me.NoChance.PvPManager.PvPManager;
 import me.NoChance.PvPManager.PvPlayer;
 import me.NoChance.PvPManager.Settings.Settings;
+import me.NoChance.PvPManager.Utils.Capabilities;
+import me.NoChance.PvPManager.Utils.Log;
 import me.NoChance.PvPManager.Utils.ProgressBar;
 
 public class DisplayManager {
 
 	private final Map<Integer, ProgressBar> actionBars = new HashMap<>();
+	// One shared boss bar per second left in combat, players move between them as their timer ticks down
+	private final Map<Integer, BossBar> bossBars = new HashMap<>();
+	private final Map<UUID, BossBar> playerBossBars = new ConcurrentHashMap<>();
 	private final PvPManager plugin;
 
 	public DisplayManager(final PvPManager plugin) {
 		this.plugin = plugin;
 		setupActionBar();
+		setupBossBar();
 	}
-	
+
+	/**
+	 * Rebuilds the progress bars from the current settings, only called while the tag task isn't sweeping
+	 */
+	public void reload() {
+		discardAllBossBars();
+		actionBars.clear();
+		bossBars.clear();
+		setupActionBar();
+		setupBossBar();
+	}
+
+	/**
+	 * Turns off again what the server version turned off, for a config that is being loaded
+	 */
+	public void disableUnsupported() {
+		if (!Capabilities.BOSS_BARS) {
+			Settings.setBossBarEnabled(false);
+		}
+	}
+
 	private void setupActionBar() {
-		if (Settings.getActionBarMessage().isEmpty()) 
+		if (Settings.getActionBarMessage().isEmpty())
 			return;
-		
+
 		for (int i = 0; i < Settings.getTimeInCombat() + 1; i++) {
 			actionBars.put(i, new ProgressBar(Settings.getActionBarMessage(), Settings.getActionBarBars(), Settings.getTimeInCombat(), Settings.getActionBarSymbol(), i));
 		}
 	}
 
+	private void setupBossBar() {
+		if (!Settings.isBossBarEnabled())
+			return;
+		if (!Capabilities.BOSS_BARS) {
+			Log.warning("Boss bar for the combat timer is only available for 1.9+! Feature disabled!");
+			Settings.setBossBarEnabled(false);
+			return;
+		}
+
+		final BarColor color = getBarColor();
+		final BarStyle style = getBarStyle();
+		final int goal = Settings.getTimeInCombat();
+		for (int i = 0; i < goal + 1; i++) {
+			final int timeLeft = goal - i;
+			final BossBar bossBar = Bukkit.createBossBar(Settings.getBossBarMessage().replace("<time>", Integer.toString(timeLeft)), color, style);
+			bossBar.setProgress(goal == 0 ? 0 : (double) timeLeft / goal);
+			bossBars.put(i, bossBar);
+		}
+	}
+
+	private BarColor getBarColor() {
+		try {
+			return BarColor.valueOf(Settings.getBossBarColor());
+		} catch (final IllegalArgumentException e) {
+			Log.warning("Boss bar color '" + Settings.getBossBarColor() + "' does not exist! Using RED instead");
+			return BarColor.RED;
+		}
+	}
+
+	private BarStyle getBarStyle() {
+		try {
+			return BarStyle.valueOf(Settings.getBossBarStyle());
+		} catch (final IllegalArgumentException e) {
+			Log.warning("Boss bar style '" + Settings.getBossBarStyle() + "' does not exist! Using SOLID instead");
+			return BarStyle.SOLID;
+		}
+	}
+
+	/**
+	 * Called from the tag task's timer thread, the bars are picked here and shown on the player's own thread
+	 */
 	public void showProgress(final PvPlayer p, final double timePassed) {
-		p.sendActionBar(actionBars.get((int) (timePassed + 0.5)).getMessage());
+		final int secondsPassed = (int) (timePassed + 0.5);
+		final ProgressBar actionBar = actionBars.get(secondsPassed);
+		final BossBar bossBar = bossBars.get(secondsPassed);
+		final BossBar previous = bossBar == null ? null : playerBossBars.put(p.getUUID(), bossBar);
+		if (actionBar == null && previous == bossBar)
+			return;
+		final Player player = p.getPlayer();
+		if (player == null) {
+			discardBossBar(p);
+			return;
+		}
+		plugin.getScheduler().run(player, () -> {
+			if (previous != null && previous != bossBar) {
+				previous.removePlayer(player);
+			}
+			if (!player.isOnline()) {
+				if (bossBar != null) {
+					playerBossBars.remove(p.getUUID(), bossBar);
+				}
+				return;
+			}
+			if (actionBar != null) {
+				p.sendActionBar(actionBar.getMessage());
+			}
+			// A reload or untag since the sweep dropped this bar, adding the player would leave it on screen for good
+			if (bossBar != null && previous != bossBar && playerBossBars.get(p.getUUID()) == bossBar) {
+				bossBar.addPlayer(player);
+			}
+		});
+	}
+
+	public void discardBossBar(final PvPlayer p) {
+		final BossBar bossBar = playerBossBars.remove(p.getUUID());
+		final Player player = p.getPlayer();
+		if (bossBar != null && player != null) {
+			plugin.getScheduler().run(player, () -> bossBar.removePlayer(player));
+		}
+	}
+
+	public void discardAllBossBars() {
+		for (final BossBar bossBar : bossBars.values()) {
+			bossBar.removeAll();
+		}
+		playerBossBars.clear();
+	}
+
+	public boolean isProgressEnabled() {
+		return !actionBars.isEmpty() || !bossBars.isEmpty();
 	}
 
 	public PvPManager getPlugin() {
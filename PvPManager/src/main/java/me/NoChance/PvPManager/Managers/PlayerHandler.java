@@ -1,12 +1,14 @@
 package me.NoChance.PvPManager.Managers;
 
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.bukkit.event.entity.PlayerDeathEvent;
 import org.bukkit.inventory.ItemStack;
@@ -17,23 +19,40 @@ import me.NoChance.PvPManager.PvPManager;
 import me.NoChance.PvPManager.PvPlayer;
 import me.NoChance.PvPManager.Dependencies.Hook;
 import me.NoChance.PvPManager.Dependencies.WorldGuardHook;
+import me.NoChance.PvPManager.Diagnostics.AttackEvent;
+import me.NoChance.PvPManager.Diagnostics.Counter;
+import me.NoChance.PvPManager.Diagnostics.DecisionTrace;
+import me.NoChance.PvPManager.Diagnostics.DecisionTrace.Check;
+import me.NoChance.PvPManager.Diagnostics.DecisionTrace.Decision;
+import me.NoChance.PvPManager.Diagnostics.Profiler;
+import me.NoChance.PvPManager.Diagnostics.RegionLookupEvent;
+import me.NoChance.PvPManager.Diagnostics.Timing;
 import me.NoChance.PvPManager.Events.PlayerCombatLogEvent;
 import me.NoChance.PvPManager.Player.CancelResult;
-import me.NoChance.PvPManager.Settings.Messages;
+import me.NoChance.PvPManager.Settings.MessageKey;
 import me.NoChance.PvPManager.Settings.Settings;
 import me.NoChance.PvPManager.Tasks.CleanKillersTask;
 import me.NoChance.PvPManager.Tasks.TagTask;
+import me.NoChance.PvPManager.Tasks.TaskScheduler.Task;
+import me.NoChance.PvPManager.Tasks.TickWatchdog;
 import me.NoChance.PvPManager.Utils.CombatUtils;
+import me.NoChance.PvPManager.Utils.Log;
 
 public class PlayerHandler {
 
-	private final HashMap<UUID, PvPlayer> players = new HashMap<>();
-	private static final HashSet<UUID> newbiesDisabled = new HashSet<>();
+	// Read and written from every region thread on region threaded servers
+	private final Map<UUID, PvPlayer> players = new ConcurrentHashMap<>();
+	private static final Set<UUID> newbiesDisabled = ConcurrentHashMap.newKeySet();
 	private final ConfigManager configManager;
 	private final DependencyManager dependencyManager;
 	private final PvPManager plugin;
 	private final TagTask tagTask;
+	private final LongAdder cacheHits = new LongAdder();
+	private final LongAdder cacheMisses = new LongAdder();
 	private final WorldGuardHook worldguard;
+	private volatile DecisionTrace decisionTrace;
+	private Task cleanKillersTask;
+	private Task tickWatchdog;
 
 	public PlayerHandler(final PvPManager plugin) {
 		this.plugin = plugin;
@@ -41,36 +60,155 @@ public class PlayerHandler {
 		this.dependencyManager = plugin.getDependencyManager();
 		this.tagTask = new TagTask(plugin.getDisplayManager());
 		this.worldguard = (WorldGuardHook) dependencyManager.getDependency(Hook.WORLDGUARD);
-		if (Settings.isKillAbuseEnabled()) {
-			new CleanKillersTask(this).runTaskTimer(plugin, 0, Settings.getKillAbuseTime() * 20);
-		}
+		this.decisionTrace = new DecisionTrace(Settings.isDecisionTrace(), Settings.getDecisionTraceSize());
+		checkNametags();
+		startTasks();
 
 		addOnlinePlayers();
 	}
 
+	/**
+	 * Applies reloaded settings to the tasks and the decision trace, players and their combat tags are kept
+	 */
+	public final void reload() {
+		if (cleanKillersTask != null) {
+			cleanKillersTask.cancel();
+			cleanKillersTask = null;
+		}
+		if (tickWatchdog != null) {
+			tickWatchdog.cancel();
+			tickWatchdog = null;
+			TickWatchdog.reset();
+		}
+		startTasks();
+		if (decisionTrace.isEnabled() != Settings.isDecisionTrace() || decisionTrace.size() != Math.max(1, Settings.getDecisionTraceSize())) {
+			decisionTrace = new DecisionTrace(Settings.isDecisionTrace(), Settings.getDecisionTraceSize());
+		}
+		tagTask.reload();
+	}
+
+	private void checkNametags() {
+		if (plugin.getScheduler().isRegionThreaded() && (Settings.isUseCombatTeam() || Settings.isToggleNametagsEnabled())) {
+			Log.warning("Colored nametags are not available on region threaded servers! Feature disabled!");
+			Settings.setUseCombatTeam(false);
+			Settings.setToggleNametagsEnabled(false);
+		}
+	}
+
+	private void startTasks() {
+		if (Settings.isKillAbuseEnabled()) {
+			cleanKillersTask = plugin.getScheduler().runTimer(new CleanKillersTask(this), 0, Settings.getKillAbuseTime() * 20);
+		}
+		if (Settings.isLoadShedding()) {
+			tickWatchdog = plugin.getScheduler().runTimer(new TickWatchdog(), 1, 1);
+		}
+	}
+
 	public final CancelResult tryCancel(final Player damager, final Player defender) {
+		final long start = Timing.start();
+		final AttackEvent event = Profiler.isSupported() ? new AttackEvent() : null;
+		if (event != null) {
+			event.begin();
+		}
+		try {
+			final DecisionTrace trace = decisionTrace;
+			final Decision decision = trace.isEnabled() ? trace.next() : null;
+			final CancelResult result = checkCancel(damager, defender, decision);
+			if (decision != null) {
+				decision.time = System.currentTimeMillis();
+				decision.attacker = damager.getName();
+				decision.defender = defender.getName();
+				decision.result = result;
+				decision.attackerCaused = result.attackerCaused();
+			}
+			plugin.getCombatJournal().attack(damager, defender, result);
+			Counter.attack(result);
+			if (event != null && event.shouldCommit()) {
+				event.attacker = damager.getName();
+				event.defender = defender.getName();
+				event.result = result.name();
+				event.world = defender.getWorld().getName();
+				event.commit();
+			}
+			return result;
+		} finally {
+			Timing.TRY_CANCEL.record(start);
+		}
+	}
+
+	/**
+	 * @param decision where to record which check decided, or null if the decision trace is disabled
+	 */
+	private CancelResult checkCancel(final Player damager, final Player defender, final Decision decision) {
 		final PvPlayer attacker = get(damager);
 		final PvPlayer attacked = get(defender);
-		if (attacker.hasOverride() || Settings.borderHoppingVulnerable() && canAttackHooks(attacker, attacked))
+		if (attacker.hasOverride()) {
+			trace(decision, Check.OVERRIDE, null);
 			return CancelResult.FAIL_OVERRIDE;
-		if (attacked.hasRespawnProtection() || attacker.hasRespawnProtection())
-			return CancelResult.RESPAWN_PROTECTION.setAttackerCaused(attacker.hasRespawnProtection());
-		if (attacked.isNewbie() || attacker.isNewbie())
-			return CancelResult.NEWBIE.setAttackerCaused(attacker.isNewbie());
+		}
+		Hook blocker = null;
+		if (Settings.borderHoppingVulnerable() && attacker.isInCombat() && attacked.isInCombat()) {
+			blocker = dependencyManager.getAttackBlocker(damager, defender);
+			if (blocker == null) {
+				trace(decision, Check.BORDER_HOPPING, null);
+				return CancelResult.FAIL_OVERRIDE;
+			}
+		}
+		if (attacked.hasRespawnProtection() || attacker.hasRespawnProtection()) {
+			trace(decision, Check.RESPAWN_PROTECTION, blocker);
+			return attacker.hasRespawnProtection() ? CancelResult.ATTACKER_RESPAWN_PROTECTION : CancelResult.RESPAWN_PROTECTION;
+		}
+		if (attacked.isNewbie() || attacker.isNewbie()) {
+			trace(decision, Check.NEWBIE, blocker);
+			return attacker.isNewbie() ? CancelResult.ATTACKER_NEWBIE : CancelResult.NEWBIE;
+		}
 		if (!attacker.hasPvPEnabled() || !attacked.hasPvPEnabled()) {
-			if (Settings.isWorldguardOverrides() && worldguard != null
-			        && (worldguard.containsRegionsAt(defender.getLocation(), Settings.getWorldguardOverridesList()) || worldguard.hasAllowPvPFlag(defender))) {
+			if (Settings.isWorldguardOverrides() && worldguard != null && hasWorldGuardOverride(defender)) {
 				attacker.setPvP(true);
 				attacked.setPvP(true);
-				attacker.message(Messages.getPvpForceEnabledWG());
-				attacked.message(Messages.getPvpForceEnabledWG());
-			} else if (dependencyManager.shouldDisableProtection(damager, defender))
-				return CancelResult.FAIL;
-			return CancelResult.PVPDISABLED.setAttackerCaused(!attacker.hasPvPEnabled());
+				attacker.throttledMessage(MessageKey.PVP_FORCE_ENABLED_WG);
+				attacked.throttledMessage(MessageKey.PVP_FORCE_ENABLED_WG);
+				trace(decision, Check.WORLDGUARD_OVERRIDE, Hook.WORLDGUARD);
+			} else {
+				final Hook war = dependencyManager.getWarHook(damager, defender);
+				if (war != null) {
+					trace(decision, Check.WAR, war);
+					return CancelResult.FAIL;
+				}
+				trace(decision, Check.PVP_DISABLED, blocker);
+			}
+			return attacker.hasPvPEnabled() ? CancelResult.PVPDISABLED : CancelResult.ATTACKER_PVPDISABLED;
 		}
+		trace(decision, Check.ALLOWED, blocker);
 		return CancelResult.FAIL;
 	}
 
+	private boolean hasWorldGuardOverride(final Player defender) {
+		final Location l = defender.getLocation();
+		final RegionLookupEvent event = Profiler.isSupported() ? new RegionLookupEvent() : null;
+		if (event != null) {
+			event.begin();
+		}
+		final boolean override = worldguard.containsRegionsAt(l, Settings.getWorldguardOverridesList()) || worldguard.hasAllowPvPFlag(defender);
+		if (event != null && event.shouldCommit()) {
+			event.hook = Hook.WORLDGUARD.name();
+			event.world = l.getWorld() != null ? l.getWorld().getName() : null;
+			event.x = l.getBlockX();
+			event.y = l.getBlockY();
+			event.z = l.getBlockZ();
+			event.allowed = override;
+			event.commit();
+		}
+		return override;
+	}
+
+	private static void trace(final Decision decision, final Check check, final Hook hook) {
+		if (decision != null) {
+			decision.check = check;
+			decision.hook = hook;
+		}
+	}
+
 	/**
 	 * Use this method to check PvP instead of using {@link PlayerHandler#tryCancel(Player, Player)}
 	 * This method will not be changed while the previous might change at any time.
@@ -87,22 +225,22 @@ public class PlayerHandler {
 		return cr.equals(CancelResult.FAIL) || cr.equals(CancelResult.FAIL_OVERRIDE);
 	}
 
-	private boolean canAttackHooks(final PvPlayer attacker, final PvPlayer defender) {
-		if (attacker.isInCombat() && defender.isInCombat())
-			return dependencyManager.canAttack(attacker.getPlayer(), defender.getPlayer());
-		return false;
+	private void addOnlinePlayers() {
+		if (!plugin.getScheduler().isRegionThreaded()) {
+			removeCombatTeams();
+		}
+		for (final Player p : plugin.getServer().getOnlinePlayers()) {
+			get(p);
+		}
+		newbiesDisabled.clear();
 	}
 
-	private void addOnlinePlayers() {
+	private void removeCombatTeams() {
 		for (final Team team : Bukkit.getScoreboardManager().getMainScoreboard().getTeams()) {
 			if (team.getName().startsWith("PVP-") && team.getName().length() == 16) {
 				team.unregister();
 			}
 		}
-		for (final Player p : plugin.getServer().getOnlinePlayers()) {
-			get(p);
-		}
-		newbiesDisabled.clear();
 	}
 
 	/**
@@ -111,7 +249,12 @@ public class PlayerHandler {
 	 */
 	public final PvPlayer get(final Player player) {
 		final PvPlayer pvPlayer = players.get(player.getUniqueId());
-		return pvPlayer != null ? pvPlayer : addUser(new PvPlayer(player, plugin));
+		if (pvPlayer != null) {
+			cacheHits.increment();
+			return pvPlayer;
+		}
+		cacheMisses.increment();
+		return addUser(new PvPlayer(player, plugin));
 	}
 
 	private PvPlayer addUser(final PvPlayer p) {
@@ -212,8 +355,10 @@ public class PlayerHandler {
 			configManager.markForSave(p);
 			p.cleanForRemoval();
 		}
-		removeTeams();
-		configManager.awaitSave();
+		if (!plugin.getScheduler().isRegionThreaded()) {
+			removeTeams();
+		}
+		configManager.close();
 	}
 
 	private final void removeTeams() {
@@ -244,6 +389,22 @@ public class PlayerHandler {
 		return tagTask.getTaggedPlayers();
 	}
 
+	public final int getTaggedCount() {
+		return tagTask.getTaggedCount();
+	}
+
+	public final long getCacheHits() {
+		return cacheHits.sum();
+	}
+
+	public final long getCacheMisses() {
+		return cacheMisses.sum();
+	}
+
+	public final DecisionTrace getDecisionTrace() {
+		return decisionTrace;
+	}
+
 	public static boolean isRemovedNewbie(final PvPlayer p) {
 		return newbiesDisabled.contains(p.getUUID());
 	}
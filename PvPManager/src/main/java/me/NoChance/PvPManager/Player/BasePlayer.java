@@ -5,15 +5,22 @@ import java.util.UUID;
 
 import org.bukkit.entity.Player;
 
+import me.NoChance.PvPManager.Settings.Locale;
+import me.NoChance.PvPManager.Settings.MessageBundle;
+import me.NoChance.PvPManager.Settings.MessageKey;
+import me.NoChance.PvPManager.Settings.Messages;
 import me.NoChance.PvPManager.Settings.Settings;
-import me.NoChance.PvPManager.Utils.CombatUtils;
+import me.NoChance.PvPManager.Utils.Capabilities;
 import net.md_5.bungee.api.ChatMessageType;
+import net.md_5.bungee.api.chat.BaseComponent;
 import net.md_5.bungee.api.chat.TextComponent;
 
 public abstract class BasePlayer {
 
 	private WeakReference<Player> player;
 	private final UUID uuid;
+	private volatile Locale locale;
+	private final MessageThrottle throttle = new MessageThrottle();
 
 	protected BasePlayer(final Player player) {
 		this.player = new WeakReference<>(player);
@@ -46,10 +53,87 @@ public abstract class BasePlayer {
 		}
 	}
 
+	public final void message(final MessageKey key) {
+		message(getMessages().get(key));
+	}
+
+	public final void message(final MessageKey key, final String value) {
+		message(getMessages().render(key, value));
+	}
+
+	public final void message(final MessageKey key, final String first, final String second) {
+		message(getMessages().render(key, first, second));
+	}
+
+	/**
+	 * Same as {@link #message(MessageKey)} but repeats within the throttle interval are dropped
+	 */
+	public final void throttledMessage(final MessageKey key) {
+		sendThrottled(key, getMessages().get(key), null);
+	}
+
+	public final void throttledMessage(final MessageKey key, final String value) {
+		sendThrottled(key, getMessages().render(key, value), null);
+	}
+
+	/**
+	 * Same as {@link #throttledMessage(MessageKey, String)} but only sent the first time for the scope, like once per potion cloud
+	 */
+	public final void throttledMessage(final MessageKey key, final String value, final Object scope) {
+		sendThrottled(key, getMessages().render(key, value), scope);
+	}
+
+	private void sendThrottled(final MessageKey key, final String message, final Object scope) {
+		final int dropped = throttle.pass(key, message, scope);
+		if (dropped < 0)
+			return;
+		if (dropped > 0 && Settings.isMessageThrottleCount()) {
+			message(MessageKey.MESSAGE_THROTTLE_COUNT, message, Integer.toString(dropped + 1));
+		} else {
+			message(message);
+		}
+	}
+
+	public final void throttledActionBar(final MessageKey key) {
+		if (throttle.pass(key, getMessages().get(key)) >= 0) {
+			sendActionBar(key);
+		}
+	}
+
+	public final void throttledActionBar(final MessageKey key, final String value) {
+		final String message = getMessages().render(key, value);
+		if (throttle.pass(key, message) >= 0) {
+			sendActionBar(message);
+		}
+	}
+
 	public void sendActionBar(final String message) {
-		if (CombatUtils.isVersionAtLeast(Settings.getMinecraftVersion(), "1.10") && !message.isEmpty()) { // Premium PvPManager supports lower versions with NMS
+		if (Capabilities.ACTION_BARS && !message.isEmpty()) { // Premium PvPManager supports lower versions with NMS
 			getPlayer().spigot().sendMessage(ChatMessageType.ACTION_BAR, new TextComponent(message));
 		}
 	}
 
+	public void sendActionBar(final MessageKey key) {
+		final BaseComponent[] components = getMessages().getComponents(key);
+		if (components != null && Capabilities.ACTION_BARS) {
+			getPlayer().spigot().sendMessage(ChatMessageType.ACTION_BAR, components);
+		}
+	}
+
+	public void sendActionBar(final MessageKey key, final String value) {
+		sendActionBar(getMessages().render(key, value));
+	}
+
+	public final MessageBundle getMessages() {
+		return Messages.getBundle(locale);
+	}
+
+	public final Locale getLocale() {
+		return locale;
+	}
+
+	protected final void setLocale(final Locale locale) {
+		this.locale = locale;
+	}
+
 }
@@ -1,17 +1,22 @@
 package me.NoChance.PvPManager.Player;
 
 public enum CancelResult {
-	NEWBIE, PVPDISABLED, RESPAWN_PROTECTION, FAIL, FAIL_OVERRIDE;
+	NEWBIE, PVPDISABLED, RESPAWN_PROTECTION, FAIL, FAIL_OVERRIDE,
+	// Cancelled because of the attacker's own status, last so the ordinals stored in combat journals keep their meaning
+	ATTACKER_NEWBIE(true), ATTACKER_PVPDISABLED(true), ATTACKER_RESPAWN_PROTECTION(true);
 
-	private boolean isAttacker;
+	private final boolean attackerCaused;
 
-	// If the attack was cancelled because of the attacker status or not
-	public boolean attackerCaused() {
-		return isAttacker;
+	CancelResult() {
+		this(false);
+	}
+
+	CancelResult(final boolean attackerCaused) {
+		this.attackerCaused = attackerCaused;
 	}
 
-	public CancelResult setAttackerCaused(final boolean attacker) {
-		isAttacker = attacker;
-		return this;
+	// If the attack was cancelled because of the attacker status or not
+	public boolean attackerCaused() {
+		return attackerCaused;
 	}
 }
@@ -4,7 +4,7 @@ import java.text.DecimalFormat;
 
 import org.bukkit.entity.Player;
 
-import me.NoChance.PvPManager.Settings.Messages;
+import me.NoChance.PvPManager.Settings.MessageKey;
 import me.NoChance.PvPManager.Settings.Settings;
 import net.milkbowl.vault.economy.Economy;
 
@@ -35,7 +35,7 @@ public abstract class EcoPlayer extends BasePlayer {
 	public final void applyPenalty() {
 		final double penalty = getMoneyPercentage(Settings.getMoneyPenalty());
 		withdrawMoney(penalty);
-		message(Messages.getMoneyPenalty().replace("%m", df.format(penalty)));
+		message(MessageKey.MONEY_PENALTY, df.format(penalty));
 	}
 
 	public final void giveReward(final EcoPlayer victim) {
@@ -48,10 +48,10 @@ public abstract class EcoPlayer extends BasePlayer {
 				moneyWon = vbalance;
 			}
 			victim.withdrawMoney(moneyWon);
-			victim.message(Messages.getMoneySteal().replace("%p", getPlayer().getName()).replace("%m", df.format(moneyWon)));
+			victim.message(MessageKey.MONEY_STEAL, getPlayer().getName(), df.format(moneyWon));
 		}
 		depositMoney(moneyWon);
-		message(Messages.getMoneyReward().replace("%m", df.format(moneyWon)).replace("%p", victim.getPlayer().getName()));
+		message(MessageKey.MONEY_REWARD, df.format(moneyWon), victim.getPlayer().getName());
 	}
 
 	private double getMoneyPercentage(final double percentage) {
@@ -0,0 +1,109 @@
+package me.NoChance.PvPManager.Player;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import me.NoChance.PvPManager.Settings.MessageKey;
+import me.NoChance.PvPManager.Settings.Settings;
+import me.NoChance.PvPManager.Utils.Clock;
+
+/**
+ * Drops repeats of the same message sent to one player within the configured interval.
+ * Each message is throttled by its key and rendered text, so hitting two protected players in turn throttles both,
+ * and the next message that gets through can show how many repeats were dropped since the last one.
+ * A message can also be sent once per scope, like a potion cloud that applies every few ticks, whatever the interval.
+ */
+public class MessageThrottle {
+
+	// Tag and untag messages report a real change, they are never dropped
+	private static final Set<MessageKey> EXEMPT = EnumSet.of(MessageKey.TAGGED_ATTACKER, MessageKey.TAGGED_ATTACKER_ACTIONBAR, MessageKey.TAGGED_DEFENDER,
+	        MessageKey.TAGGED_DEFENDER_ACTIONBAR, MessageKey.OUT_OF_COMBAT, MessageKey.OUT_OF_COMBAT_ACTIONBAR);
+	// The least recently sent messages are forgotten first
+	public static final int MAX_ENTRIES = 32;
+
+	private final Map<Entry, Entry> entries = new LinkedHashMap<Entry, Entry>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<Entry, Entry> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	};
+	// Reused for every lookup, the hit path doesn't allocate unless the message is new
+	private final Entry lookup = new Entry(null, null, null);
+
+	/**
+	 * @return -1 if the message should be dropped, otherwise how many repeats of it were dropped since it was last sent
+	 */
+	public int pass(final MessageKey key, final String message) {
+		return pass(key, message, null);
+	}
+
+	/**
+	 * @param scope if not null, the message is only sent the first time for it
+	 * @return -1 if the message should be dropped, otherwise how many repeats of it were dropped since it was last sent
+	 */
+	public synchronized int pass(final MessageKey key, final String message, final Object scope) {
+		final long interval = Settings.getMessageThrottleInterval();
+		if (scope == null && (interval <= 0 || EXEMPT.contains(key)))
+			return 0;
+
+		final long now = Clock.millis();
+		lookup.set(key, message, scope);
+		final Entry entry = entries.get(lookup);
+		if (entry == null) {
+			final Entry added = new Entry(key, message, scope);
+			added.sentAt = now;
+			entries.put(added, added);
+			return 0;
+		}
+		if (scope != null || now - entry.sentAt < interval) {
+			entry.suppressed++;
+			return -1;
+		}
+		final int suppressed = entry.suppressed;
+		entry.sentAt = now;
+		entry.suppressed = 0;
+		return suppressed;
+	}
+
+	private static class Entry {
+
+		private MessageKey key;
+		private String message;
+		private Object scope;
+		private long sentAt;
+		private int suppressed;
+
+		Entry(final MessageKey key, final String message, final Object scope) {
+			set(key, message, scope);
+		}
+
+		// Only for the lookup key, entries in the map never change what they are keyed by
+		private void set(final MessageKey key, final String message, final Object scope) {
+			this.key = key;
+			this.message = message;
+			this.scope = scope;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * (31 * key.hashCode() + message.hashCode()) + Objects.hashCode(scope);
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof Entry))
+				return false;
+			final Entry other = (Entry) obj;
+			return key == other.key && message.equals(other.message) && Objects.equals(scope, other.scope);
+		}
+
+	}
+
+}
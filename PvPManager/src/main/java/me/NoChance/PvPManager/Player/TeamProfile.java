@@ -7,7 +7,7 @@ import org.bukkit.scoreboard.Team;
 
 import me.NoChance.PvPManager.PvPlayer;
 import me.NoChance.PvPManager.Settings.Settings;
-import me.NoChance.PvPManager.Utils.CombatUtils;
+import me.NoChance.PvPManager.Utils.Capabilities;
 import me.NoChance.PvPManager.Utils.Log;
 
 public class TeamProfile {
@@ -58,7 +58,7 @@ public class TeamProfile {
 					pvpOn.setCanSeeFriendlyInvisibles(false);
 					final String pvpOnPrefix = ChatColor.translateAlternateColorCodes('&', Settings.getToggleColorOn());
 					pvpOn.setPrefix(pvpOnPrefix);
-					if (CombatUtils.isVersionAtLeast(Settings.getMinecraftVersion(), "1.13")) {
+					if (Capabilities.TEAM_COLORS) {
 						final ChatColor nameColor = getLastColor(pvpOnPrefix);
 						if (nameColor != null) {
 							pvpOn.setColor(nameColor);
@@ -74,7 +74,7 @@ public class TeamProfile {
 					pvpOff.setCanSeeFriendlyInvisibles(false);
 					final String pvpOffPrefix = ChatColor.translateAlternateColorCodes('&', Settings.getToggleColorOff());
 					pvpOff.setPrefix(pvpOffPrefix);
-					if (CombatUtils.isVersionAtLeast(Settings.getMinecraftVersion(), "1.13")) {
+					if (Capabilities.TEAM_COLORS) {
 						final ChatColor nameColor = getLastColor(pvpOffPrefix);
 						if (nameColor != null) {
 							pvpOff.setColor(nameColor);
@@ -1,6 +1,12 @@
 package me.NoChance.PvPManager;
 
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
 import org.bukkit.Bukkit;
+import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
 import org.bukkit.plugin.java.JavaPlugin;
 
@@ -13,6 +19,10 @@ import me.NoChance.PvPManager.Commands.PvPList;
 import me.NoChance.PvPManager.Commands.PvPOverride;
 import me.NoChance.PvPManager.Commands.PvPStatus;
 import me.NoChance.PvPManager.Commands.Tag;
+import me.NoChance.PvPManager.Diagnostics.Profiler;
+import me.NoChance.PvPManager.Diagnostics.PrometheusExporter;
+import me.NoChance.PvPManager.Diagnostics.PvPManagerStats;
+import me.NoChance.PvPManager.Journal.CombatJournal;
 import me.NoChance.PvPManager.Libraries.Metrics.CustomMetrics;
 import me.NoChance.PvPManager.Libraries.Updater.BukkitUpdater;
 import me.NoChance.PvPManager.Libraries.Updater.SpigotUpdater;
@@ -21,6 +31,8 @@ import me.NoChance.PvPManager.Libraries.Updater.Updater.UpdateResult;
 import me.NoChance.PvPManager.Libraries.Updater.Updater.UpdateType;
 import me.NoChance.PvPManager.Listeners.EntityListener;
 import me.NoChance.PvPManager.Listeners.EntityListener1_9;
+import me.NoChance.PvPManager.Listeners.FeatureListeners;
+import me.NoChance.PvPManager.Listeners.LocaleListener;
 import me.NoChance.PvPManager.Listeners.PlayerListener;
 import me.NoChance.PvPManager.Managers.ConfigManager;
 import me.NoChance.PvPManager.Managers.DependencyManager;
@@ -28,7 +40,10 @@ import me.NoChance.PvPManager.Managers.DisplayManager;
 import me.NoChance.PvPManager.Managers.PlayerHandler;
 import me.NoChance.PvPManager.Settings.Messages;
 import me.NoChance.PvPManager.Settings.Settings;
-import me.NoChance.PvPManager.Utils.CombatUtils;
+import me.NoChance.PvPManager.Tasks.TaskScheduler;
+import me.NoChance.PvPManager.Trace.EventRecorder;
+import me.NoChance.PvPManager.Utils.Capabilities;
+import me.NoChance.PvPManager.Utils.EnableStages;
 import me.NoChance.PvPManager.Utils.Log;
 
 public final class PvPManager extends JavaPlugin {
@@ -38,7 +53,13 @@ public final class PvPManager extends JavaPlugin {
 	private Updater updater;
 	private DependencyManager dependencyManager;
 	private DisplayManager displayManager;
+	private CombatJournal combatJournal;
+	private PrometheusExporter prometheusExporter;
+	private EventRecorder eventRecorder;
+	private EventRecorder.MoveRecorder moveRecorder;
+	private final Map<Class<? extends Listener>, Listener> featureListeners = new HashMap<>();
 	private EntityListener entityListener;
+	private TaskScheduler scheduler;
 	private static PvPManager instance;
 
 	@Override
@@ -46,11 +67,19 @@ public final class PvPManager extends JavaPlugin {
 		final long start = System.currentTimeMillis();
 		instance = this;
 		Log.setup(getLogger());
-		loadFiles();
-		dependencyManager = new DependencyManager();
-		displayManager = new DisplayManager(this);
-		playerHandler = new PlayerHandler(this);
-		startListeners();
+		scheduler = TaskScheduler.create(this);
+		final EnableStages stages = new EnableStages();
+		configM = stages.run("config", () -> new ConfigManager(this));
+		// Only need the config, the main thread hooks into the other plugins meanwhile
+		stages.runAsync("users", configM::loadUsersFile);
+		stages.runAsync("messages", () -> Messages.setup(this));
+		combatJournal = stages.run("journal", () -> new CombatJournal(new File(getDataFolder(), "journal")));
+		dependencyManager = stages.run("dependencies", DependencyManager::new);
+		displayManager = stages.run("display", () -> new DisplayManager(this));
+		// Players read their stored data and get messages, nothing can decide combat before this
+		stages.await();
+		playerHandler = stages.run("players", () -> new PlayerHandler(this));
+		stages.run("listeners", this::startListeners);
 		getCommand("pvp").setExecutor(new PvP(playerHandler));
 		getCommand("newbie").setExecutor(new Newbie(playerHandler));
 		getCommand("pvpmanager").setExecutor(new PM(this));
@@ -61,29 +90,113 @@ public final class PvPManager extends JavaPlugin {
 		getCommand("pvptag").setExecutor(new Tag(playerHandler));
 		getCommand("announce").setExecutor(new Announce());
 		startMetrics();
+		if (Settings.isJMX()) {
+			PvPManagerStats.register(this);
+		}
+		if (Settings.isPrometheus()) {
+			prometheusExporter = PrometheusExporter.start(this, Settings.getPrometheusPort());
+		}
 		checkJavaVersion();
-		Log.info("PvPManager Enabled (" + (System.currentTimeMillis() - start) + " ms)");
+		Log.info("PvPManager Enabled (" + (System.currentTimeMillis() - start) + " ms - " + stages + ")");
 	}
 
 	@Override
 	public void onDisable() {
+		PvPManagerStats.unregister();
+		if (Profiler.isSupported()) {
+			Profiler.stop();
+		}
+		if (prometheusExporter != null) {
+			prometheusExporter.stop();
+			prometheusExporter = null;
+		}
+		// Folia keeps running entity tasks of a disabled plugin, Bukkit would cancel them only after this returns
+		scheduler.cancelAll();
 		playerHandler.handlePluginDisable();
+		combatJournal.close();
+		if (eventRecorder != null) {
+			eventRecorder.close();
+			eventRecorder = null;
+		}
+		moveRecorder = null;
+		featureListeners.clear();
 		instance = null;
 	}
 
-	private void loadFiles() {
-		this.configM = new ConfigManager(this);
-		Messages.setup(this);
-	}
-
 	private void startListeners() {
-		if (CombatUtils.isVersionAtLeast(Settings.getMinecraftVersion(), "1.9")) {
+		if (Capabilities.AREA_EFFECT_CLOUDS) {
 			registerListener(new EntityListener1_9(playerHandler));
 		}
 		entityListener = new EntityListener(playerHandler);
 		registerListener(entityListener);
 		registerListener(new PlayerListener(playerHandler));
 		dependencyManager.startListeners(playerHandler);
+		updateListeners();
+	}
+
+	/**
+	 * Registers the listeners of features that were turned on and unregisters the ones of features turned off
+	 */
+	private void updateListeners() {
+		toggleListener(LocaleListener.class, Settings.isPerPlayerLocale() && Capabilities.CLIENT_LOCALE,
+		        () -> new LocaleListener(playerHandler));
+		toggleListener(FeatureListeners.BlockPlace.class, FeatureListeners.isBlockPlaceEnabled(), () -> new FeatureListeners.BlockPlace(playerHandler));
+		toggleListener(FeatureListeners.FlyBlock.class, FeatureListeners.isFlyBlockEnabled(), () -> new FeatureListeners.FlyBlock(playerHandler));
+		toggleListener(FeatureListeners.EatBlock.class, FeatureListeners.isEatBlockEnabled(), () -> new FeatureListeners.EatBlock(playerHandler));
+		toggleListener(FeatureListeners.GlideBlock.class, FeatureListeners.isGlideBlockEnabled(), () -> new FeatureListeners.GlideBlock(playerHandler));
+		toggleListener(FeatureListeners.NewbiePickup.class, FeatureListeners.isNewbiePickupEnabled(), () -> new FeatureListeners.NewbiePickup(playerHandler));
+		toggleListener(FeatureListeners.RespawnProtection.class, FeatureListeners.isRespawnProtectionEnabled(),
+		        () -> new FeatureListeners.RespawnProtection(playerHandler));
+		toggleListener(FeatureListeners.WorldChange.class, FeatureListeners.isWorldChangeEnabled(), () -> new FeatureListeners.WorldChange(playerHandler));
+		final boolean recordMoves = Settings.isEventTrace() && Settings.borderHoppingPushback();
+		if (moveRecorder != null && !recordMoves) {
+			HandlerList.unregisterAll(moveRecorder);
+			moveRecorder = null;
+		}
+		if (Settings.isEventTrace() && eventRecorder == null) {
+			eventRecorder = new EventRecorder(new File(getDataFolder(), "traces"));
+			registerListener(eventRecorder);
+		} else if (!Settings.isEventTrace() && eventRecorder != null) {
+			HandlerList.unregisterAll(eventRecorder);
+			eventRecorder.close();
+			eventRecorder = null;
+		}
+		if (recordMoves && moveRecorder == null) {
+			moveRecorder = new EventRecorder.MoveRecorder(eventRecorder);
+			registerListener(moveRecorder);
+		}
+	}
+
+	private void toggleListener(final Class<? extends Listener> type, final boolean enabled, final Supplier<Listener> factory) {
+		final Listener registered = featureListeners.get(type);
+		if (enabled && registered == null) {
+			final Listener listener = factory.get();
+			featureListeners.put(type, listener);
+			registerListener(listener);
+		} else if (!enabled && registered != null) {
+			HandlerList.unregisterAll(registered);
+			featureListeners.remove(type);
+		}
+	}
+
+	/**
+	 * Reloads the config and messages without disabling the plugin.
+	 * Players keep their data and combat tags, hooks and teams stay as they are and only the listeners of features turned on or off change.
+	 */
+	public void reload() {
+		final boolean combatTeam = Settings.isUseCombatTeam();
+		final boolean toggleNametags = Settings.isToggleNametagsEnabled();
+		configM.reload(() -> {
+			// Teams are created as players join, switching them on or off needs a restart
+			Settings.setUseCombatTeam(combatTeam);
+			Settings.setToggleNametagsEnabled(toggleNametags);
+			dependencyManager.disableUnsupported();
+			displayManager.disableUnsupported();
+		});
+		Messages.setup(this);
+		dependencyManager.reload(playerHandler);
+		playerHandler.reload();
+		updateListeners();
 	}
 
 	private void startMetrics() {
@@ -145,6 +258,10 @@ public final class PvPManager extends JavaPlugin {
 		this.getServer().getPluginManager().registerEvents(listener, this);
 	}
 
+	public CombatJournal getCombatJournal() {
+		return combatJournal;
+	}
+
 	public EntityListener getEntityListener() {
 		return entityListener;
 	}
@@ -169,6 +286,10 @@ public final class PvPManager extends JavaPlugin {
 		return displayManager;
 	}
 
+	public TaskScheduler getScheduler() {
+		return scheduler;
+	}
+
 	/**
 	 * @return instance of PvPManager
 	 */
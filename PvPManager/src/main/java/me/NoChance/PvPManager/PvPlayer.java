@@ -2,24 +2,35 @@ package me.NoChance.PvPManager;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
 import org.eclipse.jdt.annotation.Nullable;
 
+import me.NoChance.PvPManager.Diagnostics.CombatTagEvent;
+import me.NoChance.PvPManager.Diagnostics.Counter;
+import me.NoChance.PvPManager.Diagnostics.PlayerLoadEvent;
+import me.NoChance.PvPManager.Diagnostics.Profiler;
 import me.NoChance.PvPManager.Events.PlayerTagEvent;
 import me.NoChance.PvPManager.Events.PlayerTogglePvPEvent;
 import me.NoChance.PvPManager.Events.PlayerUntagEvent;
 import me.NoChance.PvPManager.Managers.PlayerHandler;
 import me.NoChance.PvPManager.Player.EcoPlayer;
 import me.NoChance.PvPManager.Player.TeamProfile;
-import me.NoChance.PvPManager.Settings.Messages;
+import me.NoChance.PvPManager.Settings.Locale;
+import me.NoChance.PvPManager.Settings.MessageKey;
 import me.NoChance.PvPManager.Settings.Settings;
 import me.NoChance.PvPManager.Settings.UserDataFields;
 import me.NoChance.PvPManager.Tasks.NewbieTask;
+import me.NoChance.PvPManager.Tasks.TickWatchdog;
+import me.NoChance.PvPManager.Utils.Capabilities;
+import me.NoChance.PvPManager.Utils.Clock;
 import me.NoChance.PvPManager.Utils.CombatUtils;
 import me.NoChance.PvPManager.Utils.Log;
 
@@ -30,21 +41,42 @@ public class PvPlayer extends EcoPlayer {
 	private boolean pvpState;
 	private boolean pvpLogged;
 	private boolean override;
-	private long toggleTime;
+	private boolean localePreference;
+	// Written by the load and by toggles on different threads, volatile so it can't tear on 32-bit JVMs
+	private volatile long toggleTime;
 	private long respawnTime;
-	private long taggedTime;
+	// Read by the tag timer thread
+	private volatile long taggedTime;
 	private NewbieTask newbieTask;
 	private PvPlayer enemy;
-	private final HashMap<String, Integer> victim = new HashMap<>();
+	private final Map<String, Integer> victim = new ConcurrentHashMap<>();
 	private final PvPManager plugin;
 	private TeamProfile teamProfile;
+	// Combat nametag and glowing are skipped while the server is shedding load, so they are only undone if applied
+	private boolean combatCosmetics;
 	private static final ExecutorService executor = Executors.newCachedThreadPool();
+	private static final AtomicInteger pendingLoads = new AtomicInteger();
+	// Set last by the load, reading it first makes everything the load wrote visible
+	private volatile boolean loaded;
 
 	public PvPlayer(final Player player, final PvPManager plugin) {
+		this(player, plugin, executor);
+	}
+
+	// Stress tests pass their own loader to race the load against reads
+	PvPlayer(final Player player, final PvPManager plugin, final Executor loader) {
 		super(player, plugin.getDependencyManager().getEconomy());
 		this.pvpState = Settings.isDefaultPvp();
 		this.plugin = plugin;
-		executor.execute(this::loadData);
+		pendingLoads.incrementAndGet();
+		loader.execute(() -> {
+			try {
+				loadData();
+			} finally {
+				loaded = true;
+				pendingLoads.decrementAndGet();
+			}
+		});
 	}
 
 	public final long getToggleTime() {
@@ -61,23 +93,24 @@ public class PvPlayer extends EcoPlayer {
 	public final boolean hasToggleCooldownPassed() {
 		if (!CombatUtils.hasTimePassed(toggleTime, Settings.getToggleCooldown()) && !getPlayer().hasPermission("pvpmanager.pvpstatus.nocooldown")) {
 			final long secondsLeft = CombatUtils.getTimeLeft(toggleTime, Settings.getToggleCooldown());
-			message(Messages.getErrorPvpCooldown().replace("%m", Long.toString(secondsLeft <= 60 ? secondsLeft : secondsLeft - secondsLeft / 60 * 60)).replace("%t",
-			        Long.toString(secondsLeft <= 60 ? 0 : secondsLeft / 60)));
+			message(MessageKey.ERROR_PVP_COOLDOWN, Long.toString(secondsLeft <= 60 ? 0 : secondsLeft / 60),
+			        Long.toString(secondsLeft <= 60 ? secondsLeft : secondsLeft - secondsLeft / 60 * 60));
 			return false;
 		}
 		return true;
 	}
 
 	public final boolean isNewbie() {
-		return this.newbie;
+		return loaded && this.newbie;
 	}
 
 	public final boolean isInCombat() {
 		return this.tagged;
 	}
 
+	// Until the stored state is loaded the player has the default one
 	public final boolean hasPvPEnabled() {
-		return this.pvpState;
+		return loaded ? this.pvpState : Settings.isDefaultPvp();
 	}
 
 	public final boolean hasPvPLogged() {
@@ -102,17 +135,17 @@ public class PvPlayer extends EcoPlayer {
 		if (newbie) {
 			if (PlayerHandler.isRemovedNewbie(this))
 				return;
-			message(Messages.getNewbieProtection().replace("%", Integer.toString(Settings.getNewbieProtectionTime())));
+			message(MessageKey.NEWBIE_PROTECTION, Integer.toString(Settings.getNewbieProtectionTime()));
 			this.newbieTask = new NewbieTask(this, plugin, 0);
 		} else if (this.newbie && newbieTask != null) {
-			if (Bukkit.getScheduler().isCurrentlyRunning(newbieTask.getTaskId())) {
-				message(Messages.getNewbieProtectionEnd());
+			if (newbieTask.isExpired()) {
+				message(MessageKey.NEWBIE_PROTECTION_END);
 			} else {
-				message(Messages.getNewbieProtectionRemoved());
+				message(MessageKey.NEWBIE_PROTECTION_REMOVED);
 				newbieTask.cancel();
 			}
 		} else {
-			message(Messages.getErrorNotNewbie());
+			message(MessageKey.ERROR_NOT_NEWBIE);
 		}
 		this.newbie = newbie;
 	}
@@ -121,55 +154,84 @@ public class PvPlayer extends EcoPlayer {
 		if (getPlayer().hasPermission("pvpmanager.nocombat"))
 			return;
 
-		this.taggedTime = System.currentTimeMillis();
+		this.taggedTime = Clock.millis();
 		this.enemy = tagger;
 
 		if (tagged)
 			return;
 
+		final CombatTagEvent tagEvent = Profiler.isSupported() ? new CombatTagEvent() : null;
+		if (tagEvent != null) {
+			tagEvent.begin();
+		}
 		final PlayerTagEvent event = new PlayerTagEvent(getPlayer(), this, attacker, tagger.getPlayer());
 		Bukkit.getPluginManager().callEvent(event);
 		if (event.isCancelled())
 			return;
 
-		if (teamProfile != null && Settings.isUseCombatTeam()) {
-			teamProfile.setInCombat();
-		}
-		if (Settings.isGlowingInCombat() && CombatUtils.isVersionAtLeast(Settings.getMinecraftVersion(), "1.9")) {
-			getPlayer().setGlowing(true);
+		if (!TickWatchdog.isShedding()) {
+			if (teamProfile != null && Settings.isUseCombatTeam()) {
+				teamProfile.setInCombat();
+			}
+			if (Settings.isGlowingInCombat() && Capabilities.GLOWING) {
+				getPlayer().setGlowing(true);
+			}
+			this.combatCosmetics = true;
 		}
 
 		if (attacker) {
-			message(Messages.getTaggedAttacker().replace("%p", tagger.getName()));
-			sendActionBar(Messages.getTaggedAttackerABar().replace("%p", tagger.getName()));
+			message(MessageKey.TAGGED_ATTACKER, tagger.getName());
+			sendActionBar(MessageKey.TAGGED_ATTACKER_ACTIONBAR, tagger.getName());
 		} else {
-			message(Messages.getTaggedDefender().replace("%p", tagger.getName()));
-			sendActionBar(Messages.getTaggedDefenderABar().replace("%p", tagger.getName()));
+			message(MessageKey.TAGGED_DEFENDER, tagger.getName());
+			sendActionBar(MessageKey.TAGGED_DEFENDER_ACTIONBAR, tagger.getName());
 		}
 
 		this.tagged = true;
 		plugin.getPlayerHandler().tag(this);
+		plugin.getCombatJournal().tag(getPlayer(), tagger.getPlayer(), attacker);
+		Counter.TAGS.increment();
+		if (tagEvent != null && tagEvent.shouldCommit()) {
+			tagEvent.player = getName();
+			tagEvent.enemy = tagger.getName();
+			tagEvent.tagged = true;
+			tagEvent.attacker = attacker;
+			tagEvent.commit();
+		}
 	}
 
 	public final void unTag() {
+		final CombatTagEvent tagEvent = Profiler.isSupported() ? new CombatTagEvent() : null;
+		if (tagEvent != null) {
+			tagEvent.begin();
+		}
 		final PlayerUntagEvent event = new PlayerUntagEvent(getPlayer(), this);
 		Bukkit.getPluginManager().callEvent(event);
 		if (event.isCancelled())
 			return;
 
 		if (isOnline()) {
-			if (teamProfile != null && Settings.isUseCombatTeam()) {
-				teamProfile.restoreTeam();
-			}
-			if (Settings.isGlowingInCombat() && CombatUtils.isVersionAtLeast(Settings.getMinecraftVersion(), "1.9")) {
-				getPlayer().setGlowing(false); // effect should pass by itself but now players can get untagged before tag expires
+			if (combatCosmetics) {
+				if (teamProfile != null && Settings.isUseCombatTeam()) {
+					teamProfile.restoreTeam();
+				}
+				if (Settings.isGlowingInCombat() && Capabilities.GLOWING) {
+					getPlayer().setGlowing(false); // effect should pass by itself but now players can get untagged before tag expires
+				}
 			}
 
-			message(Messages.getOutOfCombat());
-			sendActionBar(Messages.getOutOfCombatABar());
+			message(MessageKey.OUT_OF_COMBAT);
+			sendActionBar(MessageKey.OUT_OF_COMBAT_ACTIONBAR);
 		}
 
 		this.tagged = false;
+		this.combatCosmetics = false;
+		plugin.getCombatJournal().untag(getUUID());
+		if (tagEvent != null && tagEvent.shouldCommit()) {
+			tagEvent.player = getName();
+			tagEvent.enemy = enemy != null ? enemy.getName() : null;
+			tagEvent.commit();
+		}
 	}
 
 	public final void setPvP(final boolean pvpState) {
@@ -182,20 +244,22 @@ public class PvPlayer extends EcoPlayer {
 			return;
 
 		this.pvpState = pvpState;
-		this.toggleTime = System.currentTimeMillis();
+		this.toggleTime = Clock.millis();
+		plugin.getCombatJournal().toggle(getUUID(), pvpState);
+		Counter.PVP_TOGGLES.increment();
 
 		if (teamProfile != null && Settings.isToggleNametagsEnabled()) {
 			teamProfile.setPvP(pvpState);
 		}
 		if (!pvpState) {
-			message(Messages.getPvpDisabled());
+			message(MessageKey.PVP_DISABLED);
 			for (final String s : Settings.getCommandsPvPOff()) {
-				Bukkit.dispatchCommand(Bukkit.getConsoleSender(), ChatColor.translateAlternateColorCodes('&', s.replace("%p", getName())));
+				CombatUtils.dispatchCommand(ChatColor.translateAlternateColorCodes('&', s.replace("%p", getName())));
 			}
 		} else {
-			message(Messages.getPvpEnabled());
+			message(MessageKey.PVP_ENABLED);
 			for (final String s : Settings.getCommandsPvPOn()) {
-				Bukkit.dispatchCommand(Bukkit.getConsoleSender(), ChatColor.translateAlternateColorCodes('&', s.replace("%p", getName())));
+				CombatUtils.dispatchCommand(ChatColor.translateAlternateColorCodes('&', s.replace("%p", getName())));
 			}
 		}
 	}
@@ -212,7 +276,7 @@ public class PvPlayer extends EcoPlayer {
 			if (totalKills >= Settings.getKillAbuseMaxKills()) {
 				unTag();
 				for (final String command : Settings.getKillAbuseCommands()) {
-					Bukkit.dispatchCommand(Bukkit.getConsoleSender(), command.replace("<player>", getName()));
+					CombatUtils.dispatchCommand(command.replace("<player>", getName()));
 				}
 			}
 		}
@@ -254,11 +318,43 @@ public class PvPlayer extends EcoPlayer {
 	}
 
 	public long getTagTimeLeft() {
-		return tagged ? taggedTime + Settings.getTimeInCombat() * 1000 - System.currentTimeMillis() : 0;
+		return tagged ? taggedTime + Settings.getTimeInCombatMillis() - Clock.millis() : 0;
+	}
+
+	/**
+	 * Sets the language this player gets messages in and saves it, or goes back to the client language if locale is null
+	 */
+	public final void setPreferredLocale(final Locale locale) {
+		this.localePreference = locale != null;
+		if (localePreference) {
+			setLocale(locale);
+		} else if (Capabilities.CLIENT_LOCALE) {
+			setLocale(Locale.fromClientLocale(getPlayer().getLocale()));
+		} else {
+			setLocale(null);
+		}
+	}
+
+	public final void updateClientLocale(final String clientLocale) {
+		if (!localePreference) {
+			setLocale(Locale.fromClientLocale(clientLocale));
+		}
+	}
+
+	public final boolean hasLocalePreference() {
+		return localePreference;
 	}
 
 	private void loadData() {
-		if (plugin.getConfigM().getUserStorage().contains(getUUID().toString())) {
+		final PlayerLoadEvent event = Profiler.isSupported() ? new PlayerLoadEvent() : null;
+		if (event != null) {
+			event.begin();
+		}
+		if (Settings.isPerPlayerLocale() && Capabilities.CLIENT_LOCALE) {
+			setLocale(Locale.fromClientLocale(getPlayer().getLocale()));
+		}
+		final boolean stored = plugin.getConfigM().getUserStorage().contains(getUUID().toString());
+		if (stored) {
 			loadUserData(plugin.getConfigM().getUserData(getUUID()));
 		} else if (CombatUtils.isReal(getUUID()) && Settings.isNewbieProtectionEnabled() && !getPlayer().hasPlayedBefore()) {
 			setNewbie(true);
@@ -276,9 +372,22 @@ public class PvPlayer extends EcoPlayer {
 				Log.warning("Colored nametags disabled. You need to update your Spigot version.");
 			}
 		}
+		if (event != null && event.shouldCommit()) {
+			event.player = getName();
+			event.stored = stored;
+			event.commit();
+		}
 	}
 
 	private void loadUserData(final Map<String, Object> userData) {
+		if (userData.get(UserDataFields.LOCALE) instanceof String) {
+			try {
+				setLocale(Locale.valueOf((String) userData.get(UserDataFields.LOCALE)));
+				this.localePreference = true;
+			} catch (final IllegalArgumentException e) {
+				Log.debug("Ignoring unknown locale " + userData.get(UserDataFields.LOCALE) + " for " + getUUID());
+			}
+		}
 		if (userData.get(UserDataFields.PVP_STATUS) instanceof Boolean) {
 			this.pvpState = (boolean) userData.get(UserDataFields.PVP_STATUS);
 		}
@@ -293,7 +402,7 @@ public class PvPlayer extends EcoPlayer {
 				if (newbie_time instanceof Integer || newbie_time instanceof Long) {
 					final long timeleft = ((Number) newbie_time).longValue();
 					this.newbieTask = new NewbieTask(this, plugin, timeleft);
-					message(String.format(Messages.getNewbieTimeCheck(), timeleft / 1000));
+					message(MessageKey.NEWBIE_TIME_CHECK, Long.toString(timeleft / 1000));
 				}
 			}
 		}
@@ -305,6 +414,9 @@ public class PvPlayer extends EcoPlayer {
 		userData.put(UserDataFields.TOGGLE_TIME, getToggleTime());
 		userData.put(UserDataFields.NEWBIE, isNewbie());
 		userData.put(UserDataFields.NEWBIE_TIMELEFT, newbieTask != null ? newbieTask.getTimeleft() : 0);
+		if (localePreference) {
+			userData.put(UserDataFields.LOCALE, getLocale().name());
+		}
 		return userData;
 	}
 
@@ -334,4 +446,11 @@ public class PvPlayer extends EcoPlayer {
 		return PvPManager.getInstance().getPlayerHandler().get(player);
 	}
 
+	/**
+	 * @return how many players are still waiting for their data to be loaded
+	 */
+	public static int getPendingLoads() {
+		return pendingLoads.get();
+	}
+
 }
@@ -7,7 +7,8 @@ public enum Locale {
 	ZHTW("messages_zhtw.properties"),
 	ES("messages_es.properties"),
 	DE("messages_de.properties"),
-	BR("messages_br.properties");
+	BR("messages_br.properties"),
+	IT("messages_it.properties");
 
 	private final String fileName;
 
@@ -15,6 +16,28 @@ public enum Locale {
 		this.fileName = fileName;
 	}
 
+	/**
+	 * @param clientLocale the locale reported by the client, like en_us or zh_tw
+	 * @return the matching locale or null if there are no messages for that language
+	 */
+	public static Locale fromClientLocale(final String clientLocale) {
+		if (clientLocale == null)
+			return null;
+
+		final String lower = clientLocale.toLowerCase(java.util.Locale.ROOT);
+		if (lower.startsWith("zh_tw") || lower.startsWith("zh_hk"))
+			return ZHTW;
+		if (lower.startsWith("zh"))
+			return ZH;
+		if (lower.startsWith("pt"))
+			return BR;
+		for (final Locale locale : values()) {
+			if (lower.startsWith(locale.name().toLowerCase(java.util.Locale.ROOT) + "_"))
+				return locale;
+		}
+		return null;
+	}
+
 	@Override
 	public String toString() {
 		return fileName;
@@ -1,49 +1,271 @@
 package me.NoChance.PvPManager.Settings;
 
-import java.io.BufferedWriter;
+import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileWriter;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
 
-import org.bukkit.scheduler.BukkitRunnable;
-
-import me.NoChance.PvPManager.PvPManager;
+import me.NoChance.PvPManager.Utils.Log;
 
+/**
+ * Lines are queued by any thread and written in batches by a single writer thread, which also rotates the file by size or day.
+ * Rotated files are compressed on a separate thread so writing never waits for it.
+ * Lines logged for a player are also added to a {@link LogIndex} so they can be searched later.
+ * Rotated files older than the configured days are deleted along with their index, once at startup and then once a day.
+ */
 public class LogFile {
 
+	private static final DateTimeFormatter TEXT_TIME = DateTimeFormatter.ofPattern("'['yyyy/MM/dd HH:mm:ss'] '");
+	private static final DateTimeFormatter ROTATED_DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
 	private final File file;
-	private final SimpleDateFormat format = new SimpleDateFormat("[yyyy/MM/dd HH:mm:ss] ");
+	private final boolean json;
+	private final long maxSize;
+	private final boolean rotateDaily;
+	private final boolean compress;
+	private final long keepMillis;
+	private final Queue<Line> queue = new ConcurrentLinkedQueue<>();
+	private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(r -> newThread(r, "PvPManager Log Writer"));
+	private final ExecutorService compressor = Executors.newSingleThreadExecutor(r -> newThread(r, "PvPManager Log Compressor"));
+	private final LogIndex index;
+	private OutputStream out;
+	private long size;
+	private LocalDate day;
+	private LocalDate prunedDay;
 
 	public LogFile(final File file) {
-		this.file = file;
+		this.json = "JSON".equals(Settings.getLogFileFormat());
+		this.file = json ? new File(file.getParentFile(), file.getName().replaceFirst("\\.log$", "") + ".jsonl") : file;
+		this.maxSize = Settings.getLogFileMaxSize() * 1024 * 1024;
+		this.rotateDaily = Settings.isLogFileRotateDaily();
+		this.compress = Settings.isLogFileCompress();
+		this.keepMillis = TimeUnit.DAYS.toMillis(Math.max(0, Settings.getLogFileKeepDays()));
+		this.day = this.file.exists() ? Instant.ofEpochMilli(this.file.lastModified()).atZone(ZoneId.systemDefault()).toLocalDate() : LocalDate.now();
+		deleteExpired();
+		this.prunedDay = LocalDate.now();
+		this.index = new LogIndex(this.file, keepMillis);
+		final long interval = Math.max(1, Settings.getLogFileFlushInterval());
+		writer.scheduleWithFixedDelay(this::drain, interval, interval, TimeUnit.SECONDS);
+	}
+
+	public final void log(final String line) {
+		final LocalDateTime now = LocalDateTime.now();
+		if (json) {
+			queue.offer(new Line("{\"time\":\"" + now + "\",\"message\":\"" + escape(line) + "\"}", null));
+		} else {
+			queue.offer(new Line(TEXT_TIME.format(now) + line, null));
+		}
+	}
+
+	public final void log(final String type, final String player, final UUID uuid, final String line) {
+		final LocalDateTime now = LocalDateTime.now();
+		if (json) {
+			queue.offer(new Line("{\"time\":\"" + now + "\",\"type\":\"" + type + "\",\"player\":\"" + escape(player) + "\",\"uuid\":\"" + uuid + "\",\"message\":\""
+			        + escape(line) + "\"}", uuid));
+		} else {
+			queue.offer(new Line(TEXT_TIME.format(now) + line, uuid));
+		}
+	}
+
+	private void drain() {
+		if (queue.isEmpty())
+			return;
 		try {
-			if (!file.exists() && file.createNewFile()) {
-				write("This file logs every player that disconnected during combat");
-				write("You can disable the logging in the config file\n");
+			if (out == null) {
+				open();
+			}
+			final LocalDate today = LocalDate.now();
+			if (rotateDaily && !today.equals(day) || maxSize > 0 && size >= maxSize) {
+				rotate();
+				open();
+			}
+			day = today;
+			if (!today.equals(prunedDay)) {
+				prunedDay = today;
+				deleteExpired();
+				index.prune(System.currentTimeMillis());
 			}
+			Line line;
+			while ((line = queue.poll()) != null) {
+				final byte[] bytes = line.text.getBytes(StandardCharsets.UTF_8);
+				if (line.uuid != null) {
+					index.add(line.uuid, line.time, size, bytes.length);
+				}
+				out.write(bytes);
+				out.write('\n');
+				size += bytes.length + 1;
+			}
+			out.flush();
+			index.flush();
 		} catch (final IOException e) {
 			e.printStackTrace();
 		}
 	}
 
-	private void write(final String line) {
-		new BukkitRunnable() {
-			@Override
-			public void run() {
-				try (BufferedWriter bw = new BufferedWriter(new FileWriter(file, true))) {
-					bw.write(line);
-					bw.newLine();
-				} catch (final IOException e) {
-					e.printStackTrace();
+	private void open() throws IOException {
+		final boolean created = !file.exists();
+		out = new BufferedOutputStream(new FileOutputStream(file, true));
+		size = file.length();
+		if (created && !json) {
+			final byte[] header = "This file logs every player that disconnected during combat\nYou can disable the logging in the config file\n\n".getBytes(StandardCharsets.UTF_8);
+			out.write(header);
+			size += header.length;
+		}
+	}
+
+	private void rotate() throws IOException {
+		out.close();
+		out = null;
+		final String base = file.getName().substring(0, file.getName().lastIndexOf('.'));
+		final String extension = file.getName().substring(file.getName().lastIndexOf('.'));
+		File rotated;
+		int i = 0;
+		do {
+			final String name = base + "-" + ROTATED_DATE.format(day) + (i == 0 ? "" : "-" + i) + extension;
+			rotated = new File(file.getParentFile(), name);
+			i++;
+		} while (rotated.exists() || new File(rotated.getPath() + ".gz").exists());
+		if (!file.renameTo(rotated)) {
+			Log.warning("Could not rotate " + file.getName());
+			return;
+		}
+		index.rotate(rotated);
+		if (compress) {
+			final File toCompress = rotated;
+			compressor.execute(() -> compress(toCompress));
+		}
+	}
+
+	private void deleteExpired() {
+		if (keepMillis <= 0)
+			return;
+		final String base = file.getName().substring(0, file.getName().lastIndexOf('.')) + "-";
+		final String extension = file.getName().substring(file.getName().lastIndexOf('.'));
+		final long cutoff = System.currentTimeMillis() - keepMillis;
+		final File[] rotated = file.getParentFile().listFiles((dir, name) -> name.startsWith(base)
+		        && (name.endsWith(extension) || name.endsWith(extension + ".gz") || name.endsWith(extension + ".idx")));
+		if (rotated == null)
+			return;
+		for (final File old : rotated) {
+			if (old.lastModified() < cutoff && !old.delete()) {
+				Log.warning("Could not delete old log file " + old.getName());
+			}
+		}
+	}
+
+	private static void compress(final File source) {
+		final File target = new File(source.getPath() + ".gz");
+		final byte[] buffer = new byte[8192];
+		try (InputStream in = new FileInputStream(source); OutputStream gz = new GZIPOutputStream(new FileOutputStream(target))) {
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				gz.write(buffer, 0, read);
+			}
+		} catch (final IOException e) {
+			e.printStackTrace();
+			return;
+		}
+		if (!source.delete()) {
+			Log.warning("Could not delete " + source.getName() + " after compressing it");
+		}
+	}
+
+	private static Thread newThread(final Runnable runnable, final String name) {
+		final Thread thread = new Thread(runnable, name);
+		thread.setDaemon(true);
+		return thread;
+	}
+
+	private static String escape(final String value) {
+		final StringBuilder sb = new StringBuilder(value.length() + 8);
+		for (int i = 0; i < value.length(); i++) {
+			final char c = value.charAt(i);
+			switch (c) {
+			case '"':
+				sb.append("\\\"");
+				break;
+			case '\\':
+				sb.append("\\\\");
+				break;
+			case '\n':
+				sb.append("\\n");
+				break;
+			case '\r':
+				sb.append("\\r");
+				break;
+			case '\t':
+				sb.append("\\t");
+				break;
+			default:
+				if (c < 0x20) {
+					sb.append(String.format("\\u%04x", (int) c));
+				} else {
+					sb.append(c);
 				}
 			}
-		}.runTaskAsynchronously(PvPManager.getInstance());
+		}
+		return sb.toString();
 	}
 
-	public final void log(final String line) {
-		write(format.format(new Date()) + line);
+	/**
+	 * @see LogIndex#find(UUID, long, int)
+	 */
+	public final List<String> find(final UUID uuid, final long since, final int limit) {
+		return index.find(uuid, since, limit);
+	}
+
+	/**
+	 * Writes everything still queued and stops the writer, waiting for pending compression to finish
+	 */
+	public final void close() {
+		writer.shutdown();
+		try {
+			writer.awaitTermination(5, TimeUnit.SECONDS);
+			drain();
+			if (out != null) {
+				out.close();
+				out = null;
+			}
+			index.close();
+			compressor.shutdown();
+			compressor.awaitTermination(30, TimeUnit.SECONDS);
+		} catch (final InterruptedException e) {
+			e.printStackTrace();
+			Thread.currentThread().interrupt();
+		} catch (final IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	private static class Line {
+
+		private final String text;
+		private final UUID uuid;
+		private final long time = System.currentTimeMillis();
+
+		Line(final String text, final UUID uuid) {
+			this.text = text;
+			this.uuid = uuid;
+		}
+
 	}
 
 }
@@ -0,0 +1,279 @@
+package me.NoChance.PvPManager.Settings;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Keeps the position of every player's combat log lines, so they can be read back without scanning the log files.
+ * Each log file has a matching .idx file of fixed size entries, which is renamed along with the log when it rotates.
+ * Only lines newer than the log retention are kept in memory, older ones are dropped as the log files they point to are deleted.
+ */
+public class LogIndex {
+
+	private static final String EXTENSION = ".idx";
+	private static final long BUCKET = TimeUnit.HOURS.toMillis(1);
+
+	private final File folder;
+	private final long keepMillis;
+	private final Map<UUID, TreeMap<Long, List<Pointer>>> entries = new HashMap<>();
+	private IndexedFile current;
+	private DataOutputStream out;
+
+	/**
+	 * @param keepMillis how long lines stay searchable, 0 to keep them all
+	 */
+	LogIndex(final File logFile, final long keepMillis) {
+		this.folder = logFile.getParentFile();
+		this.keepMillis = keepMillis;
+		this.current = new IndexedFile(logFile);
+		final File[] files = folder.listFiles((dir, name) -> name.endsWith(EXTENSION));
+		if (files != null) {
+			for (final File file : files) {
+				load(file);
+			}
+		}
+		// Index files are loaded in no particular order
+		for (final TreeMap<Long, List<Pointer>> buckets : entries.values()) {
+			for (final List<Pointer> bucket : buckets.values()) {
+				bucket.sort(Comparator.comparingLong(p -> p.time));
+			}
+		}
+	}
+
+	private void load(final File indexFile) {
+		final String name = indexFile.getName();
+		final File file = new File(folder, name.substring(0, name.length() - EXTENSION.length()));
+		final IndexedFile logFile = file.equals(current.file) ? current : new IndexedFile(file);
+		final long cutoff = getCutoff(System.currentTimeMillis());
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+			while (true) {
+				final UUID uuid = new UUID(in.readLong(), in.readLong());
+				final long time = in.readLong();
+				final long offset = in.readLong();
+				final int length = in.readInt();
+				if (time >= cutoff) {
+					put(uuid, new Pointer(logFile, time, offset, length));
+				}
+			}
+		} catch (final EOFException e) {
+			// end of index
+		} catch (final IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	private void put(final UUID uuid, final Pointer pointer) {
+		entries.computeIfAbsent(uuid, k -> new TreeMap<>()).computeIfAbsent(pointer.time / BUCKET, k -> new ArrayList<>()).add(pointer);
+	}
+
+	synchronized void add(final UUID uuid, final long time, final long offset, final int length) throws IOException {
+		if (out == null) {
+			out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(indexFile(current.file), true)));
+		}
+		out.writeLong(uuid.getMostSignificantBits());
+		out.writeLong(uuid.getLeastSignificantBits());
+		out.writeLong(time);
+		out.writeLong(offset);
+		out.writeInt(length);
+		put(uuid, new Pointer(current, time, offset, length));
+	}
+
+	/**
+	 * Forgets lines older than the retention, whole hours at a time
+	 */
+	synchronized void prune(final long now) {
+		final long cutoff = getCutoff(now);
+		if (cutoff == Long.MIN_VALUE)
+			return;
+		final Iterator<TreeMap<Long, List<Pointer>>> iterator = entries.values().iterator();
+		while (iterator.hasNext()) {
+			final TreeMap<Long, List<Pointer>> buckets = iterator.next();
+			buckets.headMap(cutoff / BUCKET).clear();
+			if (buckets.isEmpty()) {
+				iterator.remove();
+			}
+		}
+	}
+
+	private long getCutoff(final long now) {
+		return keepMillis > 0 ? now - keepMillis : Long.MIN_VALUE;
+	}
+
+	synchronized void flush() throws IOException {
+		if (out != null) {
+			out.flush();
+		}
+	}
+
+	/**
+	 * Moves the index of the current log file along with it, entries already indexed keep pointing to the rotated file
+	 */
+	synchronized void rotate(final File rotated) throws IOException {
+		close();
+		final File index = indexFile(current.file);
+		if (index.exists() && !index.renameTo(indexFile(rotated)))
+			throw new IOException("Could not rename " + index.getName());
+		final File logFile = current.file;
+		current.file = rotated;
+		current = new IndexedFile(logFile);
+	}
+
+	synchronized void close() throws IOException {
+		if (out != null) {
+			out.close();
+			out = null;
+		}
+	}
+
+	private static File indexFile(final File logFile) {
+		return new File(logFile.getPath() + EXTENSION);
+	}
+
+	/**
+	 * Reads the most recent lines logged for a player, oldest first
+	 *
+	 * @param since only lines logged at or after this time in millis
+	 * @param limit max lines to return
+	 */
+	public List<String> find(final UUID uuid, final long since, final int limit) {
+		final List<Pointer> pointers = new ArrayList<>();
+		synchronized (this) {
+			final TreeMap<Long, List<Pointer>> buckets = entries.get(uuid);
+			if (buckets == null)
+				return new ArrayList<>();
+			for (final Entry<Long, List<Pointer>> bucket : buckets.descendingMap().headMap(since / BUCKET, true).entrySet()) {
+				final List<Pointer> list = bucket.getValue();
+				for (int i = list.size() - 1; i >= 0 && pointers.size() < limit; i--) {
+					if (list.get(i).time >= since) {
+						pointers.add(list.get(i));
+					}
+				}
+				if (pointers.size() >= limit) {
+					break;
+				}
+			}
+		}
+		// Each file is opened once and read front to back, a compressed one is only decompressed once
+		final String[] lines = new String[pointers.size()];
+		final Map<IndexedFile, List<Integer>> byFile = new HashMap<>();
+		for (int i = 0; i < pointers.size(); i++) {
+			byFile.computeIfAbsent(pointers.get(i).logFile, f -> new ArrayList<>()).add(i);
+		}
+		for (final List<Integer> group : byFile.values()) {
+			group.sort(Comparator.comparingLong(i -> pointers.get(i).offset));
+			read(pointers, group, lines);
+		}
+		final List<String> result = new ArrayList<>(lines.length);
+		for (int i = lines.length - 1; i >= 0; i--) {
+			result.add(lines[i]);
+		}
+		return result;
+	}
+
+	/**
+	 * @param group indexes of pointers to the same file, by offset
+	 */
+	private static void read(final List<Pointer> pointers, final List<Integer> group, final String[] lines) {
+		final File file = pointers.get(group.get(0)).logFile.file;
+		try {
+			if (file.exists()) {
+				try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+					for (final int i : group) {
+						final Pointer pointer = pointers.get(i);
+						final byte[] bytes = new byte[pointer.length];
+						raf.seek(pointer.offset);
+						raf.readFully(bytes);
+						lines[i] = new String(bytes, StandardCharsets.UTF_8);
+					}
+				}
+			} else {
+				// Rotated files might have been compressed since they were indexed
+				try (InputStream in = new GZIPInputStream(new FileInputStream(file.getPath() + ".gz"))) {
+					long position = 0;
+					for (final int i : group) {
+						final Pointer pointer = pointers.get(i);
+						final byte[] bytes = new byte[pointer.length];
+						skipFully(in, pointer.offset - position);
+						readFully(in, bytes);
+						position = pointer.offset + pointer.length;
+						lines[i] = new String(bytes, StandardCharsets.UTF_8);
+					}
+				}
+			}
+		} catch (final IOException e) {
+			for (final int i : group) {
+				if (lines[i] == null) {
+					lines[i] = "Could not read line from " + file.getName() + ": " + e.getMessage();
+				}
+			}
+		}
+	}
+
+	private static void skipFully(final InputStream in, final long bytes) throws IOException {
+		long skip = bytes;
+		while (skip > 0) {
+			final long skipped = in.skip(skip);
+			if (skipped <= 0)
+				throw new EOFException();
+			skip -= skipped;
+		}
+	}
+
+	private static void readFully(final InputStream in, final byte[] bytes) throws IOException {
+		int read = 0;
+		while (read < bytes.length) {
+			final int n = in.read(bytes, read, bytes.length - read);
+			if (n < 0)
+				throw new EOFException();
+			read += n;
+		}
+	}
+
+	private static class IndexedFile {
+
+		private volatile File file;
+
+		IndexedFile(final File file) {
+			this.file = file;
+		}
+
+	}
+
+	private static class Pointer {
+
+		private final IndexedFile logFile;
+		private final long time;
+		private final long offset;
+		private final int length;
+
+		Pointer(final IndexedFile logFile, final long time, final long offset, final int length) {
+			this.logFile = logFile;
+			this.time = time;
+			this.offset = offset;
+			this.length = length;
+		}
+
+	}
+
+}
@@ -0,0 +1,60 @@
+package me.NoChance.PvPManager.Settings;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import me.NoChance.PvPManager.Utils.MessageTemplate;
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.chat.TextComponent;
+
+/**
+ * All messages of one locale, compiled once when messages are loaded and never changed afterwards.
+ * Messages without placeholders also keep their chat components so they are only converted from legacy color codes once.
+ */
+public final class MessageBundle {
+
+	private final Locale locale;
+	private final Map<MessageKey, MessageTemplate> templates;
+	private final Map<MessageKey, BaseComponent[]> components;
+
+	MessageBundle(final Locale locale, final Map<MessageKey, String> messages) {
+		this.locale = locale;
+		final Map<MessageKey, MessageTemplate> compiled = new EnumMap<>(MessageKey.class);
+		final Map<MessageKey, BaseComponent[]> serialized = new EnumMap<>(MessageKey.class);
+		for (final Entry<MessageKey, String> entry : messages.entrySet()) {
+			final MessageTemplate template = MessageTemplate.compile(entry.getValue(), entry.getKey().getPlaceholders());
+			compiled.put(entry.getKey(), template);
+			if (!template.hasPlaceholders() && !template.isEmpty()) {
+				serialized.put(entry.getKey(), TextComponent.fromLegacyText(template.toString()));
+			}
+		}
+		this.templates = Collections.unmodifiableMap(compiled);
+		this.components = Collections.unmodifiableMap(serialized);
+	}
+
+	public String get(final MessageKey key) {
+		return templates.get(key).toString();
+	}
+
+	public String render(final MessageKey key, final String value) {
+		return templates.get(key).render(value);
+	}
+
+	public String render(final MessageKey key, final String first, final String second) {
+		return templates.get(key).render(first, second);
+	}
+
+	/**
+	 * @return the cached components for a message without placeholders, or null if the message has placeholders or is empty
+	 */
+	public BaseComponent[] getComponents(final MessageKey key) {
+		return components.get(key);
+	}
+
+	public Locale getLocale() {
+		return locale;
+	}
+
+}
@@ -0,0 +1,73 @@
+package me.NoChance.PvPManager.Settings;
+
+public enum MessageKey {
+	ALREADY_DISABLED("Already_Disabled"),
+	ALREADY_ENABLED("Already_Enabled"),
+	OTHER_STATUS_ENABLED("Other_Status_Enabled", "%p"),
+	OTHERS_STATUS_DISABLED("Others_Status_Disabled", "%p"),
+	PVP_DISABLED("PvP_Disabled"),
+	PVP_ENABLED("PvP_Enabled"),
+	SELF_STATUS_DISABLED("Self_Status_Disabled"),
+	SELF_STATUS_ENABLED("Self_Status_Enabled"),
+	COMMAND_DENIED_INCOMBAT("Command_Denied_InCombat"),
+	ATTACK_DENIED_YOU("Attack_Denied_You"),
+	ATTACK_DENIED_OTHER("Attack_Denied_Other", "%p"),
+	TAGGED_ATTACKER("Tagged_Attacker", "%p"),
+	TAGGED_ATTACKER_ACTIONBAR("Tagged_Attacker_ActionBar", "%p"),
+	TAGGED_DEFENDER("Tagged_Defender", "%p"),
+	TAGGED_DEFENDER_ACTIONBAR("Tagged_Defender_ActionBar", "%p"),
+	OUT_OF_COMBAT("Out_Of_Combat"),
+	OUT_OF_COMBAT_ACTIONBAR("Out_Of_Combat_ActionBar"),
+	NEWBIE_PROTECTION("Newbie_Protection", "%"),
+	NEWBIE_PROTECTION_END("Newbie_Protection_End"),
+	NEWBIE_PROTECTION_REMOVED("Newbie_Protection_Removed"),
+	NEWBIE_PROTECTION_ON_HIT("Newbie_Protection_On_Hit"),
+	NEWBIE_PROTECTION_ATTACKER("Newbie_Protection_Atacker", "%p"),
+	NEWBIE_TIME_CHECK("Newbie_Time_Check", "%d"),
+	NEWBIE_TIME_CHECK_OTHER("Newbie_Time_Check_Other", "%s", "%d"),
+	NEWBIE_COMMAND_BLOCKED("Newbie_Command_Blocked"),
+	NEWBIE_PICKUP_ITEMS_BLOCKED("Newbie_Pickup_Items_Blocked"),
+	BLOCK_PLACE_BLOCKED_INCOMBAT("Block_Place_Blocked_InCombat"),
+	EATING_BLOCKED_INCOMBAT("Eating_Blocked_InCombat"),
+	ENDERPEARL_BLOCKED_INCOMBAT("EnderPearl_Blocked_InCombat"),
+	CHORUSFRUIT_BLOCKED_INCOMBAT("ChorusFruit_Blocked_InCombat"),
+	INTERACT_BLOCKED_INCOMBAT("Interact_Blocked_InCombat"),
+	TELEPORT_BLOCKED_INCOMBAT("Teleport_Blocked_InCombat"),
+	PUSHBACK_WARNING("Pushback_Warning"),
+	ERROR_COMMAND("Error_Command"),
+	ERROR_NOT_NEWBIE("Error_Not_Newbie"),
+	ERROR_PVP_COOLDOWN("Error_PvP_Cooldown", "%t", "%m"),
+	ERROR_PERMISSION("Error_Permission"),
+	ERROR_NOT_IN_COMBAT("Error_Not_In_Combat"),
+	ERROR_NOT_PLAYER("Error_Not_Player"),
+	MONEY_REWARD("Money_Reward", "%m", "%p"),
+	MONEY_PENALTY("Money_Penalty", "%m"),
+	MONEY_STEAL("Money_Steal", "%p", "%m"),
+	PVPLIST_TITLE("PvPList_Title"),
+	PVPLIST_ENABLED("PvPList_Enabled"),
+	PVPLIST_DISABLED("PvPList_Disabled"),
+	PVPLIST_NOTHING_FOUND("PvPList_Nothing_Found"),
+	ERROR_PLAYER_NOT_FOUND("Error_Player_Not_Found", "%p"),
+	RESPAWN_PROTECTION("Respawn_Protection"),
+	RESPAWN_PROTECTION_OTHER("Respawn_Protection_Other", "%p"),
+	PVP_FORCE_ENABLED_WG("PvP_Force_Enabled_WorlGuard"),
+	TAG_REMAINING("Tag_Remaining", "%d"),
+	MESSAGE_THROTTLE_COUNT("Message_Throttle_Count", "%m", "%d");
+
+	private final String key;
+	private final String[] placeholders;
+
+	MessageKey(final String key, final String... placeholders) {
+		this.key = key;
+		this.placeholders = placeholders;
+	}
+
+	public String getKey() {
+		return key;
+	}
+
+	public String[] getPlaceholders() {
+		return placeholders.clone();
+	}
+
+}
@@ -9,15 +9,18 @@ import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.io.UnsupportedEncodingException;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.Enumeration;
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Queue;
 
+import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
 import me.NoChance.PvPManager.PvPManager;
-import me.NoChance.PvPManager.PvPlayer;
 import me.NoChance.PvPManager.Player.CancelResult;
 import me.NoChance.PvPManager.Utils.ChatUtils;
 import me.NoChance.PvPManager.Utils.Log;
@@ -25,63 +28,12 @@ import me.NoChance.PvPManager.Utils.Log;
 public class Messages {
 
 	private static PvPManager plugin;
-	private static final Properties LANG = new Properties();
-	private static File messagesFile;
-	private static String errorPermission;
-	private static String errorPvpCooldown;
-	private static String alreadyDisabled;
-	private static String alreadyEnabled;
-	private static String otherStatusEnabled;
-	private static String othersStatusDisabled;
-	private static String pvpDisabled;
-	private static String pvpEnabled;
-	private static String selfStatusDisabled;
-	private static String selfStatusEnabled;
-	private static String commandDeniedIncombat;
-	private static String attackDeniedYou;
-	private static String attackDeniedOther;
-	private static String taggedAttacker;
-	private static String taggedDefender;
-	private static String outOfCombat;
-	private static String taggedAttackerActionbar;
-	private static String taggedDefenderActionbar;
-	private static String outOfCombatActionbar;
-	private static String newbieProtection;
-	private static String newbieProtectionEnd;
-	private static String newbieProtectionOnHit;
-	private static String newbieProtectionAttacker;
-	private static String newbieCommandBlocked;
-	private static String enderpearlBlockedIncombat;
-	private static String chorusBlockedInCombat;
-	private static String pushbackWarning;
-	private static String errorCommand;
 	private static String currentVersion;
-	private static String moneyReward;
-	private static String moneyPenalty;
-	private static String moneySteal;
 	private static Locale locale;
+	private static volatile MessageBundle defaultBundle;
+	private static volatile Map<Locale, MessageBundle> bundles = Collections.emptyMap();
 	private static final Queue<String> messageQueue = new LinkedList<>();
 	private static String newVersion;
-	private static String pvpListTitle;
-	private static String pvpListEnabled;
-	private static String pvpListDisabled;
-	private static String pvpListNoResults;
-	private static String errorPlayerNotFound;
-	private static String errorNotNewbie;
-	private static String errorNotInCombat;
-	private static String errorNotPlayer;
-	private static String newbieTimeCheck;
-	private static String newbieTimeCheckOther;
-	private static String newbieProtectionRemoved;
-	private static String respawnProtectionSelf;
-	private static String respawnProtectionOther;
-	private static String pvpForceEnabledWG;
-	private static String teleportBlockedInCombat;
-	private static String blockPlaceBlockedInCombat;
-	private static String eatBlockedInCombat;
-	private static String interactBlockedInCombat;
-	private static String newbiePickupItemBlocked;
-	private static String tagRemaining;
 
 	public static void setup(final PvPManager plugin) {
 		Messages.plugin = plugin;
@@ -92,16 +44,28 @@ public class Messages {
 			Log.warning("Error! Locale '" + Settings.getLocale() + "' does not exist! Using default messages");
 			locale = Locale.EN;
 		}
-		load();
+		final Map<Locale, MessageBundle> loaded = new EnumMap<>(Locale.class);
+		loaded.put(locale, load(locale));
+		if (Settings.isPerPlayerLocale()) {
+			for (final Locale other : Locale.values()) {
+				if (other != locale) {
+					loaded.put(other, load(other));
+				}
+			}
+		} else {
+			deleteOtherFiles();
+		}
+		defaultBundle = loaded.get(locale);
+		bundles = Collections.unmodifiableMap(loaded);
 	}
 
-	private static void load() {
-		messagesFile = new File(plugin.getDataFolder(), locale.toString());
+	private static MessageBundle load(final Locale bundleLocale) {
+		final File messagesFile = new File(plugin.getDataFolder(), bundleLocale.toString());
 		if (!messagesFile.exists()) {
 			int readBytes;
 			final byte[] buffer = new byte[4096];
-			try (InputStream input = plugin.getResource("locale/" + locale.toString());
-			        OutputStream resStreamOut = new FileOutputStream(new File(plugin.getDataFolder() + File.separator + locale.toString()))) {
+			try (InputStream input = plugin.getResource("locale/" + bundleLocale.toString());
+			        OutputStream resStreamOut = new FileOutputStream(messagesFile)) {
 				while ((readBytes = input.read(buffer)) != -1) {
 					resStreamOut.write(buffer, 0, readBytes);
 				}
@@ -110,6 +74,21 @@ public class Messages {
 			}
 			Log.info("New Messages File Created Successfully!");
 		}
+		final Properties lang = new Properties();
+		try (FileInputStream in = new FileInputStream(messagesFile)) {
+			lang.load(in);
+			checkChanges(messagesFile, lang);
+		} catch (final IOException e) {
+			e.printStackTrace();
+		}
+		final Map<MessageKey, String> messages = new EnumMap<>(MessageKey.class);
+		for (final MessageKey key : MessageKey.values()) {
+			messages.put(key, getString(lang, key.getKey()));
+		}
+		return new MessageBundle(bundleLocale, messages);
+	}
+
+	private static void deleteOtherFiles() {
 		final File[] listFiles = plugin.getDataFolder().listFiles();
 		if (listFiles != null) {
 			for (final File file : listFiles) {
@@ -119,21 +98,12 @@ public class Messages {
 				}
 			}
 		}
-		try (FileInputStream in = new FileInputStream(messagesFile)) {
-			if (messagesFile.exists()) {
-				LANG.load(in);
-				checkChanges();
-				getMessages();
-			}
-		} catch (final IOException e) {
-			e.printStackTrace();
-		}
 	}
 
-	private static String getString(final String key) {
+	private static String getString(final Properties lang, final String key) {
 		String message;
 		try {
-			message = new String(LANG.getProperty(key).getBytes("ISO-8859-1"), "UTF-8");
+			message = new String(lang.getProperty(key).getBytes("ISO-8859-1"), "UTF-8");
 		} catch (final UnsupportedEncodingException e1) {
 			e1.printStackTrace();
 			return "Encoding error! Please report this bug!";
@@ -141,71 +111,17 @@ public class Messages {
 		return ChatUtils.colorize(message);
 	}
 
-	private static void getMessages() {
-		alreadyDisabled = getString("Already_Disabled");
-		alreadyEnabled = getString("Already_Enabled");
-		otherStatusEnabled = getString("Other_Status_Enabled");
-		othersStatusDisabled = getString("Others_Status_Disabled");
-		pvpDisabled = getString("PvP_Disabled");
-		pvpEnabled = getString("PvP_Enabled");
-		selfStatusDisabled = getString("Self_Status_Disabled");
-		selfStatusEnabled = getString("Self_Status_Enabled");
-		commandDeniedIncombat = getString("Command_Denied_InCombat");
-		attackDeniedYou = getString("Attack_Denied_You");
-		attackDeniedOther = getString("Attack_Denied_Other");
-		taggedAttacker = getString("Tagged_Attacker");
-		taggedAttackerActionbar = getString("Tagged_Attacker_ActionBar");
-		taggedDefender = getString("Tagged_Defender");
-		taggedDefenderActionbar = getString("Tagged_Defender_ActionBar");
-		outOfCombat = getString("Out_Of_Combat");
-		outOfCombatActionbar = getString("Out_Of_Combat_ActionBar");
-		newbieProtection = getString("Newbie_Protection");
-		newbieProtectionEnd = getString("Newbie_Protection_End");
-		newbieProtectionRemoved = getString("Newbie_Protection_Removed");
-		newbieProtectionOnHit = getString("Newbie_Protection_On_Hit");
-		newbieProtectionAttacker = getString("Newbie_Protection_Atacker");
-		newbieTimeCheck = getString("Newbie_Time_Check");
-		newbieTimeCheckOther = getString("Newbie_Time_Check_Other");
-		newbieCommandBlocked = getString("Newbie_Command_Blocked");
-		newbiePickupItemBlocked = getString("Newbie_Pickup_Items_Blocked");
-		blockPlaceBlockedInCombat = getString("Block_Place_Blocked_InCombat");
-		eatBlockedInCombat = getString("Eating_Blocked_InCombat");
-		enderpearlBlockedIncombat = getString("EnderPearl_Blocked_InCombat");
-		chorusBlockedInCombat = getString("ChorusFruit_Blocked_InCombat");
-		interactBlockedInCombat = getString("Interact_Blocked_InCombat");
-		teleportBlockedInCombat = getString("Teleport_Blocked_InCombat");
-		pushbackWarning = getString("Pushback_Warning");
-		errorCommand = getString("Error_Command");
-		errorNotNewbie = getString("Error_Not_Newbie");
-		errorPvpCooldown = getString("Error_PvP_Cooldown");
-		errorPermission = getString("Error_Permission");
-		errorNotInCombat = getString("Error_Not_In_Combat");
-		errorNotPlayer = getString("Error_Not_Player");
-		moneyReward = getString("Money_Reward");
-		moneyPenalty = getString("Money_Penalty");
-		moneySteal = getString("Money_Steal");
-		pvpListTitle = getString("PvPList_Title");
-		pvpListEnabled = getString("PvPList_Enabled");
-		pvpListDisabled = getString("PvPList_Disabled");
-		pvpListNoResults = getString("PvPList_Nothing_Found");
-		errorPlayerNotFound = getString("Error_Player_Not_Found");
-		respawnProtectionSelf = getString("Respawn_Protection");
-		respawnProtectionOther = getString("Respawn_Protection_Other");
-		pvpForceEnabledWG = getString("PvP_Force_Enabled_WorlGuard");
-		tagRemaining = getString("Tag_Remaining");
-	}
-
-	private static void checkChanges() {
+	private static void checkChanges(final File messagesFile, final Properties lang) {
 		final Properties original = new Properties();
 		try {
 			original.load(plugin.getResource("locale/" + Locale.EN.toString()));
 			final Enumeration<Object> originalKeys = original.keys();
 			while (originalKeys.hasMoreElements()) {
 				final String a = (String) originalKeys.nextElement();
-				if (!LANG.containsKey(a)) {
+				if (!lang.containsKey(a)) {
 					Log.info("Added missing '" + a + "' key to messages file.");
-					addMessage(a + " = " + new String(original.getProperty(a).getBytes("ISO-8859-1"), "UTF-8"));
-					LANG.setProperty(a, original.getProperty(a));
+					addMessage(messagesFile, a + " = " + new String(original.getProperty(a).getBytes("ISO-8859-1"), "UTF-8"));
+					lang.setProperty(a, original.getProperty(a));
 				}
 			}
 		} catch (final IOException e) {
@@ -213,7 +129,7 @@ public class Messages {
 		}
 	}
 
-	private static void addMessage(final String a) {
+	private static void addMessage(final File messagesFile, final String a) {
 		try (PrintWriter pw = new PrintWriter(new OutputStreamWriter(new FileOutputStream(messagesFile, true), "UTF-8"))) {
 			pw.println(a);
 		} catch (final IOException e) {
@@ -221,158 +137,58 @@ public class Messages {
 		}
 	}
 
+	/**
+	 * @return the messages for that locale, or the configured locale's messages if per player locale is disabled or locale is null
+	 */
+	public static MessageBundle getBundle(final Locale bundleLocale) {
+		final MessageBundle bundle = bundleLocale == null ? null : bundles.get(bundleLocale);
+		return bundle != null ? bundle : defaultBundle;
+	}
+
+	public static MessageBundle getBundle(final CommandSender sender) {
+		if (sender instanceof Player)
+			return plugin.getPlayerHandler().get((Player) sender).getMessages();
+		return defaultBundle;
+	}
+
 	public static void messageProtection(final CancelResult result, final Player player, final Player attacked) {
-		final String message = getProtectionMessage(result, attacked);
-		final PvPlayer receiver = plugin.getPlayerHandler().get(player);
-		receiver.message(message);
+		messageProtection(result, player, attacked, null);
+	}
+
+	/**
+	 * @param scope if not null, the message is only sent the first time for it
+	 */
+	public static void messageProtection(final CancelResult result, final Player player, final Player attacked, final Object scope) {
+		final MessageKey key = getProtectionKey(result);
+		if (key != null) {
+			plugin.getPlayerHandler().get(player).throttledMessage(key, attacked.getName(), scope);
+		}
 	}
 
-	public static String getProtectionMessage(final CancelResult result, final Player attacked) {
+	private static MessageKey getProtectionKey(final CancelResult result) {
 		switch (result) {
 		case NEWBIE:
-			return result.attackerCaused() ? newbieBlocked() : newbieBlockedOther(attacked.getName());
+			return MessageKey.NEWBIE_PROTECTION_ATTACKER;
+		case ATTACKER_NEWBIE:
+			return MessageKey.NEWBIE_PROTECTION_ON_HIT;
 		case PVPDISABLED:
-			return result.attackerCaused() ? pvpDisabled() : pvpDisabledOther(attacked.getName());
+			return MessageKey.ATTACK_DENIED_OTHER;
+		case ATTACKER_PVPDISABLED:
+			return MessageKey.ATTACK_DENIED_YOU;
 		case RESPAWN_PROTECTION:
-			return result.attackerCaused() ? respawnProtSelf() : respawnProtOther(attacked.getName());
+			return MessageKey.RESPAWN_PROTECTION_OTHER;
+		case ATTACKER_RESPAWN_PROTECTION:
+			return MessageKey.RESPAWN_PROTECTION;
 		default:
-			return "";
+			return null;
 		}
 	}
 
-	public static String getErrorPlayerNotFound() {
-		return errorPlayerNotFound;
-	}
-
-	public static String getPvpListNoResults() {
-		return pvpListNoResults;
-	}
-
-	public static String getPvpListTitle() {
-		return pvpListTitle;
-	}
-
-	public static String getPvpListEnabled() {
-		return pvpListEnabled;
-	}
-
-	public static String getPvpListDisabled() {
-		return pvpListDisabled;
-	}
-
-	public static String getErrorPermission() {
-		return errorPermission;
-	}
-
-	public static String getErrorPvpCooldown() {
-		return errorPvpCooldown;
-	}
-
-	public static String getAlreadyDisabled() {
-		return alreadyDisabled;
-	}
-
-	public static String getAlreadyEnabled() {
-		return alreadyEnabled;
-	}
-
-	public static String getOtherStatusEnabled() {
-		return otherStatusEnabled;
-	}
-
-	public static String getOthersStatusDisabled() {
-		return othersStatusDisabled;
-	}
-
-	public static String getPvpDisabled() {
-		return pvpDisabled;
-	}
-
-	public static String getPvpEnabled() {
-		return pvpEnabled;
-	}
-
-	public static String getSelfStatusDisabled() {
-		return selfStatusDisabled;
-	}
-
-	public static String getSelfStatusEnabled() {
-		return selfStatusEnabled;
-	}
-
-	public static String getCommandDeniedIncombat() {
-		return commandDeniedIncombat;
-	}
-
-	public static String pvpDisabled() {
-		return attackDeniedYou;
-	}
-
-	public static String pvpDisabledOther(final String name) {
-		return attackDeniedOther.replace("%p", name);
-	}
-
-	public static String getTaggedAttacker() {
-		return taggedAttacker;
-	}
-
-	public static String getTaggedDefender() {
-		return taggedDefender;
-	}
-
-	public static String getOutOfCombat() {
-		return outOfCombat;
-	}
-
-	public static String getNewbieProtection() {
-		return newbieProtection;
-	}
-
-	public static String getNewbieProtectionEnd() {
-		return newbieProtectionEnd;
-	}
-
-	public static String newbieBlocked() {
-		return newbieProtectionOnHit;
-	}
-
-	public static String newbieBlockedOther(final String name) {
-		return newbieProtectionAttacker.replace("%p", name);
-	}
-
-	public static String getEnderpearlBlockedIncombat() {
-		return enderpearlBlockedIncombat;
-	}
-
-	public static String getChorusBlockedInCombat() {
-		return chorusBlockedInCombat;
-	}
-
-	public static String getPushbackWarning() {
-		return pushbackWarning;
-	}
-
-	public static String getErrorCommand() {
-		return errorCommand;
-	}
-
 	public static String getCurrentversion() {
 		return currentVersion;
 	}
 
-	public static String getMoneyReward() {
-		return moneyReward;
-	}
-
-	public static String getMoneyPenalty() {
-		return moneyPenalty;
-	}
-
-	public static String getMoneySteal() {
-		return moneySteal;
-	}
-
-	public final Locale getLocale() {
+	public static Locale getLocale() {
 		return locale;
 	}
 
@@ -384,83 +200,7 @@ public class Messages {
 		Messages.newVersion = newVersion;
 	}
 
-	public static String getNewbieCommandBlocked() {
-		return newbieCommandBlocked;
-	}
-
-	public static String getPvpForceEnabledWG() {
-		return pvpForceEnabledWG;
-	}
-
 	public static Queue<String> getMessageQueue() {
 		return messageQueue;
 	}
-
-	public static String getErrorNotNewbie() {
-		return errorNotNewbie;
-	}
-
-	public static String getNewbieTimeCheck() {
-		return newbieTimeCheck;
-	}
-
-	public static String getNewbieTimeCheckOther() {
-		return newbieTimeCheckOther;
-	}
-
-	public static String getNewbieProtectionRemoved() {
-		return newbieProtectionRemoved;
-	}
-
-	public static String getErrorNotInCombat() {
-		return errorNotInCombat;
-	}
-
-	public static String getErrorNotPlayer() {
-		return errorNotPlayer;
-	}
-
-	public static String respawnProtSelf() {
-		return respawnProtectionSelf;
-	}
-
-	public static String respawnProtOther(final String name) {
-		return respawnProtectionOther.replace("%p", name);
-	}
-
-	public static String getTaggedAttackerABar() {
-		return taggedAttackerActionbar;
-	}
-
-	public static String getTaggedDefenderABar() {
-		return taggedDefenderActionbar;
-	}
-
-	public static String getOutOfCombatABar() {
-		return outOfCombatActionbar;
-	}
-
-	public static String getTeleportBlockedInCombat() {
-		return teleportBlockedInCombat;
-	}
-
-	public static String getBlockPlaceBlockedInCombat() {
-		return blockPlaceBlockedInCombat;
-	}
-
-	public static String getEatBlockedInCombat() {
-		return eatBlockedInCombat;
-	}
-
-	public static String getInteractBlockedInCombat() {
-		return interactBlockedInCombat;
-	}
-
-	public static String getNewbiePickupItemBlocked() {
-		return newbiePickupItemBlocked;
-	}
-
-	public static String getTagRemaining() {
-		return tagRemaining;
-	}
 }
@@ -1,18 +1,19 @@
 package me.NoChance.PvPManager.Settings;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
-import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
 
 import me.NoChance.PvPManager.Dependencies.Hook;
+import me.NoChance.PvPManager.Utils.Capabilities;
 import me.NoChance.PvPManager.Utils.ChatUtils;
-import me.NoChance.PvPManager.Utils.CombatUtils;
 
 public final class Settings {
 
@@ -20,218 +21,302 @@ public final class Settings {
 		ALWAYS, DROP, KEEP, TRANSFER, CLEAR
 	}
 
-	public static boolean DEBUG = false;
-	private static int configVersion;
-	private static String minecraftVersion;
-	private static boolean isReloading;
-	private static boolean autoUpdate;
-	private static boolean blockEnderPearl;
-	private static boolean blockChorusFruit;
-	private static boolean blockTeleport;
-	private static boolean blockPickNewbies;
-	private static boolean blockPlaceBlocks;
-	private static boolean blockGlideInCombat;
-	private static boolean blockEat;
-	private static List<String> commandsAllowed;
-	private static List<String> commandsOnKill;
-	private static List<String> commandsOnPvPLog;
-	private static List<String> commandsPvPOff;
-	private static List<String> commandsPvPOn;
-	private static boolean commandsWhitelist;
-	private static boolean defaultPvp;
-	private static boolean disableDisguise;
-	private static boolean disableFly;
-	private static boolean disableGamemode;
-	private static boolean disableInvisibility;
-	private static boolean disableGodMode;
-	private static boolean dropArmor;
-	private static boolean dropExp;
-	private static boolean dropInventory;
-	private static DropMode dropMode;
-	private static double fineAmount;
-	private static boolean ignoreNoDamageHits;
-	private static boolean inCombatEnabled;
-	private static boolean useNameTag;
-	private static boolean useCombatTeam;
-	private static List<String> killAbuseCommands;
-	private static boolean killAbuseEnabled;
-	private static int killAbuseMaxKills;
-	private static int killAbuseTime;
-	private static boolean killOnLogout;
-	private static String locale;
-	private static boolean logToFile;
-	private static double moneyPenalty;
-	private static double moneyReward;
-	private static boolean moneySteal;
-	private static String nameTagPrefix;
-	private static boolean newbieGodMode;
-	private static boolean newbieProtectionEnabled;
-	private static int newbieProtectionTime;
-	private static boolean punishOnKick;
-	private static boolean pvpBlood;
-	private static int respawnProtection;
-	private static boolean stopCommands;
-	private static int timeInCombat;
-	private static String toggleColorOff;
-	private static String toggleColorOn;
-	private static int toggleCooldown;
-	private static boolean toggleNametagsEnabled;
-	private static boolean forcePvPOnWorldChange;
-	private static boolean update = false;
-	private static boolean checkUpdates;
-	private static boolean optOutMetrics;
-	private static double soupHealth;
-	private static boolean soupBowlDisappear;
-	private static boolean borderHoppingVulnerable;
-	private static boolean borderHoppingPushback;
-	private static boolean borderHoppingResetCombatTag;
-	private static boolean worldguardOverrides;
-	private static Set<String> worldguardOverridesList;
-	private static boolean glowingInCombat;
-	private static boolean selfTag;
-	private static boolean blockInteractInCombat;
-	private static boolean untagEnemy;
-	private static ChatColor teamColor;
-	private static String actionBarMessage;
-	private static String actionBarSymbol;
-	private static int actionBarTotalBars;
-	private static List<String> newbieBlacklist;
-	private static Set<String> worldsExcluded;
-	private static Set<String> playerKillsWGExclusions;
-	private static boolean simpleClansNoPvPInWar;
-	private static ConfigurationSection GENERAL;
-	private static ConfigurationSection BORDERHOPPING;
-	private static ConfigurationSection DISABLE;
-	private static ConfigurationSection TAGGEDCOMBAT;
-	private static ConfigurationSection NEWBIEPROTECTION;
-	private static ConfigurationSection KILLABUSE;
-	private static ConfigurationSection PLAYERKILLS;
-	private static ConfigurationSection PVPTOGGLE;
-	private static ConfigurationSection PLUGINHOOKS;
-	private static ConfigurationSection UPDATECHECK;
+	private static volatile boolean isReloading;
+	private static volatile boolean update;
+	private static volatile Snapshot current = new Snapshot();
+	// The config being loaded, only set while its loading thread holds the lock
+	private static Snapshot staged;
 
 	private Settings() {
 	}
 
-	private static void assignSections(final Config config) {
-		GENERAL = config.getConfigurationSection("General");
-		BORDERHOPPING = config.getConfigurationSection("Anti Border Hopping");
-		DISABLE = config.getConfigurationSection("Disable");
-		TAGGEDCOMBAT = config.getConfigurationSection("Tagged In Combat");
-		NEWBIEPROTECTION = config.getConfigurationSection("Newbie Protection");
-		KILLABUSE = config.getConfigurationSection("Kill Abuse");
-		PLAYERKILLS = config.getConfigurationSection("Player Kills");
-		PVPTOGGLE = config.getConfigurationSection("PvP Toggle");
-		PLUGINHOOKS = config.getConfigurationSection("Plugin Hooks");
-		UPDATECHECK = config.getConfigurationSection("Update Check");
+	/**
+	 * Config values compiled once per load and published through {@link #current}.
+	 * The fields aren't final, but a published snapshot is never written again: a reload or a setter publishes a changed copy,
+	 * so readers on any thread see all of one config and never part of the next.
+	 */
+	private static final class Snapshot implements Cloneable {
+
+		// Not in the config, kept across reloads
+		private boolean debug;
+		private int configVersion;
+		private boolean autoUpdate;
+		private boolean blockEnderPearl;
+		private boolean blockChorusFruit;
+		private boolean blockTeleport;
+		private boolean blockPickNewbies;
+		private boolean blockPlaceBlocks;
+		private boolean blockGlideInCombat;
+		private boolean blockEat;
+		private Set<String> commandsAllowed;
+		private List<String> commandsOnKill;
+		private List<String> commandsOnPvPLog;
+		private List<String> commandsPvPOff;
+		private List<String> commandsPvPOn;
+		private boolean commandsWhitelist;
+		private boolean defaultPvp;
+		private boolean disableDisguise;
+		private boolean disableFly;
+		private boolean disableGamemode;
+		private boolean disableInvisibility;
+		private boolean disableGodMode;
+		private boolean dropArmor;
+		private boolean dropExp;
+		private boolean dropInventory;
+		private DropMode dropMode;
+		private double fineAmount;
+		private boolean ignoreNoDamageHits;
+		private boolean inCombatEnabled;
+		private boolean useNameTag;
+		private boolean useCombatTeam;
+		private List<String> killAbuseCommands;
+		private boolean killAbuseEnabled;
+		private int killAbuseMaxKills;
+		private int killAbuseTime;
+		private boolean killOnLogout;
+		private String locale;
+		private boolean perPlayerLocale;
+		private long messageThrottleInterval;
+		private boolean loadShedding;
+		private double tickBudget;
+		private double loadSheddingMinTPS;
+		private boolean combatJournal;
+		private int combatJournalBuffers;
+		private long combatJournalMaxFileSize;
+		private boolean handlerTimings;
+		private boolean jmx;
+		private boolean prometheus;
+		private int prometheusPort;
+		private boolean decisionTrace;
+		private int decisionTraceSize;
+		private boolean eventTrace;
+		private long eventTraceMaxSize;
+		private boolean messageThrottleCount;
+		private boolean logToFile;
+		private String logFileFormat;
+		private int logFileFlushInterval;
+		private long logFileMaxSize;
+		private boolean logFileRotateDaily;
+		private boolean logFileCompress;
+		private int logFileKeepDays;
+		private double moneyPenalty;
+		private double moneyReward;
+		private boolean moneySteal;
+		private String nameTagPrefix;
+		private boolean newbieGodMode;
+		private boolean newbieProtectionEnabled;
+		private int newbieProtectionTime;
+		private long newbieProtectionMillis;
+		private boolean punishOnKick;
+		private boolean pvpBlood;
+		private int respawnProtection;
+		private boolean stopCommands;
+		private int timeInCombat;
+		private long timeInCombatMillis;
+		private String toggleColorOff;
+		private String toggleColorOn;
+		private int toggleCooldown;
+		private boolean toggleNametagsEnabled;
+		private boolean forcePvPOnWorldChange;
+		private boolean checkUpdates;
+		private boolean optOutMetrics;
+		private double soupHealth;
+		private boolean soupBowlDisappear;
+		private boolean borderHoppingVulnerable;
+		private boolean borderHoppingPushback;
+		private boolean borderHoppingResetCombatTag;
+		private boolean worldguardOverrides;
+		private Set<String> worldguardOverridesList;
+		private boolean glowingInCombat;
+		private boolean selfTag;
+		private boolean blockInteractInCombat;
+		private boolean untagEnemy;
+		private ChatColor teamColor;
+		private String actionBarMessage;
+		private String actionBarSymbol;
+		private int actionBarTotalBars;
+		private boolean bossBarEnabled;
+		private String bossBarMessage;
+		private String bossBarColor;
+		private String bossBarStyle;
+		private Set<String> newbieBlacklist;
+		private Set<String> worldsExcluded;
+		private Set<String> playerKillsWGExclusions;
+		private boolean simpleClansNoPvPInWar;
+
+		private Snapshot() {
+		}
+
+		private Snapshot(final Config c) {
+			final ConfigurationSection general = c.getConfigurationSection("General");
+			final ConfigurationSection borderHopping = c.getConfigurationSection("Anti Border Hopping");
+			final ConfigurationSection disable = c.getConfigurationSection("Disable");
+			final ConfigurationSection taggedCombat = c.getConfigurationSection("Tagged In Combat");
+			final ConfigurationSection newbieProtection = c.getConfigurationSection("Newbie Protection");
+			final ConfigurationSection killAbuse = c.getConfigurationSection("Kill Abuse");
+			final ConfigurationSection playerKills = c.getConfigurationSection("Player Kills");
+			final ConfigurationSection pvpToggle = c.getConfigurationSection("PvP Toggle");
+			final ConfigurationSection pluginHooks = c.getConfigurationSection("Plugin Hooks");
+			final ConfigurationSection updateCheck = c.getConfigurationSection("Update Check");
+			final ConfigurationSection diagnostics = c.getConfigurationSection("Diagnostics");
+
+			locale = general.getString("Locale", "en").toUpperCase();
+			perPlayerLocale = general.getBoolean("Per Player Locale", false);
+			messageThrottleInterval = general.getLong("Message Throttle.Interval", 2000);
+			messageThrottleCount = general.getBoolean("Message Throttle.Show Count", true);
+			defaultPvp = general.getBoolean("Default PvP", true);
+			pvpBlood = general.getBoolean("PvP Blood", true);
+			dropMode = DropMode.valueOf(general.getString("Player Drop Mode", "ALWAYS").toUpperCase());
+			ignoreNoDamageHits = general.getBoolean("Ignore No Damage Hits", false);
+			soupHealth = general.getDouble("Auto Soup.Health", 0);
+			soupBowlDisappear = general.getBoolean("Auto Soup.Bowl Disappear", false);
+			worldsExcluded = Collections.unmodifiableSet(new HashSet<>(getList(general.getStringList("World Exclusions"))));
+			loadShedding = general.getBoolean("Load Shedding.Enabled", false);
+			tickBudget = general.getDouble("Load Shedding.Tick Budget", 5);
+			loadSheddingMinTPS = general.getDouble("Load Shedding.Min TPS", 16);
+
+			borderHoppingVulnerable = borderHopping.getBoolean("Vulnerable", true);
+			borderHoppingPushback = borderHopping.getBoolean("Push Back", true);
+			borderHoppingResetCombatTag = borderHopping.getBoolean("Reset Combat Tag", true);
+
+			disableFly = disable.getBoolean("Fly", true);
+			disableGamemode = disable.getBoolean("GameMode", true);
+			disableDisguise = disable.getBoolean("Disguise", true);
+			disableGodMode = disable.getBoolean("GodMode", true);
+			disableInvisibility = disable.getBoolean("Invisibility", false);
+
+			inCombatEnabled = taggedCombat.getBoolean("Enabled", true);
+			timeInCombat = taggedCombat.getInt("Time", 10);
+			timeInCombatMillis = timeInCombat * 1000L;
+			nameTagPrefix = taggedCombat.getString("NameTag Prefix", "&c");
+			final String tColor = taggedCombat.getString("Color", "&c").replace("&", "");
+			teamColor = tColor.isEmpty() || !Capabilities.TEAM_COLORS ? null : ChatColor.getByChar(tColor);
+			useNameTag = !nameTagPrefix.equalsIgnoreCase("none") && !nameTagPrefix.isEmpty();
+			useCombatTeam = useNameTag || teamColor != null;
+			glowingInCombat = taggedCombat.getBoolean("Glowing", true);
+			selfTag = taggedCombat.getBoolean("Self Tag", false);
+			actionBarMessage = ChatUtils.colorize(taggedCombat.getString("Action Bar.Message", ""));
+			actionBarSymbol = taggedCombat.getString("Action Bar.Symbol", "▊");
+			actionBarTotalBars = taggedCombat.getInt("Action Bar.Total Bars", 10);
+			bossBarEnabled = taggedCombat.getBoolean("Boss Bar.Enabled", false);
+			bossBarMessage = ChatUtils.colorize(taggedCombat.getString("Boss Bar.Message", ""));
+			bossBarColor = taggedCombat.getString("Boss Bar.Color", "RED").toUpperCase();
+			bossBarStyle = taggedCombat.getString("Boss Bar.Style", "SOLID").toUpperCase();
+			untagEnemy = taggedCombat.getBoolean("Untag Enemy", false);
+			blockEnderPearl = taggedCombat.getBoolean("Block.EnderPearls", true);
+			blockChorusFruit = taggedCombat.getBoolean("Block.ChorusFruits", true);
+			blockTeleport = taggedCombat.getBoolean("Block.Teleport", true);
+			blockPlaceBlocks = taggedCombat.getBoolean("Block.Place Blocks", false);
+			blockInteractInCombat = taggedCombat.getBoolean("Block.Interact", false);
+			blockGlideInCombat = taggedCombat.getBoolean("Block.Elytra", false);
+			blockEat = taggedCombat.getBoolean("Block.Eat", false);
+			stopCommands = taggedCombat.getBoolean("Block.Commands.Enabled", true);
+			commandsWhitelist = taggedCombat.getBoolean("Block.Commands.Whitelist", true);
+			commandsAllowed = lowerCase(getList(taggedCombat.getStringList("Block.Commands.Command List")));
+			punishOnKick = taggedCombat.getBoolean("Punishments.Punish On Kick", true);
+			fineAmount = taggedCombat.getDouble("Punishments.Money Penalty", 0.00);
+			logToFile = taggedCombat.getBoolean("Punishments.Log To File", true);
+			logFileFormat = taggedCombat.getString("Punishments.Log File.Format", "TEXT").toUpperCase();
+			logFileFlushInterval = taggedCombat.getInt("Punishments.Log File.Flush Interval", 5);
+			logFileMaxSize = taggedCombat.getLong("Punishments.Log File.Max Size", 10);
+			logFileRotateDaily = taggedCombat.getBoolean("Punishments.Log File.Rotate Daily", false);
+			logFileCompress = taggedCombat.getBoolean("Punishments.Log File.Compress", true);
+			logFileKeepDays = taggedCombat.getInt("Punishments.Log File.Keep Days", 30);
+			killOnLogout = taggedCombat.getBoolean("Punishments.Kill on Logout.Enabled", true);
+			dropInventory = taggedCombat.getBoolean("Punishments.Kill on Logout.Player Drops.Inventory", true);
+			dropExp = taggedCombat.getBoolean("Punishments.Kill on Logout.Player Drops.Experience", true);
+			dropArmor = taggedCombat.getBoolean("Punishments.Kill on Logout.Player Drops.Armor", true);
+			commandsOnPvPLog = Collections.unmodifiableList(getCommandList(taggedCombat.getStringList("Punishments.Commands On PvPLog")));
+
+			newbieProtectionEnabled = newbieProtection.getBoolean("Enabled", true);
+			newbieProtectionTime = newbieProtection.getInt("Time(minutes)", 5);
+			newbieProtectionMillis = newbieProtectionTime * 60000L;
+			blockPickNewbies = newbieProtection.getBoolean("Block Pick Items", false);
+			newbieGodMode = newbieProtection.getBoolean("Protect From Everything", false);
+			newbieBlacklist = lowerCase(getList(newbieProtection.getStringList("Command Blacklist")));
+
+			killAbuseEnabled = killAbuse.getBoolean("Enabled", true);
+			killAbuseMaxKills = killAbuse.getInt("Max Kills", 5);
+			killAbuseTime = killAbuse.getInt("Time Limit", 60);
+			killAbuseCommands = Collections.unmodifiableList(getCommandList(killAbuse.getStringList("Commands on Abuse")));
+			respawnProtection = killAbuse.getInt("Respawn Protection", 5);
+
+			moneyReward = playerKills.getDouble("Money Reward", 10);
+			moneyPenalty = playerKills.getDouble("Money Penalty", 10);
+			moneySteal = playerKills.getBoolean("Money Steal", false);
+			commandsOnKill = Collections.unmodifiableList(getCommandList(playerKills.getStringList("Commands On Kill")));
+			playerKillsWGExclusions = Collections.unmodifiableSet(new HashSet<>(getList(playerKills.getStringList("WorldGuard Exclusions"))));
+
+			toggleCooldown = pvpToggle.getInt("Cooldown", 15);
+			toggleNametagsEnabled = pvpToggle.getBoolean("NameTags.Enabled", false);
+			toggleColorOn = pvpToggle.getString("NameTags.Prefix On", "&1");
+			toggleColorOff = pvpToggle.getString("NameTags.Prefix Off", "&2");
+			commandsPvPOn = Collections.unmodifiableList(getCommandList(pvpToggle.getStringList("Commands PvP On")));
+			commandsPvPOff = Collections.unmodifiableList(getCommandList(pvpToggle.getStringList("Commands PvP Off")));
+			forcePvPOnWorldChange = pvpToggle.getBoolean("Force On Change World", false);
+			worldguardOverrides = pvpToggle.getBoolean("WorldGuard Overrides", true);
+			worldguardOverridesList = Collections.unmodifiableSet(new HashSet<>(getList(pvpToggle.getStringList("WorldGuard Overrides Region List"))));
+
+			simpleClansNoPvPInWar = Hook.SIMPLECLANS.getPlugin() == null ? false : pluginHooks.getBoolean("SimpleClans.No Protection In War", true);
+
+			checkUpdates = updateCheck.getBoolean("Enabled", true);
+			autoUpdate = updateCheck.getBoolean("Auto Update", true);
+
+			combatJournal = diagnostics.getBoolean("Combat Journal.Enabled", false);
+			combatJournalBuffers = diagnostics.getInt("Combat Journal.Buffers", 16);
+			combatJournalMaxFileSize = diagnostics.getLong("Combat Journal.Max File Size", 64);
+			handlerTimings = diagnostics.getBoolean("Handler Timings", true);
+			jmx = diagnostics.getBoolean("JMX", false);
+			prometheus = diagnostics.getBoolean("Prometheus.Enabled", false);
+			prometheusPort = diagnostics.getInt("Prometheus.Port", 9225);
+			decisionTrace = diagnostics.getBoolean("Decision Trace.Enabled", true);
+			decisionTraceSize = diagnostics.getInt("Decision Trace.Size", 256);
+			eventTrace = diagnostics.getBoolean("Event Trace.Enabled", false);
+			eventTraceMaxSize = diagnostics.getLong("Event Trace.Max Size", 256);
+
+			optOutMetrics = c.getBoolean("Metrics.Opt-out", false);
+			configVersion = c.getInt("Config Version");
+		}
+
+		private Snapshot copy() {
+			try {
+				return (Snapshot) clone();
+			} catch (final CloneNotSupportedException e) {
+				throw new AssertionError(e);
+			}
+		}
+
 	}
 
 	public static void initizalizeVariables(final Config c) {
-		assignSections(c);
-
-		minecraftVersion = Bukkit.getBukkitVersion().isEmpty() ? "0" : Bukkit.getBukkitVersion().replaceAll("-.+", "");
-		locale = GENERAL.getString("Locale", "en").toUpperCase();
-		defaultPvp = GENERAL.getBoolean("Default PvP", true);
-		pvpBlood = GENERAL.getBoolean("PvP Blood", true);
-		dropMode = DropMode.valueOf(GENERAL.getString("Player Drop Mode", "ALWAYS").toUpperCase());
-		ignoreNoDamageHits = GENERAL.getBoolean("Ignore No Damage Hits", false);
-		soupHealth = GENERAL.getDouble("Auto Soup.Health", 0);
-		soupBowlDisappear = GENERAL.getBoolean("Auto Soup.Bowl Disappear", false);
-		worldsExcluded = new HashSet<>(getList(GENERAL.getStringList("World Exclusions")));
-
-		borderHoppingVulnerable = BORDERHOPPING.getBoolean("Vulnerable", true);
-		borderHoppingPushback = BORDERHOPPING.getBoolean("Push Back", true);
-		borderHoppingResetCombatTag = BORDERHOPPING.getBoolean("Reset Combat Tag", true);
-
-		disableFly = DISABLE.getBoolean("Fly", true);
-		disableGamemode = DISABLE.getBoolean("GameMode", true);
-		disableDisguise = DISABLE.getBoolean("Disguise", true);
-		disableGodMode = DISABLE.getBoolean("GodMode", true);
-		disableInvisibility = DISABLE.getBoolean("Invisibility", false);
-
-		inCombatEnabled = TAGGEDCOMBAT.getBoolean("Enabled", true);
-		timeInCombat = TAGGEDCOMBAT.getInt("Time", 10);
-		nameTagPrefix = TAGGEDCOMBAT.getString("NameTag Prefix", "&c");
-		final String tColor = TAGGEDCOMBAT.getString("Color", "&c").replace("&", "");
-		teamColor = tColor.isEmpty() || !CombatUtils.isVersionAtLeast(minecraftVersion, "1.13") ? null : ChatColor.getByChar(tColor);
-		useNameTag = !nameTagPrefix.equalsIgnoreCase("none") && !nameTagPrefix.isEmpty();
-		useCombatTeam = useNameTag || teamColor != null;
-		glowingInCombat = TAGGEDCOMBAT.getBoolean("Glowing", true);
-		selfTag = TAGGEDCOMBAT.getBoolean("Self Tag", false);
-		actionBarMessage = ChatUtils.colorize(TAGGEDCOMBAT.getString("Action Bar.Message", ""));
-		actionBarSymbol = TAGGEDCOMBAT.getString("Action Bar.Symbol", "▊");
-		actionBarTotalBars = TAGGEDCOMBAT.getInt("Action Bar.Total Bars", 10);
-		untagEnemy = TAGGEDCOMBAT.getBoolean("Untag Enemy", false);
-		blockEnderPearl = TAGGEDCOMBAT.getBoolean("Block.EnderPearls", true);
-		blockChorusFruit = TAGGEDCOMBAT.getBoolean("Block.ChorusFruits", true);
-		blockTeleport = TAGGEDCOMBAT.getBoolean("Block.Teleport", true);
-		blockPlaceBlocks = TAGGEDCOMBAT.getBoolean("Block.Place Blocks", false);
-		blockInteractInCombat = TAGGEDCOMBAT.getBoolean("Block.Interact", false);
-		blockGlideInCombat = TAGGEDCOMBAT.getBoolean("Block.Elytra", false);
-		blockEat = TAGGEDCOMBAT.getBoolean("Block.Eat", false);
-		stopCommands = TAGGEDCOMBAT.getBoolean("Block.Commands.Enabled", true);
-		commandsWhitelist = TAGGEDCOMBAT.getBoolean("Block.Commands.Whitelist", true);
-		commandsAllowed = getList(TAGGEDCOMBAT.getStringList("Block.Commands.Command List"));
-		punishOnKick = TAGGEDCOMBAT.getBoolean("Punishments.Punish On Kick", true);
-		fineAmount = TAGGEDCOMBAT.getDouble("Punishments.Money Penalty", 0.00);
-		logToFile = TAGGEDCOMBAT.getBoolean("Punishments.Log To File", true);
-		killOnLogout = TAGGEDCOMBAT.getBoolean("Punishments.Kill on Logout.Enabled", true);
-		dropInventory = TAGGEDCOMBAT.getBoolean("Punishments.Kill on Logout.Player Drops.Inventory", true);
-		dropExp = TAGGEDCOMBAT.getBoolean("Punishments.Kill on Logout.Player Drops.Experience", true);
-		dropArmor = TAGGEDCOMBAT.getBoolean("Punishments.Kill on Logout.Player Drops.Armor", true);
-		commandsOnPvPLog = getCommandList(TAGGEDCOMBAT.getStringList("Punishments.Commands On PvPLog"));
-
-		newbieProtectionEnabled = NEWBIEPROTECTION.getBoolean("Enabled", true);
-		newbieProtectionTime = NEWBIEPROTECTION.getInt("Time(minutes)", 5);
-		blockPickNewbies = NEWBIEPROTECTION.getBoolean("Block Pick Items", false);
-		newbieGodMode = NEWBIEPROTECTION.getBoolean("Protect From Everything", false);
-		newbieBlacklist = getList(NEWBIEPROTECTION.getStringList("Command Blacklist"));
-
-		killAbuseEnabled = KILLABUSE.getBoolean("Enabled", true);
-		killAbuseMaxKills = KILLABUSE.getInt("Max Kills", 5);
-		killAbuseTime = KILLABUSE.getInt("Time Limit", 60);
-		killAbuseCommands = getCommandList(KILLABUSE.getStringList("Commands on Abuse"));
-		respawnProtection = KILLABUSE.getInt("Respawn Protection", 5);
-
-		setMoneyReward(PLAYERKILLS.getDouble("Money Reward", 10));
-		setMoneyPenalty(PLAYERKILLS.getDouble("Money Penalty", 10));
-		moneySteal = PLAYERKILLS.getBoolean("Money Steal", false);
-		commandsOnKill = getCommandList(PLAYERKILLS.getStringList("Commands On Kill"));
-		playerKillsWGExclusions = new HashSet<>(getList(PLAYERKILLS.getStringList("WorldGuard Exclusions")));
-
-		toggleCooldown = PVPTOGGLE.getInt("Cooldown", 15);
-		setToggleNametagsEnabled(PVPTOGGLE.getBoolean("NameTags.Enabled", false));
-		toggleColorOn = PVPTOGGLE.getString("NameTags.Prefix On", "&1");
-		toggleColorOff = PVPTOGGLE.getString("NameTags.Prefix Off", "&2");
-		commandsPvPOn = getCommandList(PVPTOGGLE.getStringList("Commands PvP On"));
-		commandsPvPOff = getCommandList(PVPTOGGLE.getStringList("Commands PvP Off"));
-		forcePvPOnWorldChange = PVPTOGGLE.getBoolean("Force On Change World", false);
-		worldguardOverrides = PVPTOGGLE.getBoolean("WorldGuard Overrides", true);
-		worldguardOverridesList = new HashSet<>(getList(PVPTOGGLE.getStringList("WorldGuard Overrides Region List")));
-
-		simpleClansNoPvPInWar = Hook.SIMPLECLANS.getPlugin() == null ? false : PLUGINHOOKS.getBoolean("SimpleClans.No Protection In War", true);
-
-		checkUpdates = UPDATECHECK.getBoolean("Enabled", true);
-		autoUpdate = UPDATECHECK.getBoolean("Auto Update", true);
-
-		optOutMetrics = c.getBoolean("Metrics.Opt-out", false);
-		configVersion = c.getInt("Config Version");
-
+		initizalizeVariables(c, () -> {
+		});
+	}
+
+	/**
+	 * Publishes a new config once the fix-ups ran on it, so no reader sees it before they apply.
+	 * Setters called by the fix-ups change the new config, getters keep returning the old one until it's published.
+	 */
+	public static synchronized void initizalizeVariables(final Config c, final Runnable fixUps) {
+		final Snapshot loaded = new Snapshot(c);
+		loaded.debug = current.debug;
+		staged = loaded;
+		try {
+			fixUps.run();
+		} finally {
+			staged = null;
+		}
+		current = loaded;
 	}
 
-	public static void helpMenu(final Player player) {
-		player.sendMessage(ChatColor.GOLD + "-------------- PvPManager Help Page --------------");
-		player.sendMessage(ChatColor.GOLD + "/pvp [player] " + ChatColor.WHITE + "| Set PvP Enabled or Disabled");
-		player.sendMessage(ChatColor.GOLD + "/pvpinfo [player] " + ChatColor.WHITE + "| Check your or other player info");
-		player.sendMessage(ChatColor.GOLD + "/pvplist " + ChatColor.WHITE + "| List all players with PvP enabled");
-		player.sendMessage(ChatColor.GOLD + "/pvpo " + ChatColor.WHITE + "| Override all PvP protections");
-		player.sendMessage(ChatColor.GOLD + "/pvpstatus [player] " + ChatColor.WHITE + "| Check yours or other player PvP status");
-		player.sendMessage(ChatColor.GOLD + "/newbie disable " + ChatColor.WHITE + "| Disable Newbie Protection");
-		player.sendMessage(ChatColor.GOLD + "/pm " + ChatColor.WHITE + "| Show This Help Page");
-		player.sendMessage(ChatColor.GOLD + "/pm update " + ChatColor.WHITE + "| Update to Latest Version");
-		player.sendMessage(ChatColor.GOLD + "/pm reload " + ChatColor.WHITE + "| Reload PvPManager");
-		player.sendMessage(ChatColor.GOLD + "/pm cleanup " + ChatColor.WHITE + "| Cleanup inactive users from database");
-		player.sendMessage(ChatColor.GOLD + "-------------------------------------------------");
+	private static synchronized void edit(final Consumer<Snapshot> change) {
+		if (staged != null) {
+			change.accept(staged);
+			return;
+		}
+		final Snapshot copy = current.copy();
+		change.accept(copy);
+		current = copy;
 	}
 
 	private static List<String> getList(final List<String> list) {
@@ -260,236 +345,370 @@ public final class Settings {
 		return list;
 	}
 
-	public static List<String> getNewbieBlacklist() {
-		return newbieBlacklist;
+	private static Set<String> lowerCase(final List<String> list) {
+		final Set<String> set = new HashSet<>();
+		for (final String string : list) {
+			set.add(string.toLowerCase());
+		}
+		return Collections.unmodifiableSet(set);
+	}
+
+	public static void helpMenu(final Player player) {
+		player.sendMessage(ChatColor.GOLD + "-------------- PvPManager Help Page --------------");
+		player.sendMessage(ChatColor.GOLD + "/pvp [player] " + ChatColor.WHITE + "| Set PvP Enabled or Disabled");
+		player.sendMessage(ChatColor.GOLD + "/pvpinfo [player] " + ChatColor.WHITE + "| Check your or other player info");
+		player.sendMessage(ChatColor.GOLD + "/pvplist " + ChatColor.WHITE + "| List all players with PvP enabled");
+		player.sendMessage(ChatColor.GOLD + "/pvpo " + ChatColor.WHITE + "| Override all PvP protections");
+		player.sendMessage(ChatColor.GOLD + "/pvpstatus [player] " + ChatColor.WHITE + "| Check yours or other player PvP status");
+		player.sendMessage(ChatColor.GOLD + "/newbie disable " + ChatColor.WHITE + "| Disable Newbie Protection");
+		player.sendMessage(ChatColor.GOLD + "/pm " + ChatColor.WHITE + "| Show This Help Page");
+		player.sendMessage(ChatColor.GOLD + "/pm update " + ChatColor.WHITE + "| Update to Latest Version");
+		player.sendMessage(ChatColor.GOLD + "/pm reload " + ChatColor.WHITE + "| Reload PvPManager");
+		player.sendMessage(ChatColor.GOLD + "/pm cleanup " + ChatColor.WHITE + "| Cleanup inactive users from database");
+		player.sendMessage(ChatColor.GOLD + "/pm stats [reset] " + ChatColor.WHITE + "| Show how long each handler takes to run");
+		player.sendMessage(ChatColor.GOLD + "/pm profile <start|stop> [seconds] " + ChatColor.WHITE + "| Record a Java Flight Recorder profile");
+		player.sendMessage(ChatColor.GOLD + "/pm logs <player> [time] " + ChatColor.WHITE + "| Search a player's combat logs");
+		player.sendMessage(ChatColor.GOLD + "/pm explain <attacker> <defender> " + ChatColor.WHITE + "| Show why recent attacks were allowed or blocked");
+		if (current.perPlayerLocale) {
+			player.sendMessage(ChatColor.GOLD + "/pm locale <language|auto> " + ChatColor.WHITE + "| Choose your messages language");
+		}
+		player.sendMessage(ChatColor.GOLD + "-------------------------------------------------");
+	}
+
+	public static Set<String> getNewbieBlacklist() {
+		return current.newbieBlacklist;
 	}
 
-	public static List<String> getCommandsAllowed() {
-		return commandsAllowed;
+	public static Set<String> getCommandsAllowed() {
+		return current.commandsAllowed;
 	}
 
 	public static List<String> getCommandsOnKill() {
-		return commandsOnKill;
+		return current.commandsOnKill;
 	}
 
 	public static List<String> getCommandsOnPvPLog() {
-		return commandsOnPvPLog;
+		return current.commandsOnPvPLog;
 	}
 
 	public static List<String> getCommandsPvPOff() {
-		return commandsPvPOff;
+		return current.commandsPvPOff;
 	}
 
 	public static List<String> getCommandsPvPOn() {
-		return commandsPvPOn;
+		return current.commandsPvPOn;
 	}
 
 	public static DropMode getDropMode() {
-		return dropMode;
+		return current.dropMode;
 	}
 
 	public static double getFineAmount() {
-		return fineAmount;
+		return current.fineAmount;
 	}
 
 	public static void setFineAmount(final double fineAmount) {
-		Settings.fineAmount = fineAmount;
+		edit(s -> s.fineAmount = fineAmount);
 	}
 
 	public static List<String> getKillAbuseCommands() {
-		return killAbuseCommands;
+		return current.killAbuseCommands;
 	}
 
 	public static int getKillAbuseMaxKills() {
-		return killAbuseMaxKills;
+		return current.killAbuseMaxKills;
 	}
 
 	public static int getKillAbuseTime() {
-		return killAbuseTime;
+		return current.killAbuseTime;
 	}
 
 	public static String getLocale() {
-		return locale;
+		return current.locale;
+	}
+
+	public static boolean isPerPlayerLocale() {
+		return current.perPlayerLocale;
+	}
+
+	public static boolean isCombatJournal() {
+		return current.combatJournal;
+	}
+
+	public static int getCombatJournalBuffers() {
+		return current.combatJournalBuffers;
+	}
+
+	public static long getCombatJournalMaxFileSize() {
+		return current.combatJournalMaxFileSize;
+	}
+
+	public static boolean isHandlerTimings() {
+		return current.handlerTimings;
+	}
+
+	public static boolean isJMX() {
+		return current.jmx;
+	}
+
+	public static boolean isPrometheus() {
+		return current.prometheus;
+	}
+
+	public static int getPrometheusPort() {
+		return current.prometheusPort;
+	}
+
+	public static boolean isDecisionTrace() {
+		return current.decisionTrace;
+	}
+
+	public static int getDecisionTraceSize() {
+		return current.decisionTraceSize;
+	}
+
+	public static boolean isEventTrace() {
+		return current.eventTrace;
+	}
+
+	public static long getEventTraceMaxSize() {
+		return current.eventTraceMaxSize;
+	}
+
+	public static long getMessageThrottleInterval() {
+		return current.messageThrottleInterval;
+	}
+
+	public static void setMessageThrottleInterval(final long messageThrottleInterval) {
+		edit(s -> s.messageThrottleInterval = messageThrottleInterval);
+	}
+
+	public static boolean isMessageThrottleCount() {
+		return current.messageThrottleCount;
+	}
+
+	public static boolean isLoadShedding() {
+		return current.loadShedding;
+	}
+
+	public static double getTickBudget() {
+		return current.tickBudget;
+	}
+
+	public static double getLoadSheddingMinTPS() {
+		return current.loadSheddingMinTPS;
 	}
 
 	public static double getMoneyPenalty() {
-		return moneyPenalty;
+		return current.moneyPenalty;
 	}
 
 	public static double getMoneyReward() {
-		return moneyReward;
+		return current.moneyReward;
 	}
 
 	public static String getNameTagColor() {
-		return nameTagPrefix;
+		return current.nameTagPrefix;
 	}
 
 	public static int getNewbieProtectionTime() {
-		return newbieProtectionTime;
+		return current.newbieProtectionTime;
+	}
+
+	public static long getNewbieProtectionMillis() {
+		return current.newbieProtectionMillis;
 	}
 
 	public static int getRespawnProtection() {
-		return respawnProtection;
+		return current.respawnProtection;
 	}
 
 	public static int getTimeInCombat() {
-		return timeInCombat;
+		return current.timeInCombat;
+	}
+
+	public static long getTimeInCombatMillis() {
+		return current.timeInCombatMillis;
 	}
 
 	public static String getToggleColorOff() {
-		return toggleColorOff;
+		return current.toggleColorOff;
 	}
 
 	public static String getToggleColorOn() {
-		return toggleColorOn;
+		return current.toggleColorOn;
 	}
 
 	public static int getToggleCooldown() {
-		return toggleCooldown;
+		return current.toggleCooldown;
 	}
 
 	public static Set<String> getWorldsExcluded() {
-		return worldsExcluded;
+		return current.worldsExcluded;
 	}
 
 	public static boolean isAutoUpdate() {
-		return autoUpdate;
+		return current.autoUpdate;
 	}
 
 	public static boolean isBlockEnderPearl() {
-		return blockEnderPearl;
+		return current.blockEnderPearl;
 	}
 
 	public static boolean isBlockChorusFruit() {
-		return blockChorusFruit;
+		return current.blockChorusFruit;
 	}
 
 	public static boolean isBlockPickNewbies() {
-		return blockPickNewbies;
+		return current.blockPickNewbies;
 	}
 
 	public static boolean isBlockPlaceBlocks() {
-		return blockPlaceBlocks;
+		return current.blockPlaceBlocks;
 	}
 
 	public static boolean isBlockGlide() {
-		return blockGlideInCombat;
+		return current.blockGlideInCombat;
 	}
 
 	public static boolean isBlockEat() {
-		return blockEat;
+		return current.blockEat;
 	}
 
 	public static boolean isCommandsWhitelist() {
-		return commandsWhitelist;
+		return current.commandsWhitelist;
 	}
 
 	public static boolean isDefaultPvp() {
-		return defaultPvp;
+		return current.defaultPvp;
 	}
 
 	public static boolean isDisableDisguise() {
-		return disableDisguise;
+		return current.disableDisguise;
 	}
 
 	public static boolean isDisableFly() {
-		return disableFly;
+		return current.disableFly;
 	}
 
 	public static boolean isDisableGamemode() {
-		return disableGamemode;
+		return current.disableGamemode;
 	}
 
 	public static boolean isDisableInvisibility() {
-		return disableInvisibility;
+		return current.disableInvisibility;
 	}
 
 	public static boolean isDropArmor() {
-		return dropArmor;
+		return current.dropArmor;
 	}
 
 	public static boolean isDropExp() {
-		return dropExp;
+		return current.dropExp;
 	}
 
 	public static boolean isDropInventory() {
-		return dropInventory;
+		return current.dropInventory;
 	}
 
 	public static boolean isIgnoreNoDamageHits() {
-		return ignoreNoDamageHits;
+		return current.ignoreNoDamageHits;
 	}
 
 	public static void setIgnoreNoDamageHits(final boolean ignoreNoDamageHits) {
-		Settings.ignoreNoDamageHits = ignoreNoDamageHits;
+		edit(s -> s.ignoreNoDamageHits = ignoreNoDamageHits);
 	}
 
 	public static boolean isInCombatEnabled() {
-		return inCombatEnabled;
+		return current.inCombatEnabled;
 	}
 
 	public static boolean isKillAbuseEnabled() {
-		return killAbuseEnabled;
+		return current.killAbuseEnabled;
 	}
 
 	public static boolean isKillOnLogout() {
-		return killOnLogout;
+		return current.killOnLogout;
 	}
 
 	public static boolean isLogToFile() {
-		return logToFile;
+		return current.logToFile;
+	}
+
+	public static String getLogFileFormat() {
+		return current.logFileFormat;
+	}
+
+	public static int getLogFileFlushInterval() {
+		return current.logFileFlushInterval;
+	}
+
+	public static long getLogFileMaxSize() {
+		return current.logFileMaxSize;
+	}
+
+	public static boolean isLogFileRotateDaily() {
+		return current.logFileRotateDaily;
+	}
+
+	public static boolean isLogFileCompress() {
+		return current.logFileCompress;
+	}
+
+	public static int getLogFileKeepDays() {
+		return current.logFileKeepDays;
 	}
 
 	public static boolean isNewbieGodMode() {
-		return newbieGodMode;
+		return current.newbieGodMode;
 	}
 
 	public static boolean isNewbieProtectionEnabled() {
-		return newbieProtectionEnabled;
+		return current.newbieProtectionEnabled;
 	}
 
 	public static boolean isPvpBlood() {
-		return pvpBlood;
+		return current.pvpBlood;
 	}
 
 	public static boolean isMoneySteal() {
-		return moneySteal;
+		return current.moneySteal;
 	}
 
 	public static boolean isUntagEnemy() {
-		return untagEnemy;
+		return current.untagEnemy;
 	}
 
 	public static void setUntagEnemy(final boolean untagEnemy) {
-		Settings.untagEnemy = untagEnemy;
+		edit(s -> s.untagEnemy = untagEnemy);
 	}
 
 	public static boolean borderHoppingVulnerable() {
-		return borderHoppingVulnerable;
+		return current.borderHoppingVulnerable;
 	}
 
 	public static boolean borderHoppingPushback() {
-		return borderHoppingPushback;
+		return current.borderHoppingPushback;
 	}
 
 	public static void setBorderHoppingPushback(final boolean borderHoppingPushback) {
-		Settings.borderHoppingPushback = borderHoppingPushback;
+		edit(s -> s.borderHoppingPushback = borderHoppingPushback);
 	}
 
 	public static boolean borderHoppingResetCombatTag() {
-		return borderHoppingResetCombatTag;
+		return current.borderHoppingResetCombatTag;
 	}
 
 	public static void setBorderHoppingResetCombatTag(final boolean borderHoppingResetCombatTag) {
-		Settings.borderHoppingResetCombatTag = borderHoppingResetCombatTag;
+		edit(s -> s.borderHoppingResetCombatTag = borderHoppingResetCombatTag);
 	}
 
 	public static boolean isStopCommands() {
-		return stopCommands;
+		return current.stopCommands;
 	}
 
 	public static boolean isToggleNametagsEnabled() {
-		return toggleNametagsEnabled;
+		return current.toggleNametagsEnabled;
 	}
 
 	public static boolean isUpdate() {
@@ -497,35 +716,35 @@ public final class Settings {
 	}
 
 	public static boolean isUpdateCheck() {
-		return checkUpdates;
+		return current.checkUpdates;
 	}
 
 	public static boolean isOptOutMetrics() {
-		return optOutMetrics;
+		return current.optOutMetrics;
 	}
 
 	public static boolean punishOnKick() {
-		return punishOnKick;
+		return current.punishOnKick;
 	}
 
 	public static boolean isDisableGodMode() {
-		return disableGodMode;
+		return current.disableGodMode;
 	}
 
 	public static void setPvpBlood(final boolean pvpBlood) {
-		Settings.pvpBlood = pvpBlood;
+		edit(s -> s.pvpBlood = pvpBlood);
 	}
 
 	public static void setMoneyPenalty(final double moneyPenalty) {
-		Settings.moneyPenalty = moneyPenalty;
+		edit(s -> s.moneyPenalty = moneyPenalty);
 	}
 
 	public static void setMoneyReward(final double moneyReward) {
-		Settings.moneyReward = moneyReward;
+		edit(s -> s.moneyReward = moneyReward);
 	}
 
 	public static void setToggleNametagsEnabled(final boolean toggleNametagsEnabled) {
-		Settings.toggleNametagsEnabled = toggleNametagsEnabled;
+		edit(s -> s.toggleNametagsEnabled = toggleNametagsEnabled);
 	}
 
 	public static void setUpdate(final boolean update) {
@@ -533,19 +752,19 @@ public final class Settings {
 	}
 
 	public static boolean isUseNameTag() {
-		return useNameTag;
+		return current.useNameTag;
 	}
 
 	public static void setUseCombatTeam(final boolean useCombatTeam) {
-		Settings.useCombatTeam = useCombatTeam;
+		edit(s -> s.useCombatTeam = useCombatTeam);
 	}
 
 	public static boolean isUseCombatTeam() {
-		return useCombatTeam;
+		return current.useCombatTeam;
 	}
 
 	public static int getConfigVersion() {
-		return configVersion;
+		return current.configVersion;
 	}
 
 	public static boolean isAutoSoupEnabled() {
@@ -553,67 +772,95 @@ public final class Settings {
 	}
 
 	public static double getSoupHealth() {
-		return soupHealth;
+		return current.soupHealth;
 	}
 
 	public static boolean isSoupBowlDisappear() {
-		return soupBowlDisappear;
+		return current.soupBowlDisappear;
 	}
 
 	public static boolean isBlockTeleport() {
-		return blockTeleport;
+		return current.blockTeleport;
 	}
 
 	public static boolean isForcePvPOnWorldChange() {
-		return forcePvPOnWorldChange;
+		return current.forcePvPOnWorldChange;
 	}
 
 	public static boolean isWorldguardOverrides() {
-		return worldguardOverrides;
+		return current.worldguardOverrides;
 	}
 
 	public static boolean isGlowingInCombat() {
-		return glowingInCombat;
+		return current.glowingInCombat;
 	}
 
 	public static boolean blockInteract() {
-		return blockInteractInCombat;
+		return current.blockInteractInCombat;
 	}
 
 	public static ChatColor getTeamColor() {
-		return teamColor;
+		return current.teamColor;
 	}
 
 	public static String getActionBarMessage() {
-		return actionBarMessage;
+		return current.actionBarMessage;
 	}
 
 	public static String getActionBarSymbol() {
-		return actionBarSymbol;
+		return current.actionBarSymbol;
 	}
 
 	public static int getActionBarBars() {
-		return actionBarTotalBars;
+		return current.actionBarTotalBars;
+	}
+
+	public static boolean isBossBarEnabled() {
+		return current.bossBarEnabled;
+	}
+
+	public static void setBossBarEnabled(final boolean bossBarEnabled) {
+		edit(s -> s.bossBarEnabled = bossBarEnabled);
+	}
+
+	public static String getBossBarMessage() {
+		return current.bossBarMessage;
+	}
+
+	public static String getBossBarColor() {
+		return current.bossBarColor;
+	}
+
+	public static String getBossBarStyle() {
+		return current.bossBarStyle;
 	}
 
 	public static Set<String> getKillsWGExclusions() {
-		return playerKillsWGExclusions;
+		return current.playerKillsWGExclusions;
 	}
 
 	public static String getMinecraftVersion() {
-		return minecraftVersion;
+		return Capabilities.MINECRAFT_VERSION;
 	}
 
 	public static boolean isSimpleClansNoPvPInWar() {
-		return simpleClansNoPvPInWar;
+		return current.simpleClansNoPvPInWar;
 	}
 
 	public static boolean isSelfTag() {
-		return selfTag;
+		return current.selfTag;
 	}
 
 	public static void setSelfTag(final boolean selfTag) {
-		Settings.selfTag = selfTag;
+		edit(s -> s.selfTag = selfTag);
+	}
+
+	public static boolean isDebug() {
+		return current.debug;
+	}
+
+	public static void setDebug(final boolean debug) {
+		edit(s -> s.debug = debug);
 	}
 
 	public static boolean isReloading() {
@@ -625,6 +872,6 @@ public final class Settings {
 	}
 
 	public static Set<String> getWorldguardOverridesList() {
-		return worldguardOverridesList;
+		return current.worldguardOverridesList;
 	}
 }
@@ -6,6 +6,7 @@ public class UserDataFields {
 	public static final String TOGGLE_TIME = "toggletime";
 	public static final String NEWBIE = "newbie";
 	public static final String NEWBIE_TIMELEFT = "newbie_timeleft";
+	public static final String LOCALE = "locale";
 
 	private UserDataFields() {}
 }
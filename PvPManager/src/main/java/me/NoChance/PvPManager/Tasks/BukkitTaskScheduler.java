@@ -0,0 +1,68 @@
+package me.NoChance.PvPManager.Tasks;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Everything runs through the Bukkit scheduler, entity tasks on the main thread like the rest
+ */
+public class BukkitTaskScheduler implements TaskScheduler {
+
+	private final Plugin plugin;
+
+	public BukkitTaskScheduler(final Plugin plugin) {
+		this.plugin = plugin;
+	}
+
+	@Override
+	public Task run(final Runnable task) {
+		return wrap(Bukkit.getScheduler().runTask(plugin, task));
+	}
+
+	@Override
+	public Task runLater(final Runnable task, final long delay) {
+		return wrap(Bukkit.getScheduler().runTaskLater(plugin, task, delay));
+	}
+
+	@Override
+	public Task runTimer(final Runnable task, final long delay, final long period) {
+		return wrap(Bukkit.getScheduler().runTaskTimer(plugin, task, delay, period));
+	}
+
+	@Override
+	public Task runAsync(final Runnable task) {
+		return wrap(Bukkit.getScheduler().runTaskAsynchronously(plugin, task));
+	}
+
+	@Override
+	public Task runAsyncTimer(final Runnable task, final long delay, final long period) {
+		return wrap(Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, task, delay, period));
+	}
+
+	@Override
+	public Task run(final Entity entity, final Runnable task) {
+		return run(task);
+	}
+
+	@Override
+	public Task runLater(final Entity entity, final Runnable task, final long delay) {
+		return runLater(task, delay);
+	}
+
+	@Override
+	public void cancelAll() {
+		Bukkit.getScheduler().cancelTasks(plugin);
+	}
+
+	@Override
+	public boolean isRegionThreaded() {
+		return false;
+	}
+
+	private static Task wrap(final BukkitTask task) {
+		return () -> task.cancel();
+	}
+
+}
@@ -3,9 +3,7 @@ package me.NoChance.PvPManager.Tasks;
 import me.NoChance.PvPManager.PvPlayer;
 import me.NoChance.PvPManager.Managers.PlayerHandler;
 
-import org.bukkit.scheduler.BukkitRunnable;
-
-public class CleanKillersTask extends BukkitRunnable {
+public class CleanKillersTask implements Runnable {
 
 	private final PlayerHandler ph;
 
@@ -0,0 +1,194 @@
+package me.NoChance.PvPManager.Tasks;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Schedules on Folia's global region, entity and async schedulers.
+ * PvPManager builds against the Spigot API, so the Folia schedulers are called through reflection.
+ */
+public class FoliaTaskScheduler implements TaskScheduler {
+
+	private static final String SCHEDULER_PACKAGE = "io.papermc.paper.threadedregions.scheduler.";
+	private static final boolean SUPPORTED = hasClass("io.papermc.paper.threadedregions.RegionizedServer");
+
+	private final Plugin plugin;
+	private final Object globalScheduler;
+	private final Object asyncScheduler;
+	private final Method globalRun;
+	private final Method globalRunDelayed;
+	private final Method globalRunAtFixedRate;
+	private final Method globalCancelTasks;
+	private final Method asyncRunNow;
+	private final Method asyncRunAtFixedRate;
+	private final Method asyncCancelTasks;
+	private final Method getEntityScheduler;
+	private final Method entityRun;
+	private final Method entityRunDelayed;
+	private final Method taskCancel;
+	// Folia can't cancel a plugin's entity tasks at once, so they are kept until they run, retire or get cancelled
+	private final Set<Task> entityTasks = ConcurrentHashMap.newKeySet();
+
+	public FoliaTaskScheduler(final Plugin plugin) {
+		this.plugin = plugin;
+		try {
+			final Class<?> global = Class.forName(SCHEDULER_PACKAGE + "GlobalRegionScheduler");
+			final Class<?> async = Class.forName(SCHEDULER_PACKAGE + "AsyncScheduler");
+			final Class<?> entity = Class.forName(SCHEDULER_PACKAGE + "EntityScheduler");
+			globalScheduler = Server.class.getMethod("getGlobalRegionScheduler").invoke(Bukkit.getServer());
+			asyncScheduler = Server.class.getMethod("getAsyncScheduler").invoke(Bukkit.getServer());
+			globalRun = global.getMethod("run", Plugin.class, Consumer.class);
+			globalRunDelayed = global.getMethod("runDelayed", Plugin.class, Consumer.class, long.class);
+			globalRunAtFixedRate = global.getMethod("runAtFixedRate", Plugin.class, Consumer.class, long.class, long.class);
+			globalCancelTasks = global.getMethod("cancelTasks", Plugin.class);
+			asyncRunNow = async.getMethod("runNow", Plugin.class, Consumer.class);
+			asyncRunAtFixedRate = async.getMethod("runAtFixedRate", Plugin.class, Consumer.class, long.class, long.class, TimeUnit.class);
+			asyncCancelTasks = async.getMethod("cancelTasks", Plugin.class);
+			getEntityScheduler = Entity.class.getMethod("getScheduler");
+			entityRun = entity.getMethod("run", Plugin.class, Consumer.class, Runnable.class);
+			entityRunDelayed = entity.getMethod("runDelayed", Plugin.class, Consumer.class, Runnable.class, long.class);
+			taskCancel = Class.forName(SCHEDULER_PACKAGE + "ScheduledTask").getMethod("cancel");
+		} catch (final ReflectiveOperationException e) {
+			throw new IllegalStateException("Unsupported Folia scheduler API", e);
+		}
+	}
+
+	@Override
+	public Task run(final Runnable task) {
+		return schedule(globalRun, globalScheduler, plugin, consumer(task));
+	}
+
+	// Folia rejects delays under one tick
+	@Override
+	public Task runLater(final Runnable task, final long delay) {
+		return schedule(globalRunDelayed, globalScheduler, plugin, consumer(task), Math.max(1, delay));
+	}
+
+	@Override
+	public Task runTimer(final Runnable task, final long delay, final long period) {
+		return schedule(globalRunAtFixedRate, globalScheduler, plugin, consumer(task), Math.max(1, delay), Math.max(1, period));
+	}
+
+	@Override
+	public Task runAsync(final Runnable task) {
+		return schedule(asyncRunNow, asyncScheduler, plugin, consumer(task));
+	}
+
+	@Override
+	public Task runAsyncTimer(final Runnable task, final long delay, final long period) {
+		return schedule(asyncRunAtFixedRate, asyncScheduler, plugin, consumer(task), delay * 50, Math.max(1, period) * 50, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public Task run(final Entity entity, final Runnable task) {
+		return scheduleTracked(entityRun, entity, task);
+	}
+
+	@Override
+	public Task runLater(final Entity entity, final Runnable task, final long delay) {
+		return scheduleTracked(entityRunDelayed, entity, task, Math.max(1, delay));
+	}
+
+	@Override
+	public void cancelAll() {
+		invoke(globalCancelTasks, globalScheduler, plugin);
+		invoke(asyncCancelTasks, asyncScheduler, plugin);
+		for (final Task task : entityTasks) {
+			task.cancel();
+		}
+	}
+
+	@Override
+	public boolean isRegionThreaded() {
+		return true;
+	}
+
+	private Object entityScheduler(final Entity entity) {
+		return invoke(getEntityScheduler, entity);
+	}
+
+	private Task scheduleTracked(final Method method, final Entity entity, final Runnable task, final Object... delay) {
+		final AtomicBoolean finished = new AtomicBoolean();
+		final AtomicReference<Task> tracked = new AtomicReference<>();
+		final Runnable untrack = () -> {
+			finished.set(true);
+			final Task scheduled = tracked.get();
+			if (scheduled != null) {
+				entityTasks.remove(scheduled);
+			}
+		};
+		final Object[] args = new Object[3 + delay.length];
+		args[0] = plugin;
+		args[1] = consumer(() -> {
+			untrack.run();
+			task.run();
+		});
+		// Runs instead of the task if the entity is removed first
+		args[2] = untrack;
+		System.arraycopy(delay, 0, args, 3, delay.length);
+		final Task scheduled = schedule(method, entityScheduler(entity), args);
+		if (scheduled == null)
+			return null;
+
+		final Task handle = () -> {
+			untrack.run();
+			scheduled.cancel();
+		};
+		tracked.set(handle);
+		entityTasks.add(handle);
+		// The task may already have run or retired on its region thread
+		if (finished.get()) {
+			entityTasks.remove(handle);
+		}
+		return handle;
+	}
+
+	private Task schedule(final Method method, final Object scheduler, final Object... args) {
+		final Object scheduled = invoke(method, scheduler, args);
+		if (scheduled == null)
+			return null;
+		return () -> invoke(taskCancel, scheduled);
+	}
+
+	private static Consumer<Object> consumer(final Runnable task) {
+		return scheduled -> task.run();
+	}
+
+	private static Object invoke(final Method method, final Object target, final Object... args) {
+		try {
+			return method.invoke(target, args);
+		} catch (final InvocationTargetException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			throw new IllegalStateException(cause);
+		} catch (final IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static boolean hasClass(final String name) {
+		try {
+			Class.forName(name);
+			return true;
+		} catch (final ClassNotFoundException e) {
+			return false;
+		}
+	}
+
+	public static boolean isSupported() {
+		return SUPPORTED;
+	}
+
+}
@@ -1,30 +1,46 @@
 package me.NoChance.PvPManager.Tasks;
 
-import org.bukkit.scheduler.BukkitRunnable;
-
 import me.NoChance.PvPManager.PvPManager;
 import me.NoChance.PvPManager.PvPlayer;
 import me.NoChance.PvPManager.Settings.Settings;
+import me.NoChance.PvPManager.Tasks.TaskScheduler.Task;
+import me.NoChance.PvPManager.Utils.Clock;
 
-public class NewbieTask extends BukkitRunnable {
+public class NewbieTask implements Runnable {
 
 	private final PvPlayer player;
 	private final long finishTime;
+	private final Task task;
+	private volatile boolean expired;
 
 	public NewbieTask(final PvPlayer player, final PvPManager plugin, final long time) {
 		this.player = player;
-		final long timeLeft = time == 0 ? Settings.getNewbieProtectionTime() * 60000 : time;
-		this.finishTime = System.currentTimeMillis() + timeLeft;
-		this.runTaskLater(plugin, timeLeft / 50);
+		final long timeLeft = time == 0 ? Settings.getNewbieProtectionMillis() : time;
+		this.finishTime = Clock.millis() + timeLeft;
+		this.task = plugin.getScheduler().runLater(player.getPlayer(), this, timeLeft / 50);
 	}
 
 	@Override
 	public final void run() {
+		expired = true;
 		player.setNewbie(false);
 	}
 
+	public void cancel() {
+		if (task != null) {
+			task.cancel();
+		}
+	}
+
+	/**
+	 * @return true if the protection ran out, false if it is still running or was removed early
+	 */
+	public boolean isExpired() {
+		return expired;
+	}
+
 	public long getTimeleft() {
-		return finishTime - System.currentTimeMillis();
+		return finishTime - Clock.millis();
 	}
 
 }
@@ -7,36 +7,41 @@ import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
 
-import org.bukkit.Bukkit;
-
 import me.NoChance.PvPManager.PvPlayer;
 import me.NoChance.PvPManager.Managers.DisplayManager;
 import me.NoChance.PvPManager.Settings.Settings;
+import me.NoChance.PvPManager.Utils.Clock;
 
 public class TagTask extends TimerTask {
 
 	private final Timer timer;
-	private final long time = Settings.getTimeInCombat() * 1000L;
+	private long time = Settings.getTimeInCombatMillis();
 	private final Set<PvPlayer> tagged = Collections.synchronizedSet(new HashSet<>());
 	private final DisplayManager display;
 
 	public TagTask(final DisplayManager display) {
-		this.display = display;
-		this.timer = new Timer();
+		this(display, new Timer());
 		timer.scheduleAtFixedRate(this, 1000, 500);
 	}
 
+	// Left unscheduled, for stress tests that run the task themselves
+	TagTask(final DisplayManager display, final Timer timer) {
+		this.display = display;
+		this.timer = timer;
+	}
+
 	@Override
 	public final void run() {
 		synchronized (tagged) {
 			final Iterator<PvPlayer> iterator = tagged.iterator();
 			while (iterator.hasNext()) {
 				final PvPlayer p = iterator.next();
-				final long timePassed = System.currentTimeMillis() - p.getTaggedTime();
+				final long timePassed = Clock.millis() - p.getTaggedTime();
 				if (timePassed >= time) {
-					Bukkit.getScheduler().runTask(display.getPlugin(), p::unTag);
+					display.getPlugin().getScheduler().run(p.getPlayer(), p::unTag);
 					iterator.remove();
-				} else if (!Settings.getActionBarMessage().isEmpty()) {
+					display.discardBossBar(p);
+				} else if (display.isProgressEnabled() && !TickWatchdog.isShedding()) {
 					display.showProgress(p, timePassed / 1000D);
 				}
 			}
@@ -52,17 +57,31 @@ public class TagTask extends TimerTask {
 				}
 		}
 		tagged.clear();
+		display.discardAllBossBars();
 		super.cancel();
 		timer.cancel();
 		return false;
 	}
 
+	/**
+	 * Picks up a new combat time and rebuilds the progress bars between two sweeps, tagged players stay tagged
+	 */
+	public final void reload() {
+		synchronized (tagged) {
+			time = Settings.getTimeInCombatMillis();
+			display.reload();
+		}
+	}
+
 	public final void addTagged(final PvPlayer p) {
 		tagged.add(p);
 	}
 
 	public final void untag(final PvPlayer p) {
-		tagged.remove(p);
+		synchronized (tagged) {
+			tagged.remove(p);
+			display.discardBossBar(p);
+		}
 		if (p.isInCombat()) {
 			p.unTag();
 		}
@@ -72,4 +91,8 @@ public class TagTask extends TimerTask {
 		return new HashSet<>(tagged);
 	}
 
+	public int getTaggedCount() {
+		return tagged.size();
+	}
+
 }
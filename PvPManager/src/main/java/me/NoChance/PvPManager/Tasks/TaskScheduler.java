@@ -0,0 +1,58 @@
+package me.NoChance.PvPManager.Tasks;
+
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Runs PvPManager's tasks on the right thread for the server.
+ * On region threaded servers like Folia there is no main thread, work on a player has to run on the thread owning its region
+ * and everything else on the global region. Elsewhere all of it goes to the Bukkit scheduler. Delays and periods are in ticks.
+ */
+public interface TaskScheduler {
+
+	static TaskScheduler create(final Plugin plugin) {
+		return FoliaTaskScheduler.isSupported() ? new FoliaTaskScheduler(plugin) : new BukkitTaskScheduler(plugin);
+	}
+
+	/**
+	 * Runs the task on the main thread, or the global region, on the next tick
+	 */
+	Task run(Runnable task);
+
+	Task runLater(Runnable task, long delay);
+
+	Task runTimer(Runnable task, long delay, long period);
+
+	Task runAsync(Runnable task);
+
+	Task runAsyncTimer(Runnable task, long delay, long period);
+
+	/**
+	 * Runs the task on the thread that owns the entity, on the next tick
+	 *
+	 * @return the task, or null if the entity was removed and the task won't run
+	 */
+	Task run(Entity entity, Runnable task);
+
+	/**
+	 * @return the task, or null if the entity was removed and the task won't run
+	 */
+	Task runLater(Entity entity, Runnable task, long delay);
+
+	/**
+	 * Cancels every task PvPManager scheduled
+	 */
+	void cancelAll();
+
+	/**
+	 * @return true if the server ticks regions on separate threads instead of having a main thread
+	 */
+	boolean isRegionThreaded();
+
+	interface Task {
+
+		void cancel();
+
+	}
+
+}
@@ -0,0 +1,80 @@
+package me.NoChance.PvPManager.Tasks;
+
+import me.NoChance.PvPManager.Diagnostics.Timing;
+import me.NoChance.PvPManager.Settings.Settings;
+import me.NoChance.PvPManager.Utils.Log;
+
+/**
+ * Runs every tick to measure the server TPS and the time PvPManager spent in its handlers during the last second.
+ * While either is over the configured limits, cosmetic work is skipped until things stay calm for a few seconds.
+ */
+public class TickWatchdog implements Runnable {
+
+	private static final int BUDGET_WINDOW = 20;
+	private static final int TPS_WINDOW = 100;
+	private static final int RECOVERY_TICKS = 100;
+
+	private static volatile boolean shedding;
+	private static volatile double tps = 20;
+	private static volatile double tickMillis;
+
+	private final long[] tickStarts = new long[TPS_WINDOW];
+	private final long[] tickTimes = new long[BUDGET_WINDOW];
+	private long windowTime;
+	private int tick;
+	private int calmTicks;
+
+	public TickWatchdog() {
+		reset();
+	}
+
+	@Override
+	public final void run() {
+		final long now = System.nanoTime();
+		final long oldest = tickStarts[tick % TPS_WINDOW];
+		tickStarts[tick % TPS_WINDOW] = now;
+		final long pluginTime = Timing.drainTickTime();
+		windowTime += pluginTime - tickTimes[tick % BUDGET_WINDOW];
+		tickTimes[tick % BUDGET_WINDOW] = pluginTime;
+		if (++tick <= TPS_WINDOW)
+			return;
+
+		tps = Math.min(20, TPS_WINDOW * 1_000_000_000D / (now - oldest));
+		tickMillis = windowTime / (double) BUDGET_WINDOW / 1_000_000D;
+		if (tickMillis > Settings.getTickBudget() || tps < Settings.getLoadSheddingMinTPS()) {
+			calmTicks = 0;
+			if (!shedding) {
+				shedding = true;
+				Log.info(String.format("Server is struggling (%.1f TPS, PvPManager %.2f ms/tick), skipping cosmetic effects", tps, tickMillis));
+			}
+		} else if (shedding && ++calmTicks >= RECOVERY_TICKS) {
+			shedding = false;
+			Log.info(String.format("Server recovered (%.1f TPS, PvPManager %.2f ms/tick), cosmetic effects enabled again", tps, tickMillis));
+		}
+	}
+
+	/**
+	 * @return true if optional work like particles, progress bars and nametags should be skipped
+	 */
+	public static boolean isShedding() {
+		return shedding;
+	}
+
+	/**
+	 * Back to a healthy server, for when the watchdog stops so nothing stays skipped
+	 */
+	public static void reset() {
+		shedding = false;
+		tps = 20;
+		tickMillis = 0;
+	}
+
+	public static double getTPS() {
+		return tps;
+	}
+
+	public static double getTickMillis() {
+		return tickMillis;
+	}
+
+}
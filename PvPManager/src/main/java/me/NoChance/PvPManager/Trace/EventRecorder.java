@@ -0,0 +1,363 @@
+package me.NoChance.PvPManager.Trace;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.Location;
+import org.bukkit.entity.AreaEffectCloud;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Projectile;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.player.PlayerCommandPreprocessEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+
+import me.NoChance.PvPManager.Settings.Settings;
+import me.NoChance.PvPManager.Trace.TraceRecord.Damager;
+import me.NoChance.PvPManager.Trace.TraceRecord.Type;
+import me.NoChance.PvPManager.Utils.Capabilities;
+import me.NoChance.PvPManager.Utils.Log;
+
+/**
+ * Records the events PvPManager listens to into a trace file, with only the fields its listeners read, so real traffic can be replayed.
+ * Events are recorded at the lowest priority, as they arrive before any listener changes them.
+ * Like the combat journal, events go into preallocated buffers written by another thread and are dropped instead of waiting.
+ */
+public class EventRecorder implements Listener {
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final int BUFFERS = 8;
+	private static final DateTimeFormatter FILE_DATE = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+	private final File file;
+	private final long maxFileSize;
+	private final Object lock = new Object();
+	private final BlockingQueue<ByteBuffer> free = new ArrayBlockingQueue<>(BUFFERS);
+	private final BlockingQueue<ByteBuffer> full = new ArrayBlockingQueue<>(BUFFERS);
+	private final Map<UUID, Integer> players = new HashMap<>();
+	private final Map<String, Integer> names = new HashMap<>();
+	private final long startTime = System.currentTimeMillis();
+	private final Thread writer;
+	private ByteBuffer current;
+	private long lastTime;
+	private long dropped;
+	private volatile boolean running = true;
+	private volatile boolean limitReached;
+	private FileChannel channel;
+	private long fileSize;
+
+	public EventRecorder(final File folder) {
+		this.maxFileSize = Settings.getEventTraceMaxSize() * 1024 * 1024;
+		if (!folder.exists() && !folder.mkdirs()) {
+			Log.warning("Could not create the event trace folder");
+		}
+		final String name = "trace-" + FILE_DATE.format(LocalDateTime.now());
+		File newFile = new File(folder, name + TraceFormat.EXTENSION);
+		for (int i = 1; newFile.exists(); i++) {
+			newFile = new File(folder, name + "-" + i + TraceFormat.EXTENSION);
+		}
+		this.file = newFile;
+		for (int i = 0; i < BUFFERS; i++) {
+			free.add(ByteBuffer.allocateDirect(BUFFER_SIZE));
+		}
+		current = free.poll();
+		lastTime = startTime;
+		writer = new Thread(this::writeLoop, "PvPManager Event Trace");
+		writer.setDaemon(true);
+		writer.start();
+		Log.info("Recording events to " + file.getName());
+	}
+
+	@EventHandler(priority = EventPriority.LOWEST)
+	public final void onPlayerJoin(final PlayerJoinEvent event) {
+		final Player player = event.getPlayer();
+		synchronized (lock) {
+			final int world = nameId(player.getWorld().getName());
+			if (world < 0)
+				return;
+			final ByteBuffer buffer = begin(Type.JOIN, false, player);
+			if (buffer != null) {
+				TraceFormat.putVarInt(buffer, world);
+			}
+		}
+	}
+
+	@EventHandler(priority = EventPriority.LOWEST)
+	public final void onPlayerQuit(final PlayerQuitEvent event) {
+		synchronized (lock) {
+			begin(Type.QUIT, false, event.getPlayer());
+		}
+	}
+
+	@EventHandler(priority = EventPriority.LOWEST)
+	public final void onPlayerDamage(final EntityDamageByEntityEvent event) {
+		if (!(event.getEntity() instanceof Player))
+			return;
+		final Player victim = (Player) event.getEntity();
+		final Entity damager = event.getDamager();
+		Damager kind = Damager.OTHER;
+		Object attacker = damager;
+		if (damager instanceof Player) {
+			kind = Damager.PLAYER;
+		} else if (damager instanceof Projectile) {
+			kind = Damager.PROJECTILE;
+			attacker = ((Projectile) damager).getShooter();
+		} else if (Capabilities.AREA_EFFECT_CLOUDS && damager instanceof AreaEffectCloud) {
+			kind = Damager.AREA_EFFECT_CLOUD;
+			attacker = ((AreaEffectCloud) damager).getSource();
+		}
+		synchronized (lock) {
+			final int world = nameId(victim.getWorld().getName());
+			final int cause = nameId(event.getCause().name());
+			if (world < 0 || cause < 0)
+				return;
+			final ByteBuffer buffer = begin(Type.DAMAGE, event.isCancelled(), victim);
+			if (buffer == null)
+				return;
+			buffer.put((byte) kind.ordinal());
+			TraceFormat.putVarInt(buffer, attacker instanceof Player ? playerId((Player) attacker) + 1 : 0);
+			TraceFormat.putVarInt(buffer, world);
+			TraceFormat.putVarInt(buffer, cause);
+			buffer.putInt(Float.floatToIntBits((float) event.getDamage()));
+		}
+	}
+
+	@EventHandler(priority = EventPriority.LOWEST)
+	public final void onPlayerDeath(final PlayerDeathEvent event) {
+		final Player player = event.getEntity();
+		final Player killer = player.getKiller();
+		synchronized (lock) {
+			final int world = nameId(player.getWorld().getName());
+			if (world < 0)
+				return;
+			final ByteBuffer buffer = begin(Type.DEATH, false, player);
+			if (buffer == null)
+				return;
+			TraceFormat.putVarInt(buffer, killer != null ? playerId(killer) + 1 : 0);
+			TraceFormat.putVarInt(buffer, world);
+		}
+	}
+
+	@EventHandler(priority = EventPriority.LOWEST)
+	public final void onPlayerTeleport(final PlayerTeleportEvent event) {
+		final Location from = event.getFrom();
+		final Location to = event.getTo();
+		if (to == null || from.getWorld() == null || to.getWorld() == null)
+			return;
+		synchronized (lock) {
+			final int cause = nameId(event.getCause().name());
+			final int fromWorld = nameId(from.getWorld().getName());
+			final int toWorld = nameId(to.getWorld().getName());
+			if (cause < 0 || fromWorld < 0 || toWorld < 0)
+				return;
+			final ByteBuffer buffer = begin(Type.TELEPORT, event.isCancelled(), event.getPlayer());
+			if (buffer == null)
+				return;
+			TraceFormat.putVarInt(buffer, cause);
+			putLocation(buffer, fromWorld, from);
+			putLocation(buffer, toWorld, to);
+		}
+	}
+
+	@EventHandler(priority = EventPriority.LOWEST)
+	public final void onCommand(final PlayerCommandPreprocessEvent event) {
+		// Arguments can hold player names and private messages, so only the command itself is kept
+		final String command = event.getMessage().split(" ", 2)[0];
+		synchronized (lock) {
+			final int id = nameId(command);
+			if (id < 0)
+				return;
+			final ByteBuffer buffer = begin(Type.COMMAND, event.isCancelled(), event.getPlayer());
+			if (buffer != null) {
+				TraceFormat.putVarInt(buffer, id);
+			}
+		}
+	}
+
+	private void recordMove(final PlayerMoveEvent event) {
+		final Location from = event.getFrom();
+		final Location to = event.getTo();
+		if (to == null || from.getWorld() == null)
+			return;
+		synchronized (lock) {
+			final int world = nameId(from.getWorld().getName());
+			if (world < 0)
+				return;
+			final ByteBuffer buffer = begin(Type.MOVE, event.isCancelled(), event.getPlayer());
+			if (buffer == null)
+				return;
+			putLocation(buffer, world, from);
+			TraceFormat.putSignedVarInt(buffer, to.getBlockX() - from.getBlockX());
+			TraceFormat.putSignedVarInt(buffer, to.getBlockY() - from.getBlockY());
+			TraceFormat.putSignedVarInt(buffer, to.getBlockZ() - from.getBlockZ());
+		}
+	}
+
+	/**
+	 * Records moves, only worth registering while PvPManager listens to them as well
+	 */
+	public static final class MoveRecorder implements Listener {
+
+		private final EventRecorder recorder;
+
+		public MoveRecorder(final EventRecorder recorder) {
+			this.recorder = recorder;
+		}
+
+		@EventHandler(priority = EventPriority.LOWEST)
+		public void onPlayerMove(final PlayerMoveEvent event) {
+			recorder.recordMove(event);
+		}
+
+	}
+
+	private static void putLocation(final ByteBuffer buffer, final int world, final Location location) {
+		TraceFormat.putVarInt(buffer, world);
+		TraceFormat.putSignedVarInt(buffer, location.getBlockX());
+		TraceFormat.putSignedVarInt(buffer, location.getBlockY());
+		TraceFormat.putSignedVarInt(buffer, location.getBlockZ());
+	}
+
+	// Must hold the lock, and callers must drop the event if a name it needs could not be written
+	private ByteBuffer begin(final Type type, final boolean cancelled, final Player player) {
+		final ByteBuffer buffer = reserve(System.currentTimeMillis(), (byte) (type.ordinal() + 1));
+		if (buffer == null)
+			return null;
+		buffer.put(cancelled ? TraceFormat.CANCELLED : 0);
+		TraceFormat.putVarInt(buffer, playerId(player));
+		return buffer;
+	}
+
+	// Must hold the lock
+	private int playerId(final Player player) {
+		return players.computeIfAbsent(player.getUniqueId(), uuid -> players.size());
+	}
+
+	// Must hold the lock, returns -1 if the name is new and could not be written
+	private int nameId(final String name) {
+		final Integer id = names.get(name);
+		if (id != null)
+			return id;
+		final ByteBuffer buffer = reserve(System.currentTimeMillis(), TraceFormat.NAME);
+		if (buffer == null)
+			return -1;
+		byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+		if (bytes.length > TraceFormat.MAX_NAME) {
+			bytes = Arrays.copyOf(bytes, TraceFormat.MAX_NAME);
+		}
+		final int newId = names.size();
+		names.put(name, newId);
+		TraceFormat.putVarInt(buffer, newId);
+		TraceFormat.putVarInt(buffer, bytes.length);
+		buffer.put(bytes);
+		return newId;
+	}
+
+	// Must hold the lock
+	private ByteBuffer reserve(final long time, final byte type) {
+		if (limitReached)
+			return null;
+		if (current == null || current.remaining() < TraceFormat.MAX_RECORD) {
+			if (current != null) {
+				full.add(current);
+			}
+			current = free.poll();
+			if (current == null) {
+				dropped++;
+				return null;
+			}
+		}
+		current.put(type);
+		TraceFormat.putVarInt(current, (int) Math.min(Integer.MAX_VALUE, Math.max(0, time - lastTime)));
+		lastTime = Math.max(lastTime, time);
+		return current;
+	}
+
+	private ByteBuffer takePartial() {
+		synchronized (lock) {
+			if (current == null || current.position() == 0)
+				return null;
+			final ByteBuffer partial = current;
+			current = free.poll();
+			return partial;
+		}
+	}
+
+	private void writeLoop() {
+		try (FileChannel out = new RandomAccessFile(file, "rw").getChannel()) {
+			channel = out;
+			final ByteBuffer header = ByteBuffer.allocate(TraceFormat.HEADER_SIZE);
+			header.putInt(TraceFormat.MAGIC).putShort(TraceFormat.VERSION).putLong(startTime).flip();
+			while (header.hasRemaining()) {
+				fileSize += channel.write(header);
+			}
+			while (running || !full.isEmpty()) {
+				ByteBuffer buffer = full.poll(1, TimeUnit.SECONDS);
+				if (buffer == null) {
+					buffer = takePartial();
+				}
+				if (buffer != null) {
+					write(buffer);
+				}
+			}
+			final ByteBuffer partial = takePartial();
+			if (partial != null) {
+				write(partial);
+			}
+		} catch (final IOException e) {
+			e.printStackTrace();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void write(final ByteBuffer buffer) throws IOException {
+		try {
+			buffer.flip();
+			while (buffer.hasRemaining()) {
+				fileSize += channel.write(buffer);
+			}
+			if (maxFileSize > 0 && fileSize >= maxFileSize && !limitReached) {
+				limitReached = true;
+				Log.info("Event trace reached its max size, recording stopped");
+			}
+		} finally {
+			buffer.clear();
+			free.add(buffer);
+		}
+	}
+
+	public final void close() {
+		running = false;
+		try {
+			writer.join(TimeUnit.SECONDS.toMillis(10));
+		} catch (final InterruptedException e) {
+			e.printStackTrace();
+			Thread.currentThread().interrupt();
+		}
+		if (dropped > 0) {
+			Log.warning("Event trace dropped " + dropped + " events because it couldn't write them fast enough");
+		}
+	}
+
+}
@@ -0,0 +1,75 @@
+package me.NoChance.PvPManager.Trace;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Layout of event trace files, shared by the recorder and the reader.
+ * <p>
+ * A file starts with a {@value #HEADER_SIZE} byte header holding {@link #MAGIC}, {@link #VERSION} and the start time in millis,
+ * followed by variable size records. Each record starts with its type, the millis since the previous record and, for events, a
+ * flags byte and the player it is about. Numbers are stored as variable length integers, zigzag encoded where they can be negative:
+ *
+ * <pre>
+ * NAME      id, length, UTF-8 bytes
+ * JOIN      world
+ * QUIT
+ * DAMAGE    damager kind, attacker + 1 or 0, world, cause, damage as float bits
+ * MOVE      world, from block x y z, to minus from x y z
+ * DEATH     killer + 1 or 0, world
+ * TELEPORT  cause, from world x y z, to world x y z
+ * COMMAND   command
+ * </pre>
+ *
+ * The player of a damage event is the victim. Players are numbered in the order they are first seen.
+ * Worlds, causes and commands refer to a {@link #NAME} written before them.
+ */
+final class TraceFormat {
+
+	static final int MAGIC = 0x504D5431; // PMT1
+	static final short VERSION = 1;
+	static final int HEADER_SIZE = 14;
+	static final int MAX_NAME = 255;
+	// Enough for the largest record, a name of MAX_NAME bytes
+	static final int MAX_RECORD = MAX_NAME + 16;
+	static final String EXTENSION = ".pmt";
+
+	// Event types are stored as their TraceRecord.Type ordinal plus one
+	static final byte NAME = 0;
+
+	// The event was already cancelled when PvPManager received it
+	static final byte CANCELLED = 1;
+
+	private TraceFormat() {}
+
+	static void putVarInt(final ByteBuffer buffer, final int value) {
+		int remaining = value;
+		while ((remaining & ~0x7F) != 0) {
+			buffer.put((byte) (remaining & 0x7F | 0x80));
+			remaining >>>= 7;
+		}
+		buffer.put((byte) remaining);
+	}
+
+	static void putSignedVarInt(final ByteBuffer buffer, final int value) {
+		putVarInt(buffer, value << 1 ^ value >> 31);
+	}
+
+	static int getVarInt(final DataInput in) throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 35; shift += 7) {
+			final byte b = in.readByte();
+			value |= (b & 0x7F) << shift;
+			if (b >= 0)
+				return value;
+		}
+		throw new IOException("Malformed variable length integer");
+	}
+
+	static int getSignedVarInt(final DataInput in) throws IOException {
+		final int value = getVarInt(in);
+		return value >>> 1 ^ -(value & 1);
+	}
+
+}
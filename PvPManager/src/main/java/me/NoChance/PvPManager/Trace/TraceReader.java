@@ -0,0 +1,146 @@
+package me.NoChance.PvPManager.Trace;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import me.NoChance.PvPManager.Trace.TraceRecord.Damager;
+import me.NoChance.PvPManager.Trace.TraceRecord.Type;
+
+/**
+ * Reads the events of a trace file written by {@link EventRecorder}, in the order they were received
+ */
+public final class TraceReader implements Closeable {
+
+	private static final Type[] TYPES = Type.values();
+	private static final Damager[] DAMAGERS = Damager.values();
+
+	private final DataInputStream in;
+	private final long startTime;
+	private final List<String> names = new ArrayList<>();
+	private final TraceRecord record = new TraceRecord();
+	private long time;
+
+	public TraceReader(final File file) throws IOException {
+		this.in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 64 * 1024));
+		if (in.readInt() != TraceFormat.MAGIC) {
+			in.close();
+			throw new IOException(file.getName() + " is not an event trace");
+		}
+		final short version = in.readShort();
+		if (version != TraceFormat.VERSION) {
+			in.close();
+			throw new IOException(file.getName() + " uses trace version " + version + ", only version " + TraceFormat.VERSION + " is supported");
+		}
+		this.startTime = in.readLong();
+		this.time = startTime;
+	}
+
+	public long getStartTime() {
+		return startTime;
+	}
+
+	/**
+	 * @return the next event, always the same instance with its fields replaced, or null at the end of the trace
+	 */
+	public TraceRecord next() throws IOException {
+		try {
+			while (true) {
+				final int type = in.read();
+				if (type < 0)
+					return null;
+				time += TraceFormat.getVarInt(in);
+				if (type == TraceFormat.NAME) {
+					readName();
+					continue;
+				}
+				readEvent(TYPES[type - 1]);
+				return record;
+			}
+		} catch (final EOFException e) {
+			// The last record was cut short, the server probably stopped while recording
+			return null;
+		}
+	}
+
+	private void readName() throws IOException {
+		final int id = TraceFormat.getVarInt(in);
+		final byte[] bytes = new byte[TraceFormat.getVarInt(in)];
+		in.readFully(bytes);
+		while (names.size() <= id) {
+			names.add(null);
+		}
+		names.set(id, new String(bytes, StandardCharsets.UTF_8));
+	}
+
+	private void readEvent(final Type type) throws IOException {
+		record.type = type;
+		record.time = time;
+		record.cancelled = (in.readByte() & TraceFormat.CANCELLED) != 0;
+		record.player = TraceFormat.getVarInt(in);
+		record.other = -1;
+		switch (type) {
+		case JOIN:
+			record.world = name();
+			break;
+		case DAMAGE:
+			record.damager = DAMAGERS[in.readByte()];
+			record.other = TraceFormat.getVarInt(in) - 1;
+			record.world = name();
+			record.name = name();
+			record.damage = Float.intBitsToFloat(in.readInt());
+			break;
+		case MOVE:
+			readLocation();
+			record.toWorld = record.world;
+			record.toX = record.x + TraceFormat.getSignedVarInt(in);
+			record.toY = record.y + TraceFormat.getSignedVarInt(in);
+			record.toZ = record.z + TraceFormat.getSignedVarInt(in);
+			break;
+		case DEATH:
+			record.other = TraceFormat.getVarInt(in) - 1;
+			record.world = name();
+			break;
+		case TELEPORT:
+			record.name = name();
+			readLocation();
+			record.toWorld = name();
+			record.toX = TraceFormat.getSignedVarInt(in);
+			record.toY = TraceFormat.getSignedVarInt(in);
+			record.toZ = TraceFormat.getSignedVarInt(in);
+			break;
+		case COMMAND:
+			record.name = name();
+			break;
+		default:
+			break;
+		}
+	}
+
+	private void readLocation() throws IOException {
+		record.world = name();
+		record.x = TraceFormat.getSignedVarInt(in);
+		record.y = TraceFormat.getSignedVarInt(in);
+		record.z = TraceFormat.getSignedVarInt(in);
+	}
+
+	private String name() throws IOException {
+		final int id = TraceFormat.getVarInt(in);
+		if (id >= names.size() || names.get(id) == null)
+			throw new IOException("Trace refers to name " + id + " before defining it");
+		return names.get(id);
+	}
+
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+
+}
@@ -0,0 +1,37 @@
+package me.NoChance.PvPManager.Trace;
+
+/**
+ * One event read from a trace, reused by {@link TraceReader} for every event it reads.
+ * Fields an event type doesn't have are left at their previous values.
+ */
+public final class TraceRecord {
+
+	public enum Type {
+		JOIN, QUIT, DAMAGE, MOVE, DEATH, TELEPORT, COMMAND
+	}
+
+	public enum Damager {
+		PLAYER, PROJECTILE, AREA_EFFECT_CLOUD, OTHER
+	}
+
+	public Type type;
+	public long time;
+	public boolean cancelled;
+	// Players are numbered from 0 in the order the recorder first saw them
+	public int player;
+	// Attacker or killer, -1 if there was none
+	public int other;
+	public Damager damager;
+	public double damage;
+	// Damage cause, teleport cause or the command with its arguments removed
+	public String name;
+	public String world;
+	public int x;
+	public int y;
+	public int z;
+	public String toWorld;
+	public int toX;
+	public int toY;
+	public int toZ;
+
+}
@@ -0,0 +1,39 @@
+package me.NoChance.PvPManager.Utils;
+
+import org.bukkit.Bukkit;
+
+/**
+ * What the server version supports, worked out once when the class loads instead of parsing version strings on every event.
+ * The server is always set before the plugin's classes load, so the constants already hold the real version on enable.
+ */
+public final class Capabilities {
+
+	public static final String MINECRAFT_VERSION = readVersion();
+
+	public static final boolean BORDER_PUSHBACK = atLeast("1.8");
+	public static final boolean AREA_EFFECT_CLOUDS = atLeast("1.9");
+	public static final boolean GLOWING = atLeast("1.9");
+	public static final boolean BOSS_BARS = atLeast("1.9");
+	public static final boolean ELYTRA = atLeast("1.9");
+	public static final boolean CHORUS_FRUIT = atLeast("1.9");
+	public static final boolean MAIN_HAND = atLeast("1.9");
+	public static final boolean ACTION_BARS = atLeast("1.10");
+	public static final boolean CLIENT_LOCALE = atLeast("1.12");
+	public static final boolean TEAM_COLORS = atLeast("1.13");
+	public static final boolean FLATTENED_MATERIALS = atLeast("1.13");
+	public static final boolean TRIDENT_LIGHTNING = atLeast("1.13.1");
+
+	private Capabilities() {
+	}
+
+	private static String readVersion() {
+		if (Bukkit.getServer() == null || Bukkit.getBukkitVersion() == null || Bukkit.getBukkitVersion().isEmpty())
+			return "0";
+		return Bukkit.getBukkitVersion().replaceAll("-.+", "");
+	}
+
+	private static boolean atLeast(final String version) {
+		return CombatUtils.isVersionAtLeast(MINECRAFT_VERSION, version);
+	}
+
+}
@@ -0,0 +1,27 @@
+package me.NoChance.PvPManager.Utils;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Wall clock used for combat timers, cooldowns and protections, so simulations can move time forward without waiting
+ */
+public final class Clock {
+
+	private static final LongSupplier SYSTEM = System::currentTimeMillis;
+	private static volatile LongSupplier source = SYSTEM;
+
+	private Clock() {
+	}
+
+	public static long millis() {
+		return source.getAsLong();
+	}
+
+	/**
+	 * @param clock the time in millis to use from now on, or null to go back to the system clock
+	 */
+	public static void set(final LongSupplier clock) {
+		source = clock != null ? clock : SYSTEM;
+	}
+
+}
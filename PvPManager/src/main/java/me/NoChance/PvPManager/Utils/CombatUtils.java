@@ -1,6 +1,7 @@
 package me.NoChance.PvPManager.Utils;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -18,7 +19,9 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.potion.PotionEffectType;
 import org.bukkit.projectiles.ProjectileSource;
 
+import me.NoChance.PvPManager.PvPManager;
 import me.NoChance.PvPManager.Settings.Settings;
+import me.NoChance.PvPManager.Tasks.TaskScheduler;
 
 public final class CombatUtils {
 
@@ -47,7 +50,7 @@ public final class CombatUtils {
 	}
 
 	public static boolean hasTimePassedMs(final long toggleTime, final long cooldown) {
-		return System.currentTimeMillis() - toggleTime >= cooldown;
+		return Clock.millis() - toggleTime >= cooldown;
 	}
 
 	public static int getTimeLeft(final long startTime, final int time) {
@@ -55,7 +58,7 @@ public final class CombatUtils {
 	}
 
 	public static long getTimeLeftMs(final long startTime, final long time) {
-		return startTime + time - System.currentTimeMillis();
+		return startTime + time - Clock.millis();
 	}
 
 	public static boolean isPvP(final EntityDamageByEntityEvent event) {
@@ -65,7 +68,7 @@ public final class CombatUtils {
 		if (defender instanceof Player && !defender.hasMetadata("NPC")) {
 			if (attacker instanceof Player && !attacker.hasMetadata("NPC"))
 				return true;
-			if (attacker instanceof Projectile || CombatUtils.isVersionAtLeast(Settings.getMinecraftVersion(), "1.9") && attacker instanceof AreaEffectCloud) {
+			if (attacker instanceof Projectile || Capabilities.AREA_EFFECT_CLOUDS && attacker instanceof AreaEffectCloud) {
 				final ProjectileSource projSource = getSource(attacker);
 				if (projSource instanceof Player) {
 					final Entity shooter = (Entity) projSource;
@@ -111,6 +114,18 @@ public final class CombatUtils {
 		}
 	}
 
+	/**
+	 * Runs a command as the console, from the global region on region threaded servers where it can't run on a player's thread
+	 */
+	public static void dispatchCommand(final String command) {
+		final TaskScheduler scheduler = PvPManager.getInstance().getScheduler();
+		if (scheduler.isRegionThreaded()) {
+			scheduler.run(() -> Bukkit.dispatchCommand(Bukkit.getConsoleSender(), command));
+		} else {
+			Bukkit.dispatchCommand(Bukkit.getConsoleSender(), command);
+		}
+	}
+
 	public static boolean isOnline(final String name) {
 		return Bukkit.getPlayer(name) != null;
 	}
@@ -131,7 +146,7 @@ public final class CombatUtils {
 		return harmfulPotions.contains(type.getName());
 	}
 
-	public static boolean recursiveContainsCommand(final String[] givenCommand, final List<String> list) {
+	public static boolean recursiveContainsCommand(final String[] givenCommand, final Collection<String> list) {
 		boolean contains = false;
 		for (int i = 0; i < givenCommand.length; i++) {
 			String args = givenCommand[0];
@@ -0,0 +1,92 @@
+package me.NoChance.PvPManager.Utils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Steps of enabling the plugin, timed one by one.
+ * Steps that don't touch the Bukkit API can run on worker threads while the main thread goes on with the rest,
+ * {@link #await} is the point after which everything they loaded is ready to use.
+ * The Bukkit scheduler doesn't run async tasks before the server ticks, so the workers are our own.
+ */
+public final class EnableStages {
+
+	private final Map<String, Long> times = new LinkedHashMap<>();
+	private final List<CompletableFuture<Void>> pending = new ArrayList<>();
+	private ExecutorService workers;
+
+	public <T> T run(final String name, final Supplier<T> stage) {
+		final long start = System.nanoTime();
+		try {
+			return stage.get();
+		} finally {
+			record(name, start);
+		}
+	}
+
+	public void run(final String name, final Runnable stage) {
+		run(name, () -> {
+			stage.run();
+			return null;
+		});
+	}
+
+	public void runAsync(final String name, final Runnable stage) {
+		if (workers == null) {
+			workers = Executors.newCachedThreadPool(task -> {
+				final Thread thread = new Thread(task, "PvPManager Enable");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		pending.add(CompletableFuture.runAsync(() -> run(name, stage), workers));
+	}
+
+	/**
+	 * Waits for every async stage, a failed stage fails the enable like it would have on the main thread
+	 */
+	public void await() {
+		final long start = System.nanoTime();
+		try {
+			CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).join();
+		} catch (final CompletionException e) {
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			if (e.getCause() instanceof Error)
+				throw (Error) e.getCause();
+			throw e;
+		} finally {
+			pending.clear();
+			if (workers != null) {
+				workers.shutdown();
+				workers = null;
+			}
+			record("waiting", start);
+		}
+	}
+
+	private void record(final String name, final long start) {
+		final long millis = (System.nanoTime() - start) / 1_000_000;
+		synchronized (times) {
+			times.put(name, millis);
+		}
+	}
+
+	@Override
+	public String toString() {
+		final StringJoiner joiner = new StringJoiner(", ");
+		synchronized (times) {
+			times.forEach((name, millis) -> joiner.add(name + " " + millis + " ms"));
+		}
+		return joiner.toString();
+	}
+
+}
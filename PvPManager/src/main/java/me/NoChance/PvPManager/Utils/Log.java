@@ -28,7 +28,7 @@ public final class Log {
 	}
 
 	public static void debug(final String message) {
-		if (Settings.DEBUG) {
+		if (Settings.isDebug()) {
 			logger.info(message);
 		}
 	}
@@ -0,0 +1,115 @@
+package me.NoChance.PvPManager.Utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A message split once into literal segments and placeholder slots, so rendering it is a single pass over a reused builder
+ * instead of one {@link String#replace(CharSequence, CharSequence)} per placeholder.
+ * <p>
+ * Values are passed to {@link #render(String...)} in the same order the placeholders were given to {@link #compile(String, String...)}.
+ */
+public final class MessageTemplate {
+
+	private static final ThreadLocal<StringBuilder> BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(128));
+
+	private final String message;
+	private final String[] literals;
+	private final int[] slots;
+
+	private MessageTemplate(final String message, final String[] literals, final int[] slots) {
+		this.message = message;
+		this.literals = literals;
+		this.slots = slots;
+	}
+
+	public static MessageTemplate compile(final String message, final String... placeholders) {
+		final List<String> literalList = new ArrayList<>();
+		final List<Integer> slotList = new ArrayList<>();
+		int start = 0;
+		int i = 0;
+		while (i < message.length()) {
+			final int placeholder = findPlaceholder(message, i, placeholders);
+			if (placeholder == -1) {
+				i++;
+				continue;
+			}
+			literalList.add(message.substring(start, i));
+			slotList.add(placeholder);
+			i += placeholders[placeholder].length();
+			start = i;
+		}
+		literalList.add(message.substring(start));
+
+		final int[] slots = new int[slotList.size()];
+		for (int j = 0; j < slots.length; j++) {
+			slots[j] = slotList.get(j);
+		}
+		return new MessageTemplate(message, literalList.toArray(new String[0]), slots);
+	}
+
+	// Longest match wins, so '%p' is not taken as '%' when both are placeholders
+	private static int findPlaceholder(final String message, final int index, final String[] placeholders) {
+		int found = -1;
+		for (int j = 0; j < placeholders.length; j++) {
+			final String placeholder = placeholders[j];
+			if (!placeholder.isEmpty() && message.startsWith(placeholder, index) && (found == -1 || placeholder.length() > placeholders[found].length())) {
+				found = j;
+			}
+		}
+		return found;
+	}
+
+	public String render(final String value) {
+		if (slots.length == 0)
+			return message;
+
+		final StringBuilder builder = getBuilder();
+		for (int i = 0; i < slots.length; i++) {
+			builder.append(literals[i]).append(value);
+		}
+		return builder.append(literals[slots.length]).toString();
+	}
+
+	public String render(final String first, final String second) {
+		if (slots.length == 0)
+			return message;
+
+		final StringBuilder builder = getBuilder();
+		for (int i = 0; i < slots.length; i++) {
+			builder.append(literals[i]).append(slots[i] == 0 ? first : second);
+		}
+		return builder.append(literals[slots.length]).toString();
+	}
+
+	public String render(final String... values) {
+		if (slots.length == 0)
+			return message;
+
+		final StringBuilder builder = getBuilder();
+		for (int i = 0; i < slots.length; i++) {
+			builder.append(literals[i]).append(values[slots[i]]);
+		}
+		return builder.append(literals[slots.length]).toString();
+	}
+
+	private static StringBuilder getBuilder() {
+		final StringBuilder builder = BUILDER.get();
+		builder.setLength(0);
+		return builder;
+	}
+
+	public boolean hasPlaceholders() {
+		return slots.length != 0;
+	}
+
+	public boolean isEmpty() {
+		return message.isEmpty();
+	}
+
+	@Override
+	public String toString() {
+		return message;
+	}
+
+}
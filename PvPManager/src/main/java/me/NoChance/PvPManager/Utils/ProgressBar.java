@@ -7,11 +7,13 @@ public class ProgressBar {
 	private final int totalBars;
 	private final int goal;
 	private final String symbol;
+	private final MessageTemplate template;
 	private double progress;
 	private String message;
 
 	public ProgressBar(final String message, final int totalBars, final int goal, final String symbol) {
 		this.message = message;
+		this.template = MessageTemplate.compile(message, "<barsLeft>", "<barsPassed>", "<time>");
 		this.totalBars = totalBars;
 		this.goal = goal;
 		this.symbol = symbol;
@@ -25,8 +27,7 @@ public class ProgressBar {
 	public void setProgress(final double progress) {
 		final double percent = progress / goal;
 		final int progressBars = (int) (totalBars * percent);
-		message = message.replace("<barsLeft>", Strings.repeat(symbol, totalBars - progressBars)).replace("<barsPassed>", Strings.repeat(symbol, progressBars))
-		        .replace("<time>", Integer.toString((int) (goal - progress)));
+		message = template.render(Strings.repeat(symbol, totalBars - progressBars), Strings.repeat(symbol, progressBars), Integer.toString((int) (goal - progress)));
 		this.progress = progress;
 	}
 
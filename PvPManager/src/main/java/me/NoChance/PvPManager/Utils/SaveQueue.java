@@ -0,0 +1,55 @@
+package me.NoChance.PvPManager.Utils;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Queue emptied by one background drain at a time, without locks.
+ * {@link #offer} tells the caller when it has to start a drain and {@link #finish} tells the drain when it has to keep going,
+ * so an item offered while a drain is finishing is never left waiting for the next offer.
+ */
+public final class SaveQueue<T> {
+
+	private final Queue<T> queue = new ConcurrentLinkedQueue<>();
+	private final AtomicBoolean draining = new AtomicBoolean();
+
+	/**
+	 * @return true if no drain was running and the caller has to start one
+	 */
+	public boolean offer(final T item) {
+		queue.offer(item);
+		return draining.compareAndSet(false, true);
+	}
+
+	/**
+	 * Only called by the running drain
+	 *
+	 * @return the next item, or null when the queue is empty
+	 */
+	public T poll() {
+		return queue.poll();
+	}
+
+	/**
+	 * Called by the running drain once {@link #poll} returned null
+	 *
+	 * @return true if items were offered in the meantime and the drain has to run again
+	 */
+	public boolean finish() {
+		draining.set(false);
+		return !queue.isEmpty() && draining.compareAndSet(false, true);
+	}
+
+	/**
+	 * @return true if nothing is queued and no drain is running
+	 */
+	public boolean isIdle() {
+		return !draining.get() && queue.isEmpty();
+	}
+
+	public int size() {
+		return queue.size();
+	}
+
+}
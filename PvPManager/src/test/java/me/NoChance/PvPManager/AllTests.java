@@ -13,7 +13,7 @@ import org.powermock.modules.junit4.PowerMockRunnerDelegate;
 @RunWith(PowerMockRunner.class)
 @PrepareForTest({ PvPManager.class, PluginCommand.class })
 @PowerMockRunnerDelegate(Suite.class)
-@SuiteClasses({ UpdaterTest.class, DependencyTest.class, DamageListenerTest.class, OnDeathTest.class })
+@SuiteClasses({ UpdaterTest.class, DependencyTest.class, DamageListenerTest.class, OnDeathTest.class, MessageThrottleTest.class, CapabilitiesTest.class })
 public final class AllTests {
 
 	private static PluginTest pt;
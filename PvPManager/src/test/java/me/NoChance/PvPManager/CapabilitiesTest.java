@@ -0,0 +1,43 @@
+package me.NoChance.PvPManager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import me.NoChance.PvPManager.Settings.Settings;
+import me.NoChance.PvPManager.Utils.Capabilities;
+import me.NoChance.PvPManager.Utils.CombatUtils;
+
+public class CapabilitiesTest {
+
+	@Test
+	public final void resolvedFromServerVersion() {
+		assertEquals("1.19", Capabilities.MINECRAFT_VERSION);
+		assertEquals(Capabilities.MINECRAFT_VERSION, Settings.getMinecraftVersion());
+		assertTrue(Capabilities.BORDER_PUSHBACK);
+		assertTrue(Capabilities.AREA_EFFECT_CLOUDS);
+		assertTrue(Capabilities.GLOWING);
+		assertTrue(Capabilities.BOSS_BARS);
+		assertTrue(Capabilities.ELYTRA);
+		assertTrue(Capabilities.CHORUS_FRUIT);
+		assertTrue(Capabilities.MAIN_HAND);
+		assertTrue(Capabilities.ACTION_BARS);
+		assertTrue(Capabilities.CLIENT_LOCALE);
+		assertTrue(Capabilities.TEAM_COLORS);
+		assertTrue(Capabilities.FLATTENED_MATERIALS);
+		assertTrue(Capabilities.TRIDENT_LIGHTNING);
+	}
+
+	@Test
+	public final void versionComparison() {
+		assertTrue(CombatUtils.isVersionAtLeast("1.13.1", "1.13.1"));
+		assertTrue(CombatUtils.isVersionAtLeast("1.13.2", "1.13.1"));
+		assertTrue(CombatUtils.isVersionAtLeast("1.10", "1.9"));
+		assertFalse(CombatUtils.isVersionAtLeast("1.13", "1.13.1"));
+		assertFalse(CombatUtils.isVersionAtLeast("1.8.8", "1.9"));
+		assertFalse(CombatUtils.isVersionAtLeast("0", "1.8"));
+	}
+
+}
@@ -24,7 +24,7 @@ import org.junit.Test;
 import me.NoChance.PvPManager.Listeners.EntityListener;
 import me.NoChance.PvPManager.Managers.PlayerHandler;
 import me.NoChance.PvPManager.Player.CancelResult;
-import me.NoChance.PvPManager.Settings.Messages;
+import me.NoChance.PvPManager.Settings.MessageKey;
 import me.NoChance.PvPManager.Settings.Settings;
 import me.NoChance.PvPManager.Utils.CombatUtils;
 
@@ -44,6 +44,7 @@ public class DamageListenerTest {
 		ph = plugin.getPlayerHandler();
 		damageListener = new EntityListener(ph);
 		Settings.setPvpBlood(false); // avoid loading Material class while testing
+		Settings.setMessageThrottleInterval(0); // every hit sends its message, the throttle has its own test
 		attacker = pt.getAttacker();
 		defender = pt.getDefender();
 	}
@@ -52,6 +53,12 @@ public class DamageListenerTest {
 	public final void setup() {
 		ph.getPlayers().clear();
 		assertEquals(0, ph.getPlayers().size());
+		// Stored data loads off the main thread, wait so it doesn't hide what the tests set
+		ph.get(attacker);
+		ph.get(defender);
+		while (PvPlayer.getPendingLoads() > 0) {
+			Thread.yield();
+		}
 	}
 
 	private void createAttack(final boolean cancelled) {
@@ -171,8 +178,8 @@ public class DamageListenerTest {
 		ph.get(attacker).setNewbie(true);
 		createAttack(false);
 
-		assertEquals(CancelResult.NEWBIE, ph.tryCancel(attacker, defender));
-		verify(attacker, times(2)).sendMessage(Messages.newbieBlocked());
+		assertEquals(CancelResult.ATTACKER_NEWBIE, ph.tryCancel(attacker, defender));
+		verify(attacker, times(2)).sendMessage(ph.get(attacker).getMessages().get(MessageKey.NEWBIE_PROTECTION_ON_HIT));
 
 		verify(mockEvent).setCancelled(true);
 		verify(projMockEvent).setCancelled(true);
@@ -184,7 +191,7 @@ public class DamageListenerTest {
 		createAttack(false);
 
 		assertEquals(CancelResult.PVPDISABLED, ph.tryCancel(attacker, defender));
-		verify(attacker, times(2)).sendMessage(Messages.pvpDisabledOther(defender.getName()));
+		verify(attacker, times(2)).sendMessage(ph.get(attacker).getMessages().render(MessageKey.ATTACK_DENIED_OTHER, defender.getName()));
 
 		verify(mockEvent).setCancelled(true);
 		verify(projMockEvent).setCancelled(true);
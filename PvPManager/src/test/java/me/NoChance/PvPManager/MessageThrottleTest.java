@@ -0,0 +1,97 @@
+package me.NoChance.PvPManager;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import me.NoChance.PvPManager.Player.MessageThrottle;
+import me.NoChance.PvPManager.Settings.MessageKey;
+import me.NoChance.PvPManager.Settings.Settings;
+import me.NoChance.PvPManager.Utils.Clock;
+
+public class MessageThrottleTest {
+
+	private static final long INTERVAL = 2000;
+
+	private final AtomicLong now = new AtomicLong(1_000_000);
+	private MessageThrottle throttle;
+	private long previousInterval;
+
+	@Before
+	public final void setup() {
+		previousInterval = Settings.getMessageThrottleInterval();
+		Settings.setMessageThrottleInterval(INTERVAL);
+		Clock.set(now::get);
+		throttle = new MessageThrottle();
+	}
+
+	@After
+	public final void tearDown() {
+		Clock.set(null);
+		Settings.setMessageThrottleInterval(previousInterval);
+	}
+
+	@Test
+	public final void dropsRepeatsAndCountsThem() {
+		assertEquals(0, throttle.pass(MessageKey.ATTACK_DENIED_OTHER, "PvP is disabled for Defender"));
+		assertEquals(-1, throttle.pass(MessageKey.ATTACK_DENIED_OTHER, "PvP is disabled for Defender"));
+		now.addAndGet(INTERVAL - 1);
+		assertEquals(-1, throttle.pass(MessageKey.ATTACK_DENIED_OTHER, "PvP is disabled for Defender"));
+		now.addAndGet(1);
+		assertEquals(2, throttle.pass(MessageKey.ATTACK_DENIED_OTHER, "PvP is disabled for Defender"));
+		now.addAndGet(INTERVAL);
+		assertEquals(0, throttle.pass(MessageKey.ATTACK_DENIED_OTHER, "PvP is disabled for Defender"));
+	}
+
+	@Test
+	public final void throttlesEachTargetSeparately() {
+		for (int i = 0; i < 3; i++) {
+			throttle.pass(MessageKey.ATTACK_DENIED_OTHER, "PvP is disabled for First");
+			throttle.pass(MessageKey.ATTACK_DENIED_OTHER, "PvP is disabled for Second");
+		}
+		now.addAndGet(INTERVAL);
+		assertEquals(2, throttle.pass(MessageKey.ATTACK_DENIED_OTHER, "PvP is disabled for First"));
+		assertEquals(2, throttle.pass(MessageKey.ATTACK_DENIED_OTHER, "PvP is disabled for Second"));
+	}
+
+	@Test
+	public final void neverDropsTagChanges() {
+		for (final MessageKey key : new MessageKey[] { MessageKey.TAGGED_ATTACKER, MessageKey.TAGGED_DEFENDER, MessageKey.OUT_OF_COMBAT }) {
+			assertEquals(0, throttle.pass(key, "message"));
+			assertEquals(0, throttle.pass(key, "message"));
+		}
+	}
+
+	@Test
+	public final void disabledWithZeroInterval() {
+		Settings.setMessageThrottleInterval(0);
+		assertEquals(0, throttle.pass(MessageKey.PUSHBACK_WARNING, "message"));
+		assertEquals(0, throttle.pass(MessageKey.PUSHBACK_WARNING, "message"));
+	}
+
+	@Test
+	public final void sendsOncePerScope() {
+		Settings.setMessageThrottleInterval(0);
+		final Object cloud = new Object();
+		assertEquals(0, throttle.pass(MessageKey.ATTACK_DENIED_OTHER, "PvP is disabled for Defender", cloud));
+		now.addAndGet(INTERVAL * 10);
+		assertEquals(-1, throttle.pass(MessageKey.ATTACK_DENIED_OTHER, "PvP is disabled for Defender", cloud));
+		assertEquals(0, throttle.pass(MessageKey.ATTACK_DENIED_OTHER, "PvP is disabled for Defender", new Object()));
+		assertEquals(0, throttle.pass(MessageKey.ATTACK_DENIED_OTHER, "PvP is disabled for Defender"));
+	}
+
+	@Test
+	public final void forgetsLeastRecentMessages() {
+		throttle.pass(MessageKey.ATTACK_DENIED_OTHER, "target 0");
+		for (int i = 1; i <= MessageThrottle.MAX_ENTRIES; i++) {
+			throttle.pass(MessageKey.ATTACK_DENIED_OTHER, "target " + i);
+		}
+		assertEquals(0, throttle.pass(MessageKey.ATTACK_DENIED_OTHER, "target 0"));
+		assertEquals(-1, throttle.pass(MessageKey.ATTACK_DENIED_OTHER, "target " + MessageThrottle.MAX_ENTRIES));
+	}
+
+}
@@ -22,6 +22,7 @@ import org.powermock.reflect.Whitebox;
 
 public class PluginTest {
 
+	public static final String BUKKIT_VERSION = "1.19-R0.1-SNAPSHOT";
 	private PvPManager plugin;
 	private Server server;
 	private String filePath;
@@ -39,6 +40,8 @@ public class PluginTest {
 		Mockito.when(server.getUpdateFolderFile()).thenReturn(new File(filePath + "TestServer/plugins/update"));
 		System.setProperty("java.util.logging.SimpleFormatter.format", "[%1$tT] [%4$-7s] %5$s %n");
 		Mockito.when(server.getLogger()).thenReturn(Logger.getLogger("Minecraft"));
+		// Read once when Capabilities loads during enable
+		Mockito.when(server.getBukkitVersion()).thenReturn(BUKKIT_VERSION);
 		Bukkit.setServer(server);
 		plugin = PowerMockito.mock(PvPManager.class, Mockito.CALLS_REAL_METHODS);
 		final PluginDescriptionFile pdf = new PluginDescriptionFile(PluginTest.class.getClassLoader().getResource("plugin.yml").openStream());
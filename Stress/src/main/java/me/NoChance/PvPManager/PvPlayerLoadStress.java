@@ -0,0 +1,41 @@
+package me.NoChance.PvPManager;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE_INTERESTING;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.ZJ_Result;
+
+import me.NoChance.PvPManager.Stress.Fixture;
+
+/**
+ * Stored data loaded off the main thread while the main thread already reads the player, for example on a hit right after joining.
+ * The stored pvp state only shows once the whole load finished, so with it the toggle time loaded before it is visible too.
+ */
+@JCStressTest
+@Outcome(id = "true, 0", expect = ACCEPTABLE, desc = "Read before the load")
+@Outcome(id = "false, 12345", expect = ACCEPTABLE, desc = "Read after the load")
+@Outcome(id = "true, 12345", expect = ACCEPTABLE_INTERESTING, desc = "Read during the load, the toggle time is loaded but the load hasn't finished")
+@Outcome(expect = FORBIDDEN, desc = "Stored pvp state without the rest of the load, or a torn toggle time")
+@State
+public class PvPlayerLoadStress {
+
+	private Runnable load;
+	private final PvPlayer player = new PvPlayer(Fixture.stored(), Fixture.plugin(), task -> load = task);
+
+	@Actor
+	public void loader() {
+		load.run();
+	}
+
+	@Actor
+	public void main(final ZJ_Result r) {
+		r.r1 = player.hasPvPEnabled();
+		r.r2 = player.getToggleTime();
+	}
+
+}
@@ -0,0 +1,76 @@
+package me.NoChance.PvPManager.Stress;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import me.NoChance.PvPManager.PvPManager;
+import me.NoChance.PvPManager.PvPlayer;
+import me.NoChance.PvPManager.Benchmarks.StandIns;
+import me.NoChance.PvPManager.Settings.UserDataFields;
+import me.NoChance.PvPManager.Utils.Clock;
+
+/**
+ * PvPManager enabled once per stress test JVM on the stand-in server, with the clock stopped at {@link #NOW}.
+ * Tests create their own instances of the class under test for every state, the players here are shared between states.
+ */
+public final class Fixture {
+
+	public static final long NOW = 1_000_000;
+	public static final long STORED_TOGGLE_TIME = 12345;
+
+	private static final PvPManager PLUGIN;
+	private static final World WORLD;
+	private static final Player STORED;
+
+	static {
+		Clock.set(() -> NOW);
+		try {
+			PLUGIN = StandIns.enable();
+		} catch (final Exception e) {
+			throw new IllegalStateException("Could not enable PvPManager on the stand-in server", e);
+		}
+		WORLD = StandIns.world("world");
+		STORED = StandIns.player("Stored", WORLD);
+		final Map<String, Object> userData = new HashMap<>();
+		userData.put(UserDataFields.PVP_STATUS, false);
+		userData.put(UserDataFields.TOGGLE_TIME, STORED_TOGGLE_TIME);
+		userData.put(UserDataFields.NEWBIE, false);
+		PLUGIN.getConfigM().getUserStorage().createSection(STORED.getUniqueId().toString(), userData);
+	}
+
+	private Fixture() {}
+
+	public static PvPManager plugin() {
+		return PLUGIN;
+	}
+
+	/**
+	 * @return an online player, tagged at the given time without going through the tag events
+	 */
+	public static PvPlayer tagged(final String name, final long taggedTime) {
+		try {
+			final PvPlayer player = PLUGIN.getPlayerHandler().get(StandIns.join(name, WORLD));
+			final Field field = PvPlayer.class.getDeclaredField("taggedTime");
+			field.setAccessible(true);
+			field.setLong(player, taggedTime);
+			return player;
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		} catch (final ReflectiveOperationException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * @return a player that isn't online, with pvp disabled and {@link #STORED_TOGGLE_TIME} in the user storage
+	 */
+	public static Player stored() {
+		return STORED;
+	}
+
+}
@@ -0,0 +1,101 @@
+package me.NoChance.PvPManager.Tasks;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+import java.util.Timer;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.ZZ_Result;
+
+import me.NoChance.PvPManager.PvPlayer;
+import me.NoChance.PvPManager.Stress.Fixture;
+
+/**
+ * The tagged players set, swept by the tag timer thread while the main thread tags and untags players
+ */
+public final class TagTaskStress {
+
+	// Never scheduled, the actors run the task themselves
+	private static final Timer TIMER = new Timer(true);
+	private static final PvPlayer EXPIRED = Fixture.tagged("Expired", 0);
+	private static final PvPlayer FRESH = Fixture.tagged("Fresh", Fixture.NOW);
+
+	private TagTaskStress() {}
+
+	private static TagTask newTask() {
+		return new TagTask(Fixture.plugin().getDisplayManager(), TIMER);
+	}
+
+	/**
+	 * A player tagged during a sweep stays tagged, the expired one is removed either way
+	 */
+	@JCStressTest
+	@Outcome(id = "true, false", expect = ACCEPTABLE, desc = "Fresh player kept, expired player removed")
+	@Outcome(expect = FORBIDDEN, desc = "Tag lost or expired player kept")
+	@State
+	public static class TagDuringSweep {
+
+		private final TagTask task = newTask();
+
+		public TagDuringSweep() {
+			task.addTagged(EXPIRED);
+		}
+
+		@Actor
+		public void main() {
+			task.addTagged(FRESH);
+		}
+
+		@Actor
+		public void timer() {
+			task.run();
+		}
+
+		@Arbiter
+		public void tagged(final ZZ_Result r) {
+			r.r1 = task.getTaggedPlayers().contains(FRESH);
+			r.r2 = task.getTaggedPlayers().contains(EXPIRED);
+		}
+
+	}
+
+	/**
+	 * A player untagged during a sweep is gone once both are done, whatever the sweep saw
+	 */
+	@JCStressTest
+	@Outcome(id = "false, false", expect = ACCEPTABLE, desc = "Both removed")
+	@Outcome(expect = FORBIDDEN, desc = "Untagged player put back or expired player kept")
+	@State
+	public static class UntagDuringSweep {
+
+		private final TagTask task = newTask();
+
+		public UntagDuringSweep() {
+			task.addTagged(FRESH);
+			task.addTagged(EXPIRED);
+		}
+
+		@Actor
+		public void main() {
+			task.untag(FRESH);
+		}
+
+		@Actor
+		public void timer() {
+			task.run();
+		}
+
+		@Arbiter
+		public void tagged(final ZZ_Result r) {
+			r.r1 = task.getTaggedPlayers().contains(FRESH);
+			r.r2 = task.getTaggedPlayers().contains(EXPIRED);
+		}
+
+	}
+
+}
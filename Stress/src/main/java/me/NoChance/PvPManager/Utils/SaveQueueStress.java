@@ -0,0 +1,79 @@
+package me.NoChance.PvPManager.Utils;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.ZZZ_Result;
+import org.openjdk.jcstress.infra.results.ZZ_Result;
+
+/**
+ * The save queue behind ConfigManager.markForSave, with the main thread offering players while the save thread drains them
+ */
+public final class SaveQueueStress {
+
+	private SaveQueueStress() {}
+
+	/**
+	 * A player marked for save while the drain finishes is picked up by exactly one of them
+	 */
+	@JCStressTest
+	@Outcome(id = "true, false, false", expect = ACCEPTABLE, desc = "The drain had finished, the offer starts a new one")
+	@Outcome(id = "false, true, false", expect = ACCEPTABLE, desc = "The drain saw the offer and keeps going")
+	@Outcome(id = "false, false, true", expect = FORBIDDEN, desc = "Lost wakeup, the player waits for the next offer")
+	@Outcome(expect = FORBIDDEN, desc = "Two drains at once, or a drain without the player")
+	@State
+	public static class OfferWhileFinishing {
+
+		private final SaveQueue<Object> queue = new SaveQueue<>();
+
+		public OfferWhileFinishing() {
+			queue.offer(new Object());
+			queue.poll();
+		}
+
+		@Actor
+		public void main(final ZZZ_Result r) {
+			r.r1 = queue.offer(new Object());
+		}
+
+		@Actor
+		public void saveThread(final ZZZ_Result r) {
+			r.r2 = queue.finish();
+		}
+
+		@Arbiter
+		public void stranded(final ZZZ_Result r) {
+			r.r3 = !r.r1 && !r.r2 && queue.size() > 0;
+		}
+
+	}
+
+	/**
+	 * Players marked for save from two threads start a single drain
+	 */
+	@JCStressTest
+	@Outcome(id = { "true, false", "false, true" }, expect = ACCEPTABLE, desc = "One drain started")
+	@Outcome(expect = FORBIDDEN, desc = "No drain or two drains")
+	@State
+	public static class ConcurrentOffers {
+
+		private final SaveQueue<Object> queue = new SaveQueue<>();
+
+		@Actor
+		public void first(final ZZ_Result r) {
+			r.r1 = queue.offer(new Object());
+		}
+
+		@Actor
+		public void second(final ZZ_Result r) {
+			r.r2 = queue.offer(new Object());
+		}
+
+	}
+
+}